@@ -1,190 +1,456 @@
-import java.util.LinkedList;
-import java.util.Queue;
-
-public class ABB <E extends Comparable<E>> {
-    private Node raiz;
-
-    public ABB(){
-        raiz = null; //árvore vazia
-    }
-    public Node getRaiz() {
-        return raiz;
-    }
-    public void setRaiz(Node raiz) {
-        this.raiz = raiz;
-    }
-    public boolean isEmpty(){
-        return raiz == null;
-    }
-    //método inserir
-    public E inserir(E valor){
-        Node novo = new Node(valor);
-        inserir(novo, raiz);
-        return valor;
-    }
-    public Node inserir(Node novo, Node anterior){
-        if(raiz == null){ //ou if(isEmpty()){}
-            raiz = novo;
-            return raiz;
-        }
-        if (anterior!=null){
-            //processo de comparação para verificar qual 
-            //lado será armazenado o Node
-            //qdo o nó a ser inserido for menor que o anterior
-            if(novo.getValue().compareTo(anterior.getValue())<0){
-                anterior.setFilhoEsq(
-                    inserir(novo,anterior.getFilhoEsq()));
-            }
-            else{
-                anterior.setFilhoDir(
-                    inserir(novo, anterior.getFilhoDir()));
-            }
-        }
-        else{
-            anterior = novo;
-        }
-        return anterior;
-    }
-    //percorrer
-    //em-ordem
-    public void emOrdem(){
-        emOrdem(raiz);
-    }
-    public void emOrdem(Node no){
-        if(no != null){
-            emOrdem(no.getFilhoEsq());
-            System.out.print(no.getValue());
-            emOrdem(no.getFilhoDir());
-        }
-    }
-    //pré-ordem
-    public void preOrdem(){
-        preOrdem(raiz);
-    }
-    public void preOrdem(Node no){
-        if(no != null){
-            System.out.print(no.getValue());
-            preOrdem(no.getFilhoEsq());
-            preOrdem(no.getFilhoDir());
-        }
-    }
-    public void posOrdem(){
-        posOrdem(raiz);
-    }
-    public void posOrdem(Node no){
-        if (no != null){
-            posOrdem(no.getFilhoEsq());
-            posOrdem(no.getFilhoDir());
-            System.out.print(no.getValue());
-        }
-    }
-    //em nível
-    public void emNivel(){
-        if(raiz == null) return;
-        Queue<Node> fila = new LinkedList<>();
-        fila.add(raiz);
-        while(!fila.isEmpty()){
-            Node atual = fila.poll();
-            System.out.print(atual.getValue());
-            if(atual.getFilhoEsq() != null)
-                fila.add(atual.getFilhoEsq());
-            if(atual.getFilhoDir() != null)
-                fila.add(atual.getFilhoDir());    
-        }
-    }
-    //Determina o maior elemento a partir de um nó 'raiz' 
-    //(e enlaça seu pai para eliminar esse nodo 'raiz' desta posição).
-    //Retorna o nodo com maior valor desta subárvore.
-    public Node getMax(Node raiz, Node paiRaiz) {
-        if (isEmpty()) {
-            return null;
-        }
-        Node aux;
-        //Se não tiver mais filho direito
-        if (raiz.getFilhoDir() == null) { //encontrou o maior
-            aux = raiz;
-            //Se tiver um pai, ele assume o filho esquerdo (nunca terá filho direito)
-            if (paiRaiz != null) {
-                if (paiRaiz.getFilhoEsq() == raiz) { //se 'raiz' era filho esquerdo do pai
-                    paiRaiz.setFilhoEsq(raiz.getFilhoEsq());
-                } else {  //se 'raiz' era filho direito do pai
-                    paiRaiz.setFilhoDir(raiz.getFilhoEsq());
-                }
-            }
-            return aux;
-        } else {
-            return getMax(raiz.getFilhoDir(), raiz);
-        }
-    }
-
-    private int compara(Object ob1, Object ob2) {
-        return ((Comparable) ob1).compareTo(((Comparable) ob2));
-    }
-    public boolean eliminar(Object e) {
-        return eliminar(raiz, null, e);
-    }
-    //Rotina para eliminar
-    private boolean eliminar(Node node, Node paiRaiz, Object e) {  // remove um elemento da árvore, retorna true ou false
-        Node aux;
-        if (node == null) {  // não achou o elemento, não existe (chegou em uma folha, ou árvore vazia)
-                return false;  // abandonamos o método retornando false, não foi possível eliminar
-        } else { // a árvore ou sub-árvore não está vazia:
-            if (compara(e, node.getValue()) == 0) {  // se o nó a eliminar, node, foi encontrado (ele guarda o objeto e)
-                aux = node;
-                if (node.getFilhoEsq() == null && node.getFilhoDir() == null) {  // caso 1: se node não possui filhos, basta eliminar o nó
-                            if (paiRaiz == null) {  // se o node a eliminar não tiver pai, ele era a raiz da árvore, então a árvore ficou vazia
-                                setRaiz(null);  // convenção para ABB vazia
-                            } 
-                            else {  // senão, o pai deve "deserdar" o filho (ficar sem esse filho eliminado)
-                                // verifica se o nó que será eliminado é o filho esquerdo ou direito  do pai:
-                                if (paiRaiz.getFilhoEsq() != null && compara(paiRaiz.getFilhoEsq().getValue(), e) == 0) {
-                                    paiRaiz.setFilhoEsq(null);
-                                } else if (paiRaiz.getFilhoDir() != null && compara(paiRaiz.getFilhoDir().getValue(), e) == 0) {
-                                    paiRaiz.setFilhoDir(null);
-                                }
-                            }
-                } else if (node.getFilhoDir() == null) {   // caso 2a: se node só tiver o filho esquerdo
-                            if (paiRaiz != null) {  // se node tiver um pai, o pai (paiRaiz) assume o filho esquerdo de node
-                                // verifica se a raiz é filho esquerdo ou direito de paiRaiz, para assumir o neto:
-                                if (paiRaiz.getFilhoEsq() != null && compara(paiRaiz.getFilhoEsq().getValue(), e) == 0) {
-                                    paiRaiz.setFilhoEsq(node.getFilhoEsq());
-                                } else {
-                                    paiRaiz.setFilhoDir(node.getFilhoEsq());
-                                }
-                            } 
-                            else { // se node não tiver pai (caso da raiz da árvore, paiRaiz é nulo), adotar seu filho ou mover a raiz:
-                                node.setValue(node.getFilhoEsq().getValue());
-                                raiz = raiz.getFilhoEsq();  // mover a raiz da árvore
-                            }
-                } else if (node.getFilhoEsq() == null) {   // caso 2b: se node só tiver o filho direito                    
-                        if (paiRaiz != null) {  //se node tiver um pai, o pai (paiRaiz) assume o filho direito de node:
-                            // verifica se a raiz paiRaiz tem node como filho esquerdo ou direito, para assumir o neto:
-                            if (paiRaiz.getFilhoEsq() != null && compara(paiRaiz.getFilhoEsq().getValue(), e) == 0) {
-                                paiRaiz.setFilhoEsq(node.getFilhoDir());
-                            } else {
-                                paiRaiz.setFilhoDir(node.getFilhoDir());
-                            }
-                        } 
-                        else {  // se node não tiver pai (caso da raiz da árvore, paiRaiz é nulo), adotar seu filho ou mover a raiz:
-                            node.setValue(node.getFilhoDir().getValue());
-                            raiz = raiz.getFilhoDir();  // mover a raiz da árvore
-                        }
-                } else {   //caso 3: o nodo node possui os dois filhos:
-                            aux = getMax(node.getFilhoEsq(), node); //determina o maior da subárvore esquerda
-                            node.setValue(aux.getValue());
-                }
-                aux = null;
-                return true;  // fim dos casos em que o nó a eliminar foi encontrado, retornamos true
-            } else { // se node não é o nó a eliminar, continuamos procurando recursivamente:
-                    if (compara(e, node.getValue()) < 0) { // se o objeto e for menor que o objeto em node, continuar procurando à esquerda:
-                        return eliminar(node.getFilhoEsq(), node, e);  // chamada recursiva
-                    } else { // senão, procurar à direita:
-                        return eliminar(node.getFilhoDir(), node, e);  // chamada recursiva
-                    }
-            }
-        }
-
-
-    }
-    
-}
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+
+public class ABB <E extends Comparable<E>> {
+    private Node<E> raiz;
+    //quantidade de nós; -1 = desconhecida (raiz trocada por setRaiz), recontada em tamanho()
+    private int tamanho;
+    //ordem usada pela árvore; null = ordem natural (compareTo de E)
+    private final Comparator<? super E> comparador;
+
+    public ABB(){
+        this(null);
+    }
+    public ABB(Comparator<? super E> comparador){
+        raiz = null; //árvore vazia
+        this.comparador = comparador;
+    }
+    public Node<E> getRaiz() {
+        return raiz;
+    }
+    public void setRaiz(Node<E> raiz) {
+        this.raiz = raiz;
+        this.tamanho = -1;
+    }
+    public boolean isEmpty(){
+        return raiz == null;
+    }
+    //quantidade de elementos (contada uma vez se a raiz foi trocada por setRaiz)
+    public int tamanho(){
+        if (tamanho < 0){
+            int n = 0;
+            Deque<Node<E>> pilha = new ArrayDeque<>();
+            Node<E> no = raiz;
+            while (no != null || !pilha.isEmpty()){
+                while (no != null){
+                    pilha.push(no);
+                    no = no.getFilhoEsq();
+                }
+                no = pilha.pop();
+                n++;
+                no = no.getFilhoDir();
+            }
+            tamanho = n;
+        }
+        return tamanho;
+    }
+    //altura (número de níveis), contada nível a nível com uma fila: sem recursão,
+    //funciona também na ABB degenerada em lista
+    public int altura(){
+        int niveis = 0;
+        Queue<Node<E>> fila = new ArrayDeque<>();
+        if (raiz != null) fila.add(raiz);
+        while(!fila.isEmpty()){
+            niveis++;
+            for (int i = fila.size(); i > 0; i--){
+                Node<E> no = fila.poll();
+                if(no.getFilhoEsq() != null) fila.add(no.getFilhoEsq());
+                if(no.getFilhoDir() != null) fila.add(no.getFilhoDir());
+            }
+        }
+        return niveis;
+    }
+    //método inserir
+    public E inserir(E valor){
+        Node<E> novo = new Node<>(valor);
+        inserir(novo, raiz);
+        return valor;
+    }
+    public Node<E> inserir(Node<E> novo, Node<E> anterior){
+        if(raiz == null){ //ou if(isEmpty()){}
+            raiz = novo;
+            tamanho = 1;
+            return raiz;
+        }
+        if (anterior == null){
+            return novo;
+        }
+        //desce iterativamente até uma posição livre: com dados já ordenados
+        //a ABB vira uma lista e a recursão estouraria a pilha da JVM
+        Node<E> atual = anterior;
+        while (true){
+            //qdo o nó a ser inserido for menor que o atual, segue pela esquerda
+            if(compara(novo.getValue(), atual.getValue())<0){
+                if (atual.getFilhoEsq() == null){
+                    atual.setFilhoEsq(novo);
+                    break;
+                }
+                atual = atual.getFilhoEsq();
+            }
+            else{
+                if (atual.getFilhoDir() == null){
+                    atual.setFilhoDir(novo);
+                    break;
+                }
+                atual = atual.getFilhoDir();
+            }
+        }
+        if (tamanho >= 0) tamanho++;
+        return anterior;
+    }
+    //constrói a árvore (descartando o conteúdo atual) a partir de valores já ordenados,
+    //em O(n): o valor do meio vira a raiz e cada metade vira uma subárvore, então a
+    //árvore sai balanceada mesmo quando os dados chegam ordenados
+    public void bulkLoad(List<E> ordenados){
+        Object[] valores = verificaOrdem(ordenados);
+        raiz = constroi(valores, 0, valores.length - 1);
+        tamanho = valores.length;
+    }
+    //mesmo resultado do bulkLoad, montando as metades das faixas grandes em paralelo (fork/join)
+    public void bulkLoadParalelo(List<E> ordenados){
+        bulkLoadParalelo(ordenados, ForkJoinPool.commonPool());
+    }
+    public void bulkLoadParalelo(List<E> ordenados, ForkJoinPool pool){
+        Object[] valores = verificaOrdem(ordenados);
+        raiz = pool.invoke(new ConstroiTarefa(valores, 0, valores.length - 1));
+        tamanho = valores.length;
+    }
+    @SuppressWarnings("unchecked")
+    private Object[] verificaOrdem(List<E> ordenados){
+        Object[] valores = ordenados.toArray();
+        for (int i = 1; i < valores.length; i++){
+            if (compara((E) valores[i - 1], (E) valores[i]) > 0){
+                throw new IllegalArgumentException("bulkLoad: valores fora de ordem na posição " + i);
+            }
+        }
+        return valores;
+    }
+    //recursão com profundidade log n (a altura da árvore construída)
+    @SuppressWarnings("unchecked")
+    private Node<E> constroi(Object[] valores, int ini, int fim){
+        if (ini > fim) return null;
+        int meio = (ini + fim) >>> 1;
+        Node<E> no = new Node<>((E) valores[meio]);
+        no.setFilhoEsq(constroi(valores, ini, meio - 1));
+        no.setFilhoDir(constroi(valores, meio + 1, fim));
+        return no;
+    }
+    //faixas menores que isso são montadas pela recursão sequencial
+    private static final int LIMITE_SEQUENCIAL = 8192;
+    //a metade esquerda vai para outra thread do pool e a direita é montada nesta
+    @SuppressWarnings("serial") //tarefa do pool, nunca é serializada
+    private class ConstroiTarefa extends RecursiveTask<Node<E>>{
+        private final Object[] valores;
+        private final int ini, fim;
+        ConstroiTarefa(Object[] valores, int ini, int fim){
+            this.valores = valores;
+            this.ini = ini;
+            this.fim = fim;
+        }
+        @Override
+        @SuppressWarnings("unchecked")
+        protected Node<E> compute(){
+            if (fim - ini < LIMITE_SEQUENCIAL) return constroi(valores, ini, fim);
+            int meio = (ini + fim) >>> 1;
+            Node<E> no = new Node<>((E) valores[meio]);
+            ConstroiTarefa esq = new ConstroiTarefa(valores, ini, meio - 1);
+            esq.fork();
+            no.setFilhoDir(new ConstroiTarefa(valores, meio + 1, fim).compute());
+            no.setFilhoEsq(esq.join());
+            return no;
+        }
+    }
+    //percorrer (todos com pilha explícita, sem recursão)
+    //em-ordem
+    public void emOrdem(){
+        emOrdem(raiz);
+    }
+    public void emOrdem(Node<E> no){
+        Deque<Node<E>> pilha = new ArrayDeque<>();
+        while(no != null || !pilha.isEmpty()){
+            while(no != null){ //empilha o caminho mais à esquerda
+                pilha.push(no);
+                no = no.getFilhoEsq();
+            }
+            no = pilha.pop();
+            System.out.print(no.getValue());
+            no = no.getFilhoDir();
+        }
+    }
+    //pré-ordem
+    public void preOrdem(){
+        preOrdem(raiz);
+    }
+    public void preOrdem(Node<E> no){
+        if(no == null) return;
+        Deque<Node<E>> pilha = new ArrayDeque<>();
+        pilha.push(no);
+        while(!pilha.isEmpty()){
+            Node<E> atual = pilha.pop();
+            System.out.print(atual.getValue());
+            //direito empilhado primeiro para o esquerdo sair antes
+            if(atual.getFilhoDir() != null)
+                pilha.push(atual.getFilhoDir());
+            if(atual.getFilhoEsq() != null)
+                pilha.push(atual.getFilhoEsq());
+        }
+    }
+    public void posOrdem(){
+        posOrdem(raiz);
+    }
+    public void posOrdem(Node<E> no){
+        if(no == null) return;
+        //visita raiz-direita-esquerda e imprime na ordem inversa (esquerda-direita-raiz)
+        Deque<Node<E>> pilha = new ArrayDeque<>();
+        Deque<Node<E>> saida = new ArrayDeque<>();
+        pilha.push(no);
+        while(!pilha.isEmpty()){
+            Node<E> atual = pilha.pop();
+            saida.push(atual);
+            if(atual.getFilhoEsq() != null)
+                pilha.push(atual.getFilhoEsq());
+            if(atual.getFilhoDir() != null)
+                pilha.push(atual.getFilhoDir());
+        }
+        while(!saida.isEmpty()){
+            System.out.print(saida.pop().getValue());
+        }
+    }
+    //intervalo: iterador preguiçoso, em ordem, dos elementos com lo <= valor <= hi.
+    //Só desce nas subárvores que podem ter elementos do intervalo: O(h + k)
+    public Iterator<E> range(E lo, E hi){
+        return new IteradorIntervalo(lo, hi);
+    }
+    //todos os elementos a partir de lo (inclusive), em ordem
+    public Iterator<E> tailFrom(E lo){
+        return new IteradorIntervalo(lo, null);
+    }
+    private class IteradorIntervalo implements Iterator<E> {
+        private final Deque<Node<E>> pilha = new ArrayDeque<>();
+        private final E hi;
+        IteradorIntervalo(E lo, E hi){
+            this.hi = hi;
+            empilhaDesde(raiz, lo);
+        }
+        //empilha o caminho até o menor elemento >= lo; subárvores menores que lo são puladas
+        private void empilhaDesde(Node<E> no, E lo){
+            while(no != null){
+                if(lo == null || compara(no.getValue(), lo) >= 0){
+                    pilha.push(no);
+                    no = no.getFilhoEsq();
+                }
+                else{
+                    no = no.getFilhoDir();
+                }
+            }
+        }
+        public boolean hasNext(){
+            return !pilha.isEmpty() && (hi == null || compara(pilha.peek().getValue(), hi) <= 0);
+        }
+        public E next(){
+            if(!hasNext()) throw new NoSuchElementException();
+            Node<E> no = pilha.pop();
+            //tudo à direita já é >= lo
+            empilhaDesde(no.getFilhoDir(), null);
+            return no.getValue();
+        }
+    }
+    //spliterator em ordem, para streams paralelos e tarefas fork/join. Guarda a pilha do
+    //percurso em ordem (cada nó da pilha vem seguido da sua subárvore direita) e divide nos
+    //limites das subárvores: o nó do fundo da pilha fica nesta parte e os de cima (a
+    //subárvore esquerda dele) vão para a nova. Sem tamanhos nas subárvores, a estimativa
+    //cai pela metade a cada divisão. A árvore não pode ser alterada durante o percurso
+    public Spliterator<E> spliterator(){
+        return new DivisorEmOrdem(raiz, tamanho());
+    }
+    //pilha mais funda que isso indica ramo degenerado (ABB montada com dados em ordem)
+    private static int profundidadeMaxima(long estimativa){
+        return 2 * (64 - Long.numberOfLeadingZeros(estimativa)) + 4;
+    }
+    //lotes da divisão em árvore degenerada: crescem de LOTE em LOTE, como nos
+    //spliterators de tamanho desconhecido do JDK
+    private static final int LOTE = 1024;
+    private static final int LOTE_MAXIMO = 1 << 25;
+    private class DivisorEmOrdem implements Spliterator<E> {
+        private final ArrayDeque<Node<E>> pilha = new ArrayDeque<>();
+        private long estimativa;
+        private boolean exato; //estimativa é o tamanho exato (nenhuma divisão ainda)
+        private int lote;
+        DivisorEmOrdem(Node<E> raiz, long tamanho){
+            empilhaEsquerda(raiz);
+            this.estimativa = tamanho;
+            this.exato = true;
+        }
+        private DivisorEmOrdem(long estimativa){
+            this.estimativa = estimativa;
+        }
+        private void empilhaEsquerda(Node<E> no){
+            while(no != null){
+                pilha.push(no);
+                no = no.getFilhoEsq();
+            }
+        }
+        public boolean tryAdvance(Consumer<? super E> acao){
+            if(pilha.isEmpty()) return false;
+            Node<E> no = pilha.pop();
+            empilhaEsquerda(no.getFilhoDir());
+            if (estimativa > 0) estimativa--;
+            acao.accept(no.getValue());
+            return true;
+        }
+        public void forEachRemaining(Consumer<? super E> acao){
+            while(!pilha.isEmpty()){
+                Node<E> no = pilha.pop();
+                empilhaEsquerda(no.getFilhoDir());
+                acao.accept(no.getValue());
+            }
+            estimativa = 0;
+        }
+        public Spliterator<E> trySplit(){
+            int k = pilha.size();
+            if (k >= 2){
+                //pilha rasa: tudo acima do fundo; pilha funda (cadeia à esquerda): metade das entradas
+                int move = k <= profundidadeMaxima(estimativa) ? k - 1 : k / 2;
+                DivisorEmOrdem prefixo = new DivisorEmOrdem(estimativa >>> 1);
+                for (int i = 0; i < move; i++){
+                    prefixo.pilha.addLast(pilha.pollFirst());
+                }
+                estimativa -= prefixo.estimativa;
+                exato = false;
+                return prefixo;
+            }
+            if (k == 0 || pilha.peek().getFilhoDir() == null) return null;
+            Node<E> fundo = pilha.peek();
+            if (fundo.getFilhoDir().getFilhoEsq() != null){
+                //o nó do fundo sozinho vira a nova parte; esta segue pela subárvore direita
+                pilha.pop();
+                empilhaEsquerda(fundo.getFilhoDir());
+                if (estimativa > 0) estimativa--;
+                exato = false;
+                return Spliterators.spliterator(new Object[]{fundo.getValue()}, ORDERED | NONNULL);
+            }
+            //cadeia à direita (dados inseridos em ordem): não há subárvore para separar,
+            //então copia um lote dos próximos elementos para um vetor
+            lote = Math.min(lote + LOTE, LOTE_MAXIMO);
+            int tamanhoLote = (int) Math.max(1, Math.min(lote, estimativa / 2));
+            Object[] vetor = new Object[tamanhoLote];
+            int n = 0;
+            while (n < tamanhoLote && !pilha.isEmpty()){
+                Node<E> no = pilha.pop();
+                empilhaEsquerda(no.getFilhoDir());
+                vetor[n++] = no.getValue();
+            }
+            estimativa = Math.max(0, estimativa - n);
+            exato = false;
+            return Spliterators.spliterator(vetor, 0, n, ORDERED | NONNULL);
+        }
+        public long estimateSize(){
+            return estimativa;
+        }
+        public int characteristics(){
+            return ORDERED | SORTED | NONNULL | (exato ? SIZED : 0);
+        }
+        public Comparator<? super E> getComparator(){
+            return comparador;
+        }
+    }
+    //em nível
+    public void emNivel(){
+        if(raiz == null) return;
+        Queue<Node<E>> fila = new LinkedList<>();
+        fila.add(raiz);
+        while(!fila.isEmpty()){
+            Node<E> atual = fila.poll();
+            System.out.print(atual.getValue());
+            if(atual.getFilhoEsq() != null)
+                fila.add(atual.getFilhoEsq());
+            if(atual.getFilhoDir() != null)
+                fila.add(atual.getFilhoDir());    
+        }
+    }
+    //Determina o maior elemento a partir de um nó 'raiz' 
+    //(e enlaça seu pai para eliminar esse nodo 'raiz' desta posição).
+    //Retorna o nodo com maior valor desta subárvore.
+    public Node<E> getMax(Node<E> raiz, Node<E> paiRaiz) {
+        if (isEmpty()) {
+            return null;
+        }
+        //desce pelos filhos direitos até o maior
+        while (raiz.getFilhoDir() != null) {
+            paiRaiz = raiz;
+            raiz = raiz.getFilhoDir();
+        }
+        //Se tiver um pai, ele assume o filho esquerdo (nunca terá filho direito)
+        if (paiRaiz != null) {
+            if (paiRaiz.getFilhoEsq() == raiz) { //se 'raiz' era filho esquerdo do pai
+                paiRaiz.setFilhoEsq(raiz.getFilhoEsq());
+            } else {  //se 'raiz' era filho direito do pai
+                paiRaiz.setFilhoDir(raiz.getFilhoEsq());
+            }
+        }
+        return raiz;
+    }
+
+    private int compara(E ob1, E ob2) {
+        if (comparador != null) {
+            return comparador.compare(ob1, ob2);
+        }
+        return ob1.compareTo(ob2);
+    }
+    //Procura o elemento iterativamente: retorna o valor igual a e guardado na árvore, ou null
+    public E buscar(E e) {
+        Node<E> node = raiz;
+        while (node != null) {
+            int cmp = compara(e, node.getValue());
+            if (cmp == 0) {
+                return node.getValue();
+            }
+            node = cmp < 0 ? node.getFilhoEsq() : node.getFilhoDir();
+        }
+        return null;
+    }
+    //Rotina para eliminar: remove um elemento da árvore, retorna true ou false
+    public boolean eliminar(E e) {
+        //procura o nó iterativamente, guardando o pai
+        Node<E> paiRaiz = null;
+        Node<E> node = raiz;
+        while (node != null) {
+            int cmp = compara(e, node.getValue());
+            if (cmp == 0) {
+                break;
+            }
+            paiRaiz = node;
+            node = cmp < 0 ? node.getFilhoEsq() : node.getFilhoDir();
+        }
+        if (node == null) {  // não achou o elemento, não existe (chegou em uma folha, ou árvore vazia)
+            return false;
+        }
+        if (node.getFilhoEsq() != null && node.getFilhoDir() != null) {  //caso 3: o nodo node possui os dois filhos:
+            Node<E> aux = getMax(node.getFilhoEsq(), node); //determina o maior da subárvore esquerda
+            node.setValue(aux.getValue());
+        } else {  // casos 1 e 2: sem filhos ou com um só filho, que assume o lugar de node
+            Node<E> filho = node.getFilhoEsq() != null ? node.getFilhoEsq() : node.getFilhoDir();
+            if (paiRaiz == null) {  // node era a raiz da árvore
+                raiz = filho;
+            } else if (paiRaiz.getFilhoEsq() == node) {
+                paiRaiz.setFilhoEsq(filho);
+            } else {
+                paiRaiz.setFilhoDir(filho);
+            }
+        }
+        if (tamanho > 0) tamanho--;
+        return true;
+    }
+    
+}
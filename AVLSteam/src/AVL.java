@@ -1,481 +1,823 @@
-import java.util.LinkedList;
-
-public class AVL {
-
-    private NoAVL raiz;			//Raiz da árvore
-    private boolean flagInsercao;	//Verifica se já foi feita a inserção
-    private boolean flagRemove;		//Verifica se já foi feita a remoção
-
-    public AVL(Object dado, NoAVL pai, NoAVL esq, NoAVL dir) {
-        raiz = new NoAVL(dado, pai, esq, dir);
-    }
-
-    public AVL(Object dado) {
-        this(dado, null, null, null);
-    }
-
-    public AVL() {
-        raiz = null;
-    }
-
-    public NoAVL getRaiz() {
-        return raiz;
-    }
-
-    public void setRaiz(NoAVL _raiz) {
-        raiz = _raiz;
-    }
-
-    public boolean isEmpty() {
-        return (raiz == null);
-    }
-
-    private int compara(Object ob1, Object ob2) {
-        return ((Comparable)ob1).compareTo(ob2);
-    }
-
-    private NoAVL searchNoAVL(NoAVL raiz, Object e) {
-        //Se a raiz estiver nula, o elemento não existe
-        if (raiz == null) {
-            return null;
-        } else //Elemento encontrado na raiz
-        if (compara(e, raiz.getDado()) == 0) {
-            return raiz;
-        } else //Continue procurando recursivamente
-        if (compara(e, raiz.getDado()) < 0) {
-            return searchNoAVL(raiz.getEsq(), e);
-        } else {
-            return searchNoAVL(raiz.getDir(), e);
-        }
-    }
-
-    public NoAVL searchAVL(Object e) {
-        return searchNoAVL(raiz, e);
-    }
-
-    //Rotação Simples para a Direita
-    private NoAVL rotacaoSD(NoAVL A) {
-        NoAVL B = A.getEsq();
-
-        //Se não for a raiz, A tem um pai:
-        if (A.getPai() != null) {
-            if (A.getPai().getEsq() == A) //Se A for o filho esquerdo, o pai assume como filho esquerdo o B
-            {
-                A.getPai().setEsq(B);
-            } else //Senão o pai assume como filho direito o B
-            {
-                A.getPai().setDir(B);
-            }
-        }
-
-        //O pai de B agora é o pai de A
-        B.setPai(A.getPai());
-
-        //Como o B subiu, pode ter deixado um órfão (direito) que quem assume é o A
-        A.setEsq(B.getDir());
-        //Se A assumiu o filho do B, então setar o pai dele sendo o A
-        if (A.getEsq() != null) {
-            A.getEsq().setPai(A);
-        }
-
-        //B passa a ser o pai de A e A será filho de B
-        B.setDir(A);
-        A.setPai(B);
-
-        return B;
-    }
-
-    //Rotação Simples para a Esquerda
-    private NoAVL rotacaoSE(NoAVL A) {
-        NoAVL B = A.getDir();
-        //Se não for a raiz, tem um pai
-        if (A.getPai() != null) //Se A for o filho esquerdo, o pai assume como filho esquerdo o B
-        {
-            if (A.getPai().getDir() == A) {
-                A.getPai().setDir(B);
-            } //Senão o pai assume como filho direito o B
-            else {
-                A.getPai().setEsq(B);
-            }
-        }
-        //O pai de B agora é o pai de A
-        B.setPai(A.getPai());
-        //Como o B sumiu, pode ter deixado um órfão que quem assume é o A
-        A.setDir(B.getEsq());
-        //Se assumiu o filho, setar o pai dele sendo o A
-        if (A.getDir() != null) {
-            A.getDir().setPai(A);
-        }
-        //B passa a ser pai de A e A filho de B
-        B.setEsq(A);
-        A.setPai(B);
-        return B;
-    }
-
-    //Rotação dupla para a direita
-    private NoAVL rotacaoDD(NoAVL A) {
-        rotacaoSE(A.getEsq());
-        return (rotacaoSD(A));
-    }
-
-    //Rotação dupla para a esquerda
-    private NoAVL rotacaoDE(NoAVL A) {
-        rotacaoSD(A.getDir());
-        return (rotacaoSE(A));
-    }
-
-    //Insere um item na árvore a partir da raiz (método público)
-    public void insereAVL(Object k) {
-        flagInsercao = false;
-        setRaiz(insereNoAVL(raiz, k));
-    }
-
-    //Método que faz a inserção
-    private NoAVL insereNoAVL(NoAVL raiz, Object x) {
-        if (raiz != null) { //Se o nó não for nulo
-            if (compara(x, raiz.getDado()) < 0) { //Se x for menor que o nó atual, insere recursivamente à esquerda
-                raiz.setEsq(insereNoAVL(raiz.getEsq(), x));
-                raiz.getEsq().setPai(raiz);
-                if (flagInsercao) { //Se já inseriu
-                    switch (raiz.getFb()) {
-                        case 1: //Caso ele tinha 1 filho direito, o filho esquerdo balanceou
-                            raiz.setFb(0);
-                            flagInsercao = false;
-                            break;
-                        case 0: //Caso não tinha filhos, agora tem só o esquerdo
-                            raiz.setFb(-1);
-                            break;
-                        case -1: //Caso já tinha um filho esquerdo, tem que rotacionar
-                            //Se o filho esquerdo só tinha um filho esquerdo, então rotação simples para a direita
-                            if (raiz.getEsq().getFb() == -1) {
-                                raiz = rotacaoSD(raiz);
-                                raiz.setFb(0);
-                                raiz.getDir().setFb(0);
-                            }                             
-                            else { //Caso contrário a rotação é dupla para a direita
-                                raiz = rotacaoDD(raiz);  //rotacaoDD retorna a nova raiz
-                                raiz.getDir().setFb(0);
-                                raiz.getEsq().setFb(0);
-                                raiz.setFb(0);
-                            }
-                            flagInsercao = false;
-                            break;
-                    }
-                }
-            } //fim da inserção recursiva à esquerda
-            else { //Insere Recursivamente à direita                
-                raiz.setDir(insereNoAVL(raiz.getDir(), x));
-                raiz.getDir().setPai(raiz);
-                if (flagInsercao) { //Se já inseriu
-                    switch (raiz.getFb()) {
-                        case 0: //Se não tinha filhos, agora tem só o direito
-                            raiz.setFb(1);
-                            break;
-                        case -1: //Se só tinha um esquerdo, equilibrou
-                            raiz.setFb(0);
-                            flagInsercao = false;
-                            break;
-                        case 1: //Se jã tinha filhos direito, tem que rotacionar
-                            //Se o filho direito tiver apenas um filho direito, então é rotação simples para a esquerda
-                            if (raiz.getDir().getFb() == 1) {
-                                raiz = rotacaoSE(raiz);
-                                raiz.setFb(0);
-                                raiz.getEsq().setFb(0);
-                            } 
-                            else {  //Caso contrário, rotação dupla para a esquerda
-                                raiz = rotacaoDE(raiz); //rotacaoDE retorna a nova raiz
-                                raiz.getDir().setFb(0);
-                                raiz.getEsq().setFb(0);
-                                raiz.setFb(0);
-                            }
-                            flagInsercao = false;
-                            break;
-                    }
-                }
-            } //fim da inserção recursiva à direita
-        } //Se chegar depois da folha (raiz==null) criar nó:
-        else {   // este é o else do   if (raiz != null)
-            //Quando chegar na folha, inserir novo NoAVL e trocar a flagInsercao 
-            //para passar pelo processo de rotação
-            raiz = new NoAVL(x);
-            flagInsercao = true;
-        }
-
-        return raiz;
-    }
-
-    //Remove uma Object k da árvore AVl (método público)
-    public boolean removeAVL(Object k) {
-        flagRemove = false;
-        if (isEmpty()) {
-            System.out.println("Erro ao remover, árvore AVL está vazia!");
-            return false;
-        } else if (searchAVL(k) == null) {
-            System.out.println("Erro ao remover, elemento não existe na árvore!");
-            return false;
-        } else {
-            raiz = removeNoAVL(raiz, k);
-            return true;
-        }
-    }
-
-    //Método privado recursivo
-    private NoAVL removeNoAVL(NoAVL raiz, Object x) {
-        //Se o elemento for menor que a raiz, chamar recursivamente para o lado esquerdo
-        if (compara(x, raiz.getDado()) < 0) {
-            raiz.setEsq(removeNoAVL(raiz.getEsq(), x));
-            //Se já removeu, relabancear
-            if (flagRemove) {
-                raiz = balanceamentoEsquerdo(raiz);
-            }
-        } //Se o elemento for maior que a raiz, chamar recursivamente para o lado direito
-        else if (compara(x, raiz.getDado()) > 0) {
-            raiz.setDir(removeNoAVL(raiz.getDir(), x));
-            //Se já removeu, relabancear
-            if (flagRemove) {
-                raiz = balanceamentoDireito(raiz);
-            }
-        } //Se o elemento a remover está na raiz (encontrou o nó)
-        else {
-            //Se não tiver um filho direito
-            if (raiz.getDir() == null) {
-                //Se tiver o filho esquerdo (assume o lugar do pai)
-                if (raiz.getEsq() != null) {
-                    raiz.getEsq().setPai(raiz.getPai());
-                }
-                //Filho esquerdo sobe
-                raiz = raiz.getEsq();
-                flagRemove = true;
-            } //Se não tiver um filho esquerdo
-            else if (raiz.getEsq() == null) {
-                //Se tiver o filho direito (assume o lugar do pai)
-                if (raiz.getDir() != null) {
-                    raiz.getDir().setPai(raiz.getPai());
-                }
-                //Filho direito sobe
-                raiz = raiz.getDir();
-                flagRemove = true;
-            } //Tem os dois filhos, calcular o GetMax
-            else {
-                raiz.setEsq(buscaRemove(raiz.getEsq(), raiz));
-                //Se necessário efetuar balanceamento esquerdo, pois a remoção foi à esquerda
-                if (flagRemove) {
-                    raiz = balanceamentoEsquerdo(raiz);
-                }
-            }
-        }
-        return raiz;
-    }
-
-    //Reorganiza os fatores de balanceamento na remoção
-    private NoAVL balanceamentoEsquerdo(NoAVL no) {
-        switch (no.getFb()) {
-            case -1: //Se tinha um nó esquerdo, removeu e balanceou
-                no.setFb(0);
-                break;
-            case 0:  //Se não tinha filhos, ficou com um à direita
-                no.setFb(1);
-                break;
-            case 1:  //Se tinha 1 nível a mais à direita, Balanceou
-                NoAVL subDir = no.getDir();
-                int fb = subDir.getFb();
-                if (fb >= 0) {
-                    subDir = rotacaoSE(no);
-                    if (fb == 0) {
-                        no.setFb(1);
-                        subDir.setFb(-1);
-                        flagRemove = false;
-                    } else {
-                        no.setFb(0);
-                        subDir.setFb(0);
-                    }
-                    no = subDir;
-                } else {
-                    no = rotacaoDD(no);
-                    if (no.getFb() == 0) {
-                        no.getDir().setFb(0);
-                        no.getEsq().setFb(0);
-                    } else if (no.getFb() == 1) {
-                        no.setFb(0);
-                        no.getDir().setFb(0);
-                        no.getEsq().setFb(-1);
-                    } else {
-                        no.setFb(0);
-                        no.getDir().setFb(1);
-                        no.getEsq().setFb(0);
-                    }
-                }
-        }
-        return no;
-    }
-
-    //Reorganiza os fatores de balanceamento na remoção
-    private NoAVL balanceamentoDireito(NoAVL no) {
-        switch (no.getFb()) {
-            case 1: //Se tinha um nó direito, removeu e balanceou
-                no.setFb(0);
-                break;
-            case 0:  //Se não tinha filhos, ficou com um à esquerda
-                no.setFb(-1);
-                flagRemove = false;
-                break;
-            case -1:  //Se tinha 1 nível a mais à direita, balanceou
-                NoAVL subEsq = no.getEsq();
-                int fb = subEsq.getFb();
-                if (fb <= 0) {
-                    subEsq = rotacaoSD(no);
-                    if (fb == 0) {
-                        no.setFb(-1);
-                        subEsq.setFb(1);
-                        flagRemove = false;
-                    } else {
-                        no.setFb(0);
-                        subEsq.setFb(0);
-                    }
-                    no = subEsq;
-                } else {
-                    no = rotacaoDE(no);
-                    if (no.getFb() == 0) {
-                        no.getDir().setFb(0);
-                        no.getEsq().setFb(0);
-                    } else if (no.getFb() == -1) {
-                        no.setFb(0);
-                        no.getDir().setFb(1);
-                        no.getEsq().setFb(0);
-                    } else {
-                        no.setFb(0);
-                        no.getDir().setFb(0);
-                        no.getEsq().setFb(-1);
-                    }
-                }
-        }
-        return no;
-    }
-
-    //Busca o maior valor da subárvore esquerda para substituir o nó excluído
-    private NoAVL buscaRemove(NoAVL raiz, NoAVL noChave) {
-        NoAVL noRemovido;
-        if (raiz.getDir() != null) {
-            raiz.setDir(buscaRemove(raiz.getDir(), noChave));
-            if (flagRemove) {
-                raiz = balanceamentoDireito(raiz);
-            }
-        } else {
-            //Altera o valor da chave
-            noChave.setDado(raiz.getDado());
-            noRemovido = raiz;
-            //Se nó direito com maior valor tem subárvore esquerda deve ser removido
-            raiz = raiz.getEsq();
-            if (raiz != null) {
-                raiz.setPai(noRemovido.getPai());
-            }
-            flagRemove = true;
-            noRemovido = null;
-        }
-        return raiz;
-    }
-
-    //Método público que retorna a String
-    public String emOrdemString() {
-        return emOrdemString(raiz);
-    }
-
-    //Atravessamento em ordem
-    private String emOrdemString(NoAVL raiz) {
-        String resp = "";
-        if (raiz != null) {
-            resp += emOrdemString(raiz.getEsq());
-            resp += raiz.getDado() + "\n";
-            resp += emOrdemString(raiz.getDir());
-        }
-
-        return resp;
-    }
-
-    public String preOrdemString() {
-        return preOrdemString(raiz);
-    }
-
-    //Atravessamento em ordem
-    private String preOrdemString(NoAVL raiz) {
-        String resp = "";
-        if (raiz != null) {
-            resp += raiz.getDado() + "\n";
-            resp += preOrdemString(raiz.getEsq());
-            resp += preOrdemString(raiz.getDir());
-        }
-        return resp;
-    }
-
-    //Método público
-    public void posOrdem() {
-        posOrdem(raiz);
-    }
-
-    //Atravessamento em pós-ordem
-    private void posOrdem(NoAVL raiz) {
-        if (raiz != null) {
-            posOrdem(raiz.getEsq());
-            posOrdem(raiz.getDir());
-            System.out.print(raiz.getDado() + "\n");
-        }
-    }
-
-    //Método público
-    public String posOrdemString() {
-        return posOrdemString(raiz);
-    }
-
-    //Atravessamento em ordem
-    private String posOrdemString(NoAVL raiz) {
-        String resp = "";
-        if (raiz != null) {
-            resp += posOrdemString(raiz.getEsq());
-            resp += posOrdemString(raiz.getDir());
-            resp += raiz.getDado() + "\n";
-        }
-        return resp;
-    }
-
-    //Atravessamento em nível
-    public void emNivel() {
-        NoAVL noAux;
-        LinkedList f;
-        if (!isEmpty()) {
-            f = new LinkedList();
-            f.addLast(raiz);
-            while (!f.isEmpty()) {
-                noAux = (NoAVL) f.removeFirst();
-                if (noAux.getEsq() != null) {
-                    f.addLast(noAux.getEsq());
-                }
-                if (noAux.getDir() != null) {
-                    f.addLast(noAux.getDir());
-                }
-                System.out.print(noAux.getDado() + ", ");
-            }
-        }
-    }
-
-    public String emNivelString() {
-        NoAVL noAux;
-        LinkedList f;
-        String resp = "";
-        if (!isEmpty()) {
-            f = new LinkedList();
-            f.addLast(raiz);
-            while (!f.isEmpty()) {
-                noAux = (NoAVL) f.removeFirst();
-                if (noAux.getEsq() != null) {
-                    f.addLast(noAux.getEsq());
-                }
-                if (noAux.getDir() != null) {
-                    f.addLast(noAux.getDir());
-                }
-                resp += noAux.getDado() + "\n";
-            }
-        }
-        return resp;
-    }
-
-}
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+
+public class AVL<E extends Comparable<E>> {
+
+    private NoAVL<E> raiz;			//Raiz da árvore
+    private boolean flagRemove;		//Indica que a altura da subárvore diminuiu na remoção
+    private final Comparator<? super E> comparador;	//Ordem da árvore (null = compareTo dos dados)
+
+    public AVL(E dado, NoAVL<E> pai, NoAVL<E> esq, NoAVL<E> dir) {
+        raiz = new NoAVL<>(dado, pai, esq, dir);
+        comparador = null;
+    }
+
+    public AVL(E dado) {
+        this(dado, null, null, null);
+    }
+
+    public AVL() {
+        this((Comparator<? super E>) null);
+    }
+
+    //Árvore ordenada por um Comparator (ex.: PEAK_ORDER) em vez do compareTo dos dados
+    public AVL(Comparator<? super E> comparador) {
+        raiz = null;
+        this.comparador = comparador;
+    }
+
+    public NoAVL<E> getRaiz() {
+        return raiz;
+    }
+
+    public void setRaiz(NoAVL<E> _raiz) {
+        raiz = _raiz;
+    }
+
+    public boolean isEmpty() {
+        return (raiz == null);
+    }
+
+    private int compara(E ob1, E ob2) {
+        if (comparador != null) {
+            return comparador.compare(ob1, ob2);
+        }
+        return ob1.compareTo(ob2);
+    }
+
+    private NoAVL<E> searchNoAVL(NoAVL<E> raiz, E e) {
+        //Desce iterativamente até achar o elemento ou chegar em um nó nulo
+        while (raiz != null) {
+            int cmp = compara(e, raiz.getDado());
+            if (cmp == 0) { //Elemento encontrado
+                return raiz;
+            }
+            raiz = cmp < 0 ? raiz.getEsq() : raiz.getDir();
+        }
+        //Se a raiz estiver nula, o elemento não existe
+        return null;
+    }
+
+    public NoAVL<E> searchAVL(E e) {
+        return searchNoAVL(raiz, e);
+    }
+
+    //Número de nós da subárvore (0 para subárvore vazia)
+    protected static int tamanho(NoAVL<?> no) {
+        return no == null ? 0 : no.getTamanho();
+    }
+
+    //Recalcula o tamanho de um nó a partir dos filhos.
+    //Subclasses que guardam outros dados da subárvore (ex.: AVLAgregada) estendem este método.
+    protected void atualiza(NoAVL<E> no) {
+        no.setTamanho(1 + tamanho(no.getEsq()) + tamanho(no.getDir()));
+    }
+
+    //Recalcula os tamanhos do nó até a raiz depois de inserir ou remover abaixo dele.
+    //As rotações feitas em seguida só recalculam os dois nós que giraram.
+    private void atualizaCaminho(NoAVL<E> no) {
+        while (no != null) {
+            atualiza(no);
+            no = no.getPai();
+        }
+    }
+
+    //Quantidade de elementos na árvore
+    public int tamanho() {
+        return tamanho(raiz);
+    }
+
+    //Posição de e na ordem: quantos elementos são estritamente menores que ele. O(log n)
+    public int rank(E e) {
+        int r = 0;
+        NoAVL<E> no = raiz;
+        while (no != null) {
+            if (compara(e, no.getDado()) <= 0) {
+                no = no.getEsq();
+            } else { //o nó e toda a subárvore esquerda são menores
+                r += tamanho(no.getEsq()) + 1;
+                no = no.getDir();
+            }
+        }
+        return r;
+    }
+
+    //Nó na posição k (0 = menor) da ordem, ou null se k estiver fora do intervalo. O(log n)
+    public NoAVL<E> selectNo(int k) {
+        if (k < 0 || k >= tamanho()) {
+            return null;
+        }
+        NoAVL<E> no = raiz;
+        while (true) {
+            int esquerda = tamanho(no.getEsq());
+            if (k < esquerda) {
+                no = no.getEsq();
+            } else if (k == esquerda) {
+                return no;
+            } else {
+                k -= esquerda + 1;
+                no = no.getDir();
+            }
+        }
+    }
+
+    //Elemento na posição k (0 = menor) da ordem
+    public E select(int k) {
+        NoAVL<E> no = selectNo(k);
+        return no == null ? null : no.getDado();
+    }
+
+    //Percentil p (0 a 100) pelo método do posto mais próximo: o menor elemento
+    //com pelo menos p% dos elementos menores ou iguais a ele
+    public E percentile(double p) {
+        int n = tamanho();
+        if (n == 0) {
+            return null;
+        }
+        int posto = (int) Math.ceil(p / 100.0 * n);
+        return select(Math.min(Math.max(posto, 1), n) - 1);
+    }
+
+    //Rotação Simples para a Direita
+    private NoAVL<E> rotacaoSD(NoAVL<E> A) {
+        NoAVL<E> B = A.getEsq();
+
+        //Se não for a raiz, A tem um pai:
+        if (A.getPai() != null) {
+            if (A.getPai().getEsq() == A) //Se A for o filho esquerdo, o pai assume como filho esquerdo o B
+            {
+                A.getPai().setEsq(B);
+            } else //Senão o pai assume como filho direito o B
+            {
+                A.getPai().setDir(B);
+            }
+        }
+
+        //O pai de B agora é o pai de A
+        B.setPai(A.getPai());
+
+        //Como o B subiu, pode ter deixado um órfão (direito) que quem assume é o A
+        A.setEsq(B.getDir());
+        //Se A assumiu o filho do B, então setar o pai dele sendo o A
+        if (A.getEsq() != null) {
+            A.getEsq().setPai(A);
+        }
+
+        //B passa a ser o pai de A e A será filho de B
+        B.setDir(A);
+        A.setPai(B);
+
+        //A ficou abaixo de B: recalcula primeiro A e depois B
+        atualiza(A);
+        atualiza(B);
+        return B;
+    }
+
+    //Rotação Simples para a Esquerda
+    private NoAVL<E> rotacaoSE(NoAVL<E> A) {
+        NoAVL<E> B = A.getDir();
+        //Se não for a raiz, tem um pai
+        if (A.getPai() != null) //Se A for o filho esquerdo, o pai assume como filho esquerdo o B
+        {
+            if (A.getPai().getDir() == A) {
+                A.getPai().setDir(B);
+            } //Senão o pai assume como filho direito o B
+            else {
+                A.getPai().setEsq(B);
+            }
+        }
+        //O pai de B agora é o pai de A
+        B.setPai(A.getPai());
+        //Como o B sumiu, pode ter deixado um órfão que quem assume é o A
+        A.setDir(B.getEsq());
+        //Se assumiu o filho, setar o pai dele sendo o A
+        if (A.getDir() != null) {
+            A.getDir().setPai(A);
+        }
+        //B passa a ser pai de A e A filho de B
+        B.setEsq(A);
+        A.setPai(B);
+        atualiza(A);
+        atualiza(B);
+        return B;
+    }
+
+    //Rotação dupla para a direita
+    private NoAVL<E> rotacaoDD(NoAVL<E> A) {
+        rotacaoSE(A.getEsq());
+        return (rotacaoSD(A));
+    }
+
+    //Rotação dupla para a esquerda
+    private NoAVL<E> rotacaoDE(NoAVL<E> A) {
+        rotacaoSD(A.getDir());
+        return (rotacaoSE(A));
+    }
+
+    //Cria o nó que guardará o item (subclasses podem usar um nó com mais campos)
+    protected NoAVL<E> criaNo(E k) {
+        return new NoAVL<>(k);
+    }
+
+    //Constrói a árvore (descartando o conteúdo atual) a partir de itens já ordenados, em O(n):
+    //o item do meio vira a raiz e cada metade vira uma subárvore. As metades diferem em no
+    //máximo um item, então a altura é a mínima e nenhuma rotação é necessária
+    public void bulkLoad(List<? extends E> ordenados) {
+        Object[] dados = verificaOrdem(ordenados);
+        raiz = constroi(dados, 0, dados.length - 1, null);
+    }
+
+    //Mesmo resultado do bulkLoad, mas as duas metades de cada faixa grande são montadas
+    //em paralelo (fork/join) no pool comum
+    public void bulkLoadParalelo(List<? extends E> ordenados) {
+        bulkLoadParalelo(ordenados, ForkJoinPool.commonPool());
+    }
+
+    public void bulkLoadParalelo(List<? extends E> ordenados, ForkJoinPool pool) {
+        Object[] dados = verificaOrdem(ordenados);
+        raiz = pool.invoke(new ConstroiTarefa(dados, 0, dados.length - 1, null));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object[] verificaOrdem(List<? extends E> ordenados) {
+        Object[] dados = ordenados.toArray();
+        for (int i = 1; i < dados.length; i++) {
+            if (compara((E) dados[i - 1], (E) dados[i]) > 0) {
+                throw new IllegalArgumentException("bulkLoad: itens fora de ordem na posição " + i);
+            }
+        }
+        return dados;
+    }
+
+    //Recursão só tem profundidade log n (a altura da árvore construída)
+    @SuppressWarnings("unchecked")
+    private NoAVL<E> constroi(Object[] dados, int ini, int fim, NoAVL<E> pai) {
+        if (ini > fim) {
+            return null;
+        }
+        int meio = (ini + fim) >>> 1;
+        NoAVL<E> no = criaNo((E) dados[meio]);
+        no.setPai(pai);
+        liga(no, constroi(dados, ini, meio - 1, no), constroi(dados, meio + 1, fim, no), ini, meio, fim);
+        return no;
+    }
+
+    //Enlaça as subárvores montadas para dados[ini..meio-1] e dados[meio+1..fim]
+    private void liga(NoAVL<E> no, NoAVL<E> esq, NoAVL<E> dir, int ini, int meio, int fim) {
+        no.setEsq(esq);
+        no.setDir(dir);
+        //a metade direita tem o mesmo número de itens da esquerda ou um a mais
+        no.setFb(alturaBalanceada(fim - meio) - alturaBalanceada(meio - ini));
+        atualiza(no);
+    }
+
+    //Faixas menores que isso são montadas pela recursão sequencial
+    private static final int LIMITE_SEQUENCIAL = 8192;
+
+    //Monta a subárvore de dados[ini..fim]: a metade esquerda vai para outra thread do pool
+    //e a direita é feita nesta. O join garante que os nós filhos estejam visíveis ao ligar
+    @SuppressWarnings("serial") //tarefa do pool, nunca é serializada
+    private class ConstroiTarefa extends RecursiveTask<NoAVL<E>> {
+        private final Object[] dados;
+        private final int ini;
+        private final int fim;
+        private final NoAVL<E> pai;
+
+        ConstroiTarefa(Object[] dados, int ini, int fim, NoAVL<E> pai) {
+            this.dados = dados;
+            this.ini = ini;
+            this.fim = fim;
+            this.pai = pai;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected NoAVL<E> compute() {
+            if (fim - ini < LIMITE_SEQUENCIAL) {
+                return constroi(dados, ini, fim, pai);
+            }
+            int meio = (ini + fim) >>> 1;
+            NoAVL<E> no = criaNo((E) dados[meio]);
+            no.setPai(pai);
+            ConstroiTarefa esq = new ConstroiTarefa(dados, ini, meio - 1, no);
+            esq.fork();
+            NoAVL<E> dir = new ConstroiTarefa(dados, meio + 1, fim, no).compute();
+            liga(no, esq.join(), dir, ini, meio, fim);
+            return no;
+        }
+    }
+
+    //Altura da árvore construída pelo bulkLoad com n itens: floor(log2 n) + 1
+    private static int alturaBalanceada(int n) {
+        return 32 - Integer.numberOfLeadingZeros(n);
+    }
+
+    //Insere um item na árvore a partir da raiz (método público)
+    //Iterativo: desce até a folha e sobe pelos ponteiros para o pai atualizando os fatores
+    public void insereAVL(E k) {
+        NoAVL<E> novo = criaNo(k);
+        if (raiz == null) {
+            setRaiz(novo);
+            return;
+        }
+        //Desce até a folha: menor à esquerda, maior ou igual à direita
+        NoAVL<E> pai = null;
+        NoAVL<E> atual = raiz;
+        boolean esquerda = false;
+        while (atual != null) {
+            pai = atual;
+            esquerda = compara(k, atual.getDado()) < 0;
+            atual = esquerda ? atual.getEsq() : atual.getDir();
+        }
+        novo.setPai(pai);
+        if (esquerda) {
+            pai.setEsq(novo);
+        } else {
+            pai.setDir(novo);
+        }
+        atualizaCaminho(novo);
+
+        //Sobe enquanto a altura da subárvore aumentar
+        NoAVL<E> filho = novo;
+        NoAVL<E> no = pai;
+        while (no != null) {
+            if (no.getEsq() == filho) { //Cresceu a subárvore esquerda
+                switch (no.getFb()) {
+                    case 1: //Caso ele tinha 1 filho direito, o filho esquerdo balanceou
+                        no.setFb(0);
+                        return;
+                    case 0: //Caso não tinha filhos, agora tem só o esquerdo
+                        no.setFb(-1);
+                        break;
+                    case -1: //Caso já tinha um filho esquerdo, tem que rotacionar
+                        //Se o filho esquerdo só tinha um filho esquerdo, então rotação simples para a direita
+                        if (filho.getFb() == -1) {
+                            no = rotacaoSD(no);
+                            no.setFb(0);
+                            no.getDir().setFb(0);
+                        } else { //Caso contrário a rotação é dupla para a direita
+                            no = rotacaoDD(no);  //rotacaoDD retorna a nova raiz
+                            ajustaFbRotacaoDupla(no);
+                        }
+                        if (no.getPai() == null) {
+                            setRaiz(no);
+                        }
+                        return;
+                }
+            } else { //Cresceu a subárvore direita
+                switch (no.getFb()) {
+                    case 0: //Se não tinha filhos, agora tem só o direito
+                        no.setFb(1);
+                        break;
+                    case -1: //Se só tinha um esquerdo, equilibrou
+                        no.setFb(0);
+                        return;
+                    case 1: //Se jã tinha filhos direito, tem que rotacionar
+                        //Se o filho direito tiver apenas um filho direito, então é rotação simples para a esquerda
+                        if (filho.getFb() == 1) {
+                            no = rotacaoSE(no);
+                            no.setFb(0);
+                            no.getEsq().setFb(0);
+                        } else { //Caso contrário, rotação dupla para a esquerda
+                            no = rotacaoDE(no); //rotacaoDE retorna a nova raiz
+                            ajustaFbRotacaoDupla(no);
+                        }
+                        if (no.getPai() == null) {
+                            setRaiz(no);
+                        }
+                        return;
+                }
+            }
+            filho = no;
+            no = no.getPai();
+        }
+    }
+
+    //Depois de uma rotação dupla, a nova raiz ainda guarda o fator que tinha antes:
+    //é ele que define qual dos dois filhos ficou com uma subárvore mais baixa
+    private void ajustaFbRotacaoDupla(NoAVL<E> no) {
+        switch (no.getFb()) {
+            case -1:
+                no.getEsq().setFb(0);
+                no.getDir().setFb(1);
+                break;
+            case 1:
+                no.getEsq().setFb(-1);
+                no.getDir().setFb(0);
+                break;
+            default:
+                no.getEsq().setFb(0);
+                no.getDir().setFb(0);
+        }
+        no.setFb(0);
+    }
+
+    //Remove um elemento k da árvore AVl (método público)
+    public boolean removeAVL(E k) {
+        flagRemove = false;
+        NoAVL<E> no;
+        if (isEmpty()) {
+            System.out.println("Erro ao remover, árvore AVL está vazia!");
+            return false;
+        } else if ((no = searchAVL(k)) == null) {
+            System.out.println("Erro ao remover, elemento não existe na árvore!");
+            return false;
+        }
+        //Tem os dois filhos: o maior da subárvore esquerda assume o dado e é ele que sai
+        if (no.getEsq() != null && no.getDir() != null) {
+            NoAVL<E> maior = no.getEsq();
+            while (maior.getDir() != null) {
+                maior = maior.getDir();
+            }
+            no.setDado(maior.getDado());
+            no = maior;
+        }
+        //Agora o nó tem no máximo um filho, que sobe para o lugar dele
+        NoAVL<E> filho = (no.getEsq() != null) ? no.getEsq() : no.getDir();
+        NoAVL<E> pai = no.getPai();
+        if (filho != null) {
+            filho.setPai(pai);
+        }
+        boolean removeuEsquerda = false;
+        if (pai == null) {
+            setRaiz(filho);
+        } else if (pai.getEsq() == no) {
+            pai.setEsq(filho);
+            removeuEsquerda = true;
+        } else {
+            pai.setDir(filho);
+        }
+        atualizaCaminho(pai);
+
+        //Sobe rebalanceando enquanto a altura da subárvore diminuir
+        flagRemove = true;
+        while (pai != null && flagRemove) {
+            NoAVL<E> avo = pai.getPai();
+            boolean paiEraEsquerdo = avo != null && avo.getEsq() == pai;
+            NoAVL<E> sub = removeuEsquerda ? balanceamentoEsquerdo(pai) : balanceamentoDireito(pai);
+            if (avo == null) {
+                setRaiz(sub);
+            }
+            removeuEsquerda = paiEraEsquerdo;
+            pai = avo;
+        }
+        return true;
+    }
+
+    //Reorganiza os fatores de balanceamento na remoção
+    private NoAVL<E> balanceamentoEsquerdo(NoAVL<E> no) {
+        switch (no.getFb()) {
+            case -1: //Se tinha um nó esquerdo, removeu e balanceou
+                no.setFb(0);
+                break;
+            case 0:  //Se não tinha filhos, ficou com um à direita
+                no.setFb(1);
+                flagRemove = false;
+                break;
+            case 1:  //Se tinha 1 nível a mais à direita, Balanceou
+                NoAVL<E> subDir = no.getDir();
+                int fb = subDir.getFb();
+                if (fb >= 0) {
+                    subDir = rotacaoSE(no);
+                    if (fb == 0) {
+                        no.setFb(1);
+                        subDir.setFb(-1);
+                        flagRemove = false;
+                    } else {
+                        no.setFb(0);
+                        subDir.setFb(0);
+                    }
+                    no = subDir;
+                } else { //Filho direito pesado à esquerda: rotação dupla para a esquerda
+                    no = rotacaoDE(no);
+                    ajustaFbRotacaoDupla(no);
+                }
+        }
+        return no;
+    }
+
+    //Reorganiza os fatores de balanceamento na remoção
+    private NoAVL<E> balanceamentoDireito(NoAVL<E> no) {
+        switch (no.getFb()) {
+            case 1: //Se tinha um nó direito, removeu e balanceou
+                no.setFb(0);
+                break;
+            case 0:  //Se não tinha filhos, ficou com um à esquerda
+                no.setFb(-1);
+                flagRemove = false;
+                break;
+            case -1:  //Se tinha 1 nível a mais à direita, balanceou
+                NoAVL<E> subEsq = no.getEsq();
+                int fb = subEsq.getFb();
+                if (fb <= 0) {
+                    subEsq = rotacaoSD(no);
+                    if (fb == 0) {
+                        no.setFb(-1);
+                        subEsq.setFb(1);
+                        flagRemove = false;
+                    } else {
+                        no.setFb(0);
+                        subEsq.setFb(0);
+                    }
+                    no = subEsq;
+                } else { //Filho esquerdo pesado à direita: rotação dupla para a direita
+                    no = rotacaoDD(no);
+                    ajustaFbRotacaoDupla(no);
+                }
+        }
+        return no;
+    }
+
+    //Menor nó da subárvore (o mais à esquerda)
+    public static <E extends Comparable<E>> NoAVL<E> menor(NoAVL<E> no) {
+        if (no != null) {
+            while (no.getEsq() != null) {
+                no = no.getEsq();
+            }
+        }
+        return no;
+    }
+
+    //Próximo nó em ordem, seguindo os ponteiros para o pai (sem pilha nem recursão)
+    public static <E extends Comparable<E>> NoAVL<E> sucessor(NoAVL<E> no) {
+        if (no.getDir() != null) {
+            return menor(no.getDir());
+        }
+        NoAVL<E> pai = no.getPai();
+        while (pai != null && no == pai.getDir()) {
+            no = pai;
+            pai = pai.getPai();
+        }
+        return pai;
+    }
+
+    //Maior nó da subárvore (o mais à direita)
+    public static <E extends Comparable<E>> NoAVL<E> maior(NoAVL<E> no) {
+        if (no != null) {
+            while (no.getDir() != null) {
+                no = no.getDir();
+            }
+        }
+        return no;
+    }
+
+    //Nó anterior em ordem, simétrico ao sucessor
+    public static <E extends Comparable<E>> NoAVL<E> antecessor(NoAVL<E> no) {
+        if (no.getEsq() != null) {
+            return maior(no.getEsq());
+        }
+        NoAVL<E> pai = no.getPai();
+        while (pai != null && no == pai.getEsq()) {
+            no = pai;
+            pai = pai.getPai();
+        }
+        return pai;
+    }
+
+    //Primeiro nó em ordem com dado >= e, ou null. O(log n)
+    private NoAVL<E> primeiroDesde(E e) {
+        NoAVL<E> candidato = null;
+        NoAVL<E> no = raiz;
+        while (no != null) {
+            if (compara(no.getDado(), e) >= 0) {
+                candidato = no;
+                no = no.getEsq();
+            } else {
+                no = no.getDir();
+            }
+        }
+        return candidato;
+    }
+
+    //Iterador preguiçoso, em ordem, dos elementos com lo <= e <= hi: desce uma vez até
+    //o primeiro elemento >= lo e segue pelos sucessores. O(log n + k)
+    public Iterator<E> range(E lo, E hi) {
+        return new IteradorIntervalo(primeiroDesde(lo), hi);
+    }
+
+    //Todos os elementos a partir de lo (inclusive), em ordem
+    public Iterator<E> tailFrom(E lo) {
+        return new IteradorIntervalo(primeiroDesde(lo), null);
+    }
+
+    private class IteradorIntervalo implements Iterator<E> {
+        private NoAVL<E> proximo;
+        private final E hi;
+
+        IteradorIntervalo(NoAVL<E> inicio, E hi) {
+            this.proximo = inicio;
+            this.hi = hi;
+        }
+
+        public boolean hasNext() {
+            return proximo != null && (hi == null || compara(proximo.getDado(), hi) <= 0);
+        }
+
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            NoAVL<E> atual = proximo;
+            proximo = sucessor(atual);
+            return atual.getDado();
+        }
+    }
+
+    //Spliterator em ordem para streams paralelos e tarefas fork/join. Cada parte é uma
+    //faixa de posições [inicio, fim): a divisão corta a faixa ao meio e o primeiro nó de
+    //cada parte sai de selectNo (tamanhos das subárvores), então as partes têm tamanho
+    //exato (SIZED/SUBSIZED). A árvore não pode ser alterada durante o percurso
+    public Spliterator<E> spliterator() {
+        return new DivisorPorPosicao(0, tamanho(), null);
+    }
+
+    private class DivisorPorPosicao implements Spliterator<E> {
+        private int inicio;
+        private final int fim;
+        private NoAVL<E> proximo; //nó da posição inicio (null = ainda não localizado)
+
+        DivisorPorPosicao(int inicio, int fim, NoAVL<E> proximo) {
+            this.inicio = inicio;
+            this.fim = fim;
+            this.proximo = proximo;
+        }
+
+        public boolean tryAdvance(Consumer<? super E> acao) {
+            if (inicio >= fim) {
+                return false;
+            }
+            if (proximo == null) {
+                proximo = selectNo(inicio);
+            }
+            NoAVL<E> atual = proximo;
+            proximo = sucessor(atual);
+            inicio++;
+            acao.accept(atual.getDado());
+            return true;
+        }
+
+        public void forEachRemaining(Consumer<? super E> acao) {
+            if (inicio >= fim) {
+                return;
+            }
+            NoAVL<E> no = proximo != null ? proximo : selectNo(inicio);
+            int restantes = fim - inicio;
+            inicio = fim;
+            proximo = null;
+            for (; restantes > 0; restantes--) {
+                acao.accept(no.getDado());
+                no = sucessor(no);
+            }
+        }
+
+        public Spliterator<E> trySplit() {
+            int meio = (inicio + fim) >>> 1;
+            if (meio <= inicio) {
+                return null;
+            }
+            //a primeira metade fica com o nó já localizado; esta parte passa a começar no meio
+            Spliterator<E> prefixo = new DivisorPorPosicao(inicio, meio, proximo);
+            inicio = meio;
+            proximo = null;
+            return prefixo;
+        }
+
+        public long estimateSize() {
+            return fim - inicio;
+        }
+
+        public int characteristics() {
+            return ORDERED | SORTED | SIZED | SUBSIZED | NONNULL;
+        }
+
+        public Comparator<? super E> getComparator() {
+            return comparador;
+        }
+    }
+
+    //Método público que retorna a String
+    public String emOrdemString() {
+        return emOrdemString(raiz);
+    }
+
+    //Atravessamento em ordem
+    private String emOrdemString(NoAVL<E> raiz) {
+        StringBuilder resp = new StringBuilder();
+        if (raiz != null) {
+            NoAVL<E> fim = sucessor(maior(raiz)); //primeiro nó depois da subárvore
+            for (NoAVL<E> no = menor(raiz); no != fim; no = sucessor(no)) {
+                resp.append(no.getDado()).append("\n");
+            }
+        }
+        return resp.toString();
+    }
+
+    public String preOrdemString() {
+        return preOrdemString(raiz);
+    }
+
+    //Atravessamento em pré-ordem com pilha explícita
+    private String preOrdemString(NoAVL<E> raiz) {
+        StringBuilder resp = new StringBuilder();
+        if (raiz != null) {
+            Deque<NoAVL<E>> pilha = new ArrayDeque<>();
+            pilha.push(raiz);
+            while (!pilha.isEmpty()) {
+                NoAVL<E> no = pilha.pop();
+                resp.append(no.getDado()).append("\n");
+                if (no.getDir() != null) {
+                    pilha.push(no.getDir());
+                }
+                if (no.getEsq() != null) {
+                    pilha.push(no.getEsq());
+                }
+            }
+        }
+        return resp.toString();
+    }
+
+    //Método público
+    public void posOrdem() {
+        System.out.print(posOrdemString(raiz));
+    }
+
+    //Método público
+    public String posOrdemString() {
+        return posOrdemString(raiz);
+    }
+
+    //Atravessamento em pós-ordem: visita raiz-direita-esquerda e inverte a saída
+    private String posOrdemString(NoAVL<E> raiz) {
+        StringBuilder resp = new StringBuilder();
+        if (raiz != null) {
+            Deque<NoAVL<E>> pilha = new ArrayDeque<>();
+            Deque<NoAVL<E>> saida = new ArrayDeque<>();
+            pilha.push(raiz);
+            while (!pilha.isEmpty()) {
+                NoAVL<E> no = pilha.pop();
+                saida.push(no);
+                if (no.getEsq() != null) {
+                    pilha.push(no.getEsq());
+                }
+                if (no.getDir() != null) {
+                    pilha.push(no.getDir());
+                }
+            }
+            while (!saida.isEmpty()) {
+                resp.append(saida.pop().getDado()).append("\n");
+            }
+        }
+        return resp.toString();
+    }
+
+    //Atravessamento em nível
+    public void emNivel() {
+        NoAVL<E> noAux;
+        LinkedList<NoAVL<E>> f;
+        if (!isEmpty()) {
+            f = new LinkedList<>();
+            f.addLast(raiz);
+            while (!f.isEmpty()) {
+                noAux = f.removeFirst();
+                if (noAux.getEsq() != null) {
+                    f.addLast(noAux.getEsq());
+                }
+                if (noAux.getDir() != null) {
+                    f.addLast(noAux.getDir());
+                }
+                System.out.print(noAux.getDado() + ", ");
+            }
+        }
+    }
+
+    public String emNivelString() {
+        NoAVL<E> noAux;
+        LinkedList<NoAVL<E>> f;
+        String resp = "";
+        if (!isEmpty()) {
+            f = new LinkedList<>();
+            f.addLast(raiz);
+            while (!f.isEmpty()) {
+                noAux = f.removeFirst();
+                if (noAux.getEsq() != null) {
+                    f.addLast(noAux.getEsq());
+                }
+                if (noAux.getDir() != null) {
+                    f.addLast(noAux.getDir());
+                }
+                resp += noAux.getDado() + "\n";
+            }
+        }
+        return resp;
+    }
+
+}
@@ -0,0 +1,168 @@
+//AVL de Game em que cada nó guarda, além do tamanho, agregados da sua subárvore:
+//soma de avgPlayers, soma de gain e maior peakPlayers. Os agregados são recalculados
+//junto com o tamanho (AVL.atualiza), inclusive nas rotações, e permitem responder
+//contagens, somas e máximos por faixa de média em O(log n), sem percorrer a árvore.
+public class AVLAgregada extends AVL<Game> {
+
+    //Resumo de um conjunto de registros
+    public static class Resumo {
+        private int quantidade;
+        private double somaMedia;
+        private double somaGanho;
+        private int maxPico;
+
+        //Soma uma subárvore inteira ao resumo
+        private void adiciona(NoAVL<Game> no) {
+            if (no != null) {
+                NoAVLAgregado a = (NoAVLAgregado) no;
+                quantidade += a.getTamanho();
+                somaMedia += a.getSomaMedia();
+                somaGanho += a.getSomaGanho();
+                maxPico = Math.max(maxPico, a.getMaxPico());
+            }
+        }
+
+        //Soma apenas o registro do nó
+        private void adiciona(Game g) {
+            quantidade++;
+            somaMedia += g.getAvgPlayers();
+            somaGanho += g.getGain();
+            maxPico = Math.max(maxPico, g.getPeakPlayers());
+        }
+
+        public int getQuantidade() {
+            return quantidade;
+        }
+
+        public double getSomaMedia() {
+            return somaMedia;
+        }
+
+        public double getSomaGanho() {
+            return somaGanho;
+        }
+
+        public int getMaxPico() {
+            return maxPico;
+        }
+    }
+
+    //Ordenada pela ordem total de Game (média, appid, mês)
+    public AVLAgregada() {
+        super(Game.COMPOSITE_ORDER);
+    }
+
+    @Override
+    protected NoAVL<Game> criaNo(Game k) {
+        return new NoAVLAgregado(k);
+    }
+
+    @Override
+    protected void atualiza(NoAVL<Game> no) {
+        super.atualiza(no);
+        NoAVLAgregado a = (NoAVLAgregado) no;
+        Game g = a.getGame();
+        double somaMedia = g.getAvgPlayers();
+        double somaGanho = g.getGain();
+        int maxPico = g.getPeakPlayers();
+        if (no.getEsq() != null) {
+            NoAVLAgregado e = (NoAVLAgregado) no.getEsq();
+            somaMedia += e.getSomaMedia();
+            somaGanho += e.getSomaGanho();
+            maxPico = Math.max(maxPico, e.getMaxPico());
+        }
+        if (no.getDir() != null) {
+            NoAVLAgregado d = (NoAVLAgregado) no.getDir();
+            somaMedia += d.getSomaMedia();
+            somaGanho += d.getSomaGanho();
+            maxPico = Math.max(maxPico, d.getMaxPico());
+        }
+        a.setSomaMedia(somaMedia);
+        a.setSomaGanho(somaGanho);
+        a.setMaxPico(maxPico);
+    }
+
+    private static double media(NoAVL<Game> no) {
+        return no.getDado().getAvgPlayers();
+    }
+
+    //Resumo de toda a árvore. O(1)
+    public Resumo resumoTotal() {
+        Resumo r = new Resumo();
+        r.adiciona(getRaiz());
+        return r;
+    }
+
+    //Registros com média estritamente maior que o limiar. O(log n)
+    public Resumo resumoAcima(double limiar) {
+        Resumo r = new Resumo();
+        NoAVL<Game> no = getRaiz();
+        while (no != null) {
+            if (media(no) > limiar) { //o nó e toda a subárvore direita estão acima
+                r.adiciona(no.getDado());
+                r.adiciona(no.getDir());
+                no = no.getEsq();
+            } else {
+                no = no.getDir();
+            }
+        }
+        return r;
+    }
+
+    //Registros com média no intervalo [min, max]. O(log n)
+    public Resumo resumoIntervalo(double min, double max) {
+        Resumo r = new Resumo();
+        //Desce até o primeiro nó dentro do intervalo (onde os caminhos de min e max se separam)
+        NoAVL<Game> no = getRaiz();
+        while (no != null && (media(no) < min || media(no) > max)) {
+            no = media(no) < min ? no.getDir() : no.getEsq();
+        }
+        if (no == null) {
+            return r;
+        }
+        r.adiciona(no.getDado());
+        //Lado esquerdo: tudo à direita de um nó >= min está dentro
+        NoAVL<Game> atual = no.getEsq();
+        while (atual != null) {
+            if (media(atual) >= min) {
+                r.adiciona(atual.getDado());
+                r.adiciona(atual.getDir());
+                atual = atual.getEsq();
+            } else {
+                atual = atual.getDir();
+            }
+        }
+        //Lado direito: tudo à esquerda de um nó <= max está dentro
+        atual = no.getDir();
+        while (atual != null) {
+            if (media(atual) <= max) {
+                r.adiciona(atual.getDado());
+                r.adiciona(atual.getEsq());
+                atual = atual.getDir();
+            } else {
+                atual = atual.getEsq();
+            }
+        }
+        return r;
+    }
+
+    //Soma de avgPlayers dos k menores registros (soma de prefixo por posição). O(log n)
+    public double somaMenores(int k) {
+        double soma = 0;
+        NoAVL<Game> no = getRaiz();
+        while (no != null && k > 0) {
+            int esquerda = tamanho(no.getEsq());
+            if (k <= esquerda) {
+                no = no.getEsq();
+            } else {
+                if (no.getEsq() != null) {
+                    soma += ((NoAVLAgregado) no.getEsq()).getSomaMedia();
+                }
+                soma += media(no);
+                k -= esquerda + 1;
+                no = no.getDir();
+            }
+        }
+        return soma;
+    }
+}
@@ -0,0 +1,242 @@
+import java.util.Arrays;
+
+//AVL especializada para Game, armazenada em vetores paralelos de primitivos.
+//Cada nó é apenas um índice nos vetores: não há objeto NoAVL por registro nem o cast
+//(Comparable) de AVL.compara. A ordem é a mesma da AVL de App (Game.COMPOSITE_ORDER):
+//a média fica em um vetor de double e decide quase todas as comparações; só em empate
+//de média o registro guardado no nó é consultado (appid e mês). Como na AVL, chaves
+//iguais vão para a direita, a busca devolve o primeiro nó com a chave e a remoção
+//substitui um nó com dois filhos pelo maior da subárvore esquerda.
+public class AVLCompacta {
+
+    private static final int NULO = -1;
+    //Uma AVL com até 2^31 nós tem altura menor que 46, então o caminho cabe em vetor fixo
+    private static final int ALTURA_MAX = 64;
+    private static final int CAPACIDADE_INICIAL = 16;
+
+    private double[] chave;     //avgPlayers de cada nó
+    private int[] esq;          //índice do filho esquerdo (ou NULO)
+    private int[] dir;          //índice do filho direito (ou NULO)
+    private byte[] fb;          //fator de balanceamento (altura direita - altura esquerda)
+    private Game[] registros;   //registro guardado no nó
+
+    private int raiz;
+    private int tamanho;
+    private int proximoIndice;  //primeiro índice ainda não usado nos vetores
+    private int livres;         //índices liberados na remoção, encadeados por esq[] e reusados
+
+    //Caminho da raiz até o ponto de inserção/remoção (substitui a recursão e o ponteiro pai)
+    private final int[] caminho = new int[ALTURA_MAX];
+    private final boolean[] foiEsq = new boolean[ALTURA_MAX];
+
+    public AVLCompacta() {
+        this(CAPACIDADE_INICIAL);
+    }
+
+    public AVLCompacta(int capacidade) {
+        capacidade = Math.max(capacidade, CAPACIDADE_INICIAL);
+        chave = new double[capacidade];
+        esq = new int[capacidade];
+        dir = new int[capacidade];
+        fb = new byte[capacidade];
+        registros = new Game[capacidade];
+        raiz = NULO;
+        livres = NULO;
+    }
+
+    public boolean isEmpty() {
+        return raiz == NULO;
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    //Compara g com o registro do nó: média primeiro, o restante da chave só em empate
+    private int compara(Game g, int no) {
+        int c = Double.compare(g.getAvgPlayers(), chave[no]);
+        return c != 0 ? c : Game.COMPOSITE_ORDER.compare(g, registros[no]);
+    }
+
+    //Busca o registro com a mesma chave (média, appid, mês), ou null se não existir
+    public Game searchAVL(Game g) {
+        int atual = raiz;
+        while (atual != NULO) {
+            int c = compara(g, atual);
+            if (c == 0) {
+                return registros[atual];
+            }
+            atual = c < 0 ? esq[atual] : dir[atual];
+        }
+        return null;
+    }
+
+    //Insere o jogo (equivalente a AVL.insereAVL)
+    public void insereAVL(Game g) {
+        int novo = alocar(g);
+        tamanho++;
+        if (raiz == NULO) {
+            raiz = novo;
+            return;
+        }
+        //Desce até a folha guardando o caminho
+        int topo = 0;
+        int atual = raiz;
+        while (atual != NULO) {
+            boolean paraEsq = compara(g, atual) < 0;
+            caminho[topo] = atual;
+            foiEsq[topo++] = paraEsq;
+            atual = paraEsq ? esq[atual] : dir[atual];
+        }
+        religar(topo, novo);
+
+        //Sobe atualizando os fatores de balanceamento
+        for (int i = topo - 1; i >= 0; i--) {
+            int no = caminho[i];
+            int f = fb[no] + (foiEsq[i] ? -1 : 1);
+            fb[no] = (byte) f;
+            if (f == 0) {           //a subárvore equilibrou, altura não mudou
+                return;
+            }
+            if (f == 2 || f == -2) { //desbalanceou: uma rotação (simples ou dupla) resolve
+                religar(i, rebalancear(no));
+                return;
+            }
+        }
+    }
+
+    //Remove um registro com a mesma chave (equivalente a AVL.removeAVL)
+    public boolean removeAVL(Game g) {
+        int topo = 0;
+        int atual = raiz;
+        while (atual != NULO) {
+            int c = compara(g, atual);
+            if (c == 0) {
+                break;
+            }
+            caminho[topo] = atual;
+            foiEsq[topo++] = c < 0;
+            atual = c < 0 ? esq[atual] : dir[atual];
+        }
+        if (atual == NULO) {
+            return false;
+        }
+        int alvo = atual;
+        //Com dois filhos, o maior da subárvore esquerda assume o lugar e é ele que sai
+        if (esq[alvo] != NULO && dir[alvo] != NULO) {
+            caminho[topo] = alvo;
+            foiEsq[topo++] = true;
+            int maior = esq[alvo];
+            while (dir[maior] != NULO) {
+                caminho[topo] = maior;
+                foiEsq[topo++] = false;
+                maior = dir[maior];
+            }
+            chave[alvo] = chave[maior];
+            registros[alvo] = registros[maior];
+            alvo = maior;
+        }
+        religar(topo, esq[alvo] != NULO ? esq[alvo] : dir[alvo]);
+        liberar(alvo);
+        tamanho--;
+
+        //Sobe atualizando os fatores enquanto a altura da subárvore diminuir
+        for (int i = topo - 1; i >= 0; i--) {
+            int no = caminho[i];
+            int f = fb[no] + (foiEsq[i] ? 1 : -1);
+            fb[no] = (byte) f;
+            if (f == 1 || f == -1) { //altura mantida
+                break;
+            }
+            if (f == 2 || f == -2) {
+                int sub = rebalancear(no);
+                religar(i, sub);
+                if (fb[sub] != 0) { //rotação não reduziu a altura
+                    break;
+                }
+            }
+        }
+        return true;
+    }
+
+    //Liga a subárvore 'sub' no lugar do nó caminho[i] (ou na raiz)
+    private void religar(int i, int sub) {
+        if (i == 0) {
+            raiz = sub;
+        } else if (foiEsq[i - 1]) {
+            esq[caminho[i - 1]] = sub;
+        } else {
+            dir[caminho[i - 1]] = sub;
+        }
+    }
+
+    //Aplica a rotação simples ou dupla para um nó com fator -2 ou 2 e devolve a nova raiz
+    private int rebalancear(int a) {
+        if (fb[a] < 0) {
+            if (fb[esq[a]] > 0) {
+                esq[a] = rotacaoSE(esq[a]);
+            }
+            return rotacaoSD(a);
+        }
+        if (fb[dir[a]] < 0) {
+            dir[a] = rotacaoSD(dir[a]);
+        }
+        return rotacaoSE(a);
+    }
+
+    //Rotação simples para a direita; os fatores são recalculados para qualquer combinação
+    private int rotacaoSD(int a) {
+        int b = esq[a];
+        esq[a] = dir[b];
+        dir[b] = a;
+        int fa = fb[a] + 1 - Math.min(fb[b], 0);
+        fb[b] = (byte) (fb[b] + 1 + Math.max(fa, 0));
+        fb[a] = (byte) fa;
+        return b;
+    }
+
+    //Rotação simples para a esquerda
+    private int rotacaoSE(int a) {
+        int b = dir[a];
+        dir[a] = esq[b];
+        esq[b] = a;
+        int fa = fb[a] - 1 - Math.max(fb[b], 0);
+        fb[b] = (byte) (fb[b] - 1 + Math.min(fa, 0));
+        fb[a] = (byte) fa;
+        return b;
+    }
+
+    private int alocar(Game g) {
+        int no;
+        if (livres != NULO) {
+            no = livres;
+            livres = esq[no];
+        } else {
+            if (proximoIndice == chave.length) {
+                crescer();
+            }
+            no = proximoIndice++;
+        }
+        chave[no] = g.getAvgPlayers();
+        registros[no] = g;
+        esq[no] = NULO;
+        dir[no] = NULO;
+        fb[no] = 0;
+        return no;
+    }
+
+    private void liberar(int no) {
+        registros[no] = null;
+        esq[no] = livres;
+        livres = no;
+    }
+
+    private void crescer() {
+        int nova = chave.length * 2;
+        chave = Arrays.copyOf(chave, nova);
+        esq = Arrays.copyOf(esq, nova);
+        dir = Arrays.copyOf(dir, nova);
+        fb = Arrays.copyOf(fb, nova);
+        registros = Arrays.copyOf(registros, nova);
+    }
+}
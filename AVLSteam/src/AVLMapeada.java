@@ -0,0 +1,403 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+//Árvore (AVL ou ABB) de Game gravada em arquivo com o layout exato dos nós e reaberta
+//mapeada em memória, somente para leitura. Cada nó é um registro de tamanho fixo
+//(filhos, pai, fb, tamanho da subárvore e os campos do Game), então as buscas descem
+//direto pelo buffer mapeado sem recriar NoAVL/Node; só os resultados viram Game.
+//
+//Formato (big-endian):
+//  cabeçalho: int MAGIC, int VERSAO, int tipo, long tamanho do CSV, long mtime do CSV,
+//             long CRC32 do corpo, int n
+//  corpo:     dicionário de nomes, dicionário dos meses fora do formato "Mmm-AA"
+//             (int qtd; int bytes + UTF-8 cada), n registros de REGISTRO bytes em ordem
+//             de nível (a raiz é o registro 0)
+//O mês de cada registro é o monthKey de Game (>= 0); um mês fora do formato é guardado
+//como -2 - posição no dicionário de meses, e sem mês, como -1.
+//O arquivo é recusado (abre devolve null) se versão, CRC ou o CSV de origem não baterem.
+public class AVLMapeada {
+
+    public static final int TIPO_ABB = 0;
+    public static final int TIPO_AVL = 1;
+
+    private static final int MAGIC = 0x41564C4D; // "AVLM"
+    private static final int VERSAO = 3; // 3: mês guardado como Game.getMonthKey()
+    private static final int CABECALHO = 4 * 3 + 8 * 3 + 4;
+
+    //Deslocamentos dos campos dentro de um registro
+    private static final int ESQ = 0;
+    private static final int DIR = 4;
+    private static final int PAI = 8;
+    private static final int FB = 12;
+    private static final int TAMANHO = 16;
+    private static final int MES = 20;
+    private static final int NOME = 24;
+    private static final int MEDIA = 28;
+    private static final int GANHO = 36;
+    private static final int GANHO_PCT = 44;
+    private static final int PICO = 52;
+    private static final int APPID = 56;
+    private static final int REGISTRO = 60;
+
+    private final ByteBuffer nos;       //Registros dos nós (posição 0 = raiz)
+    private final int n;
+    private final int tipo;
+    private final String[] nomes;
+    private final String[] meses;
+    private final Comparator<Game> comparador;
+
+    private AVLMapeada(ByteBuffer nos, int n, int tipo, String[] nomes, String[] meses,
+                       Comparator<Game> comparador) {
+        this.nos = nos;
+        this.n = n;
+        this.tipo = tipo;
+        this.nomes = nomes;
+        this.meses = meses;
+        this.comparador = comparador;
+    }
+
+    //Grava a AVL (dados Game) com fb, pais e tamanhos como estão na memória
+    public static boolean grava(AVL<Game> arvore, Path arquivo, String csvPath) {
+        return grava(arvore.getRaiz(), TIPO_AVL, arquivo, csvPath);
+    }
+
+    //Grava a ABB; o fb de cada nó é calculado pelas alturas, já que a ABB não o guarda
+    public static boolean grava(ABB<Game> arvore, Path arquivo, String csvPath) {
+        return grava(arvore.getRaiz(), TIPO_ABB, arquivo, csvPath);
+    }
+
+    private static boolean grava(Object raiz, int tipo, Path arquivo, String csvPath) {
+        Path temp = Paths.get(arquivo + ".tmp");
+        try {
+            //Numera os nós em ordem de nível (iterativo: a ABB pode ser degenerada)
+            List<Object> ordem = new ArrayList<>();
+            if (raiz != null) {
+                ordem.add(raiz);
+            }
+            for (int i = 0; i < ordem.size(); i++) {
+                Object no = ordem.get(i);
+                if (esq(no) != null) {
+                    ordem.add(esq(no));
+                }
+                if (dir(no) != null) {
+                    ordem.add(dir(no));
+                }
+            }
+            int total = ordem.size();
+            Map<Object, Integer> indice = new IdentityHashMap<>(total * 2);
+            for (int i = 0; i < total; i++) {
+                indice.put(ordem.get(i), i);
+            }
+            int[] esq = new int[total];
+            int[] dir = new int[total];
+            int[] pai = new int[total];
+            Arrays.fill(pai, -1);
+            for (int i = 0; i < total; i++) {
+                Object no = ordem.get(i);
+                esq[i] = esq(no) == null ? -1 : indice.get(esq(no));
+                dir[i] = dir(no) == null ? -1 : indice.get(dir(no));
+                if (esq[i] >= 0) {
+                    pai[esq[i]] = i;
+                }
+                if (dir[i] >= 0) {
+                    pai[dir[i]] = i;
+                }
+            }
+            //Filhos sempre vêm depois do pai: de trás para frente, as subárvores já estão prontas
+            int[] altura = new int[total];
+            int[] tamanho = new int[total];
+            int[] fb = new int[total];
+            for (int i = total - 1; i >= 0; i--) {
+                int he = esq[i] < 0 ? 0 : altura[esq[i]];
+                int hd = dir[i] < 0 ? 0 : altura[dir[i]];
+                altura[i] = 1 + Math.max(he, hd);
+                tamanho[i] = 1 + (esq[i] < 0 ? 0 : tamanho[esq[i]]) + (dir[i] < 0 ? 0 : tamanho[dir[i]]);
+                fb[i] = hd - he;
+            }
+
+            Map<String, Integer> idNomes = new HashMap<>();
+            Map<String, Integer> idMeses = new HashMap<>();
+            List<String> nomes = new ArrayList<>();
+            List<String> meses = new ArrayList<>();
+            int[] nome = new int[total];
+            int[] mes = new int[total];
+            for (int i = 0; i < total; i++) {
+                Game g = (Game) dado(ordem.get(i));
+                nome[i] = SnapshotCache.encode(g.getName(), idNomes, nomes);
+                mes[i] = g.getMonthKey() >= 0 ? g.getMonthKey()
+                       : g.getMonth() == null ? -1 : -2 - SnapshotCache.encode(g.getMonth(), idMeses, meses);
+            }
+
+            Path csv = Paths.get(csvPath);
+            CRC32 crc = new CRC32();
+            try (FileChannel canal = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                canal.position(CABECALHO);
+                DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                        new BufferedOutputStream(Channels.newOutputStream(canal), 1 << 16), crc));
+                SnapshotCache.writeDictionary(out, nomes);
+                SnapshotCache.writeDictionary(out, meses);
+                for (int i = 0; i < total; i++) {
+                    Object no = ordem.get(i);
+                    Game g = (Game) dado(no);
+                    out.writeInt(esq[i]);
+                    out.writeInt(dir[i]);
+                    out.writeInt(pai[i]);
+                    out.writeInt(tipo == TIPO_AVL ? ((NoAVL<?>) no).getFb() : fb[i]);
+                    out.writeInt(tamanho[i]);
+                    out.writeInt(mes[i]);
+                    out.writeInt(nome[i]);
+                    out.writeDouble(g.getAvgPlayers());
+                    out.writeDouble(g.getGain());
+                    out.writeDouble(g.getGainPercent());
+                    out.writeInt(g.getPeakPlayers());
+                    out.writeInt(g.getSteamAppid());
+                }
+                out.flush();
+
+                ByteBuffer cabecalho = ByteBuffer.allocate(CABECALHO);
+                cabecalho.putInt(MAGIC).putInt(VERSAO).putInt(tipo)
+                         .putLong(Files.size(csv)).putLong(Files.getLastModifiedTime(csv).toMillis())
+                         .putLong(crc.getValue()).putInt(total);
+                cabecalho.flip();
+                canal.write(cabecalho, 0);
+                canal.force(true);
+            }
+            Files.move(temp, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException | ClassCastException e) {
+            System.err.println("Aviso: não foi possível gravar a árvore em " + arquivo + " (" + e.getMessage() + ")");
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignorada) {
+                // nada a limpar
+            }
+            return false;
+        }
+    }
+
+    //Abre o arquivo mapeado. Devolve null se ele for de outra versão, estiver corrompido
+    //(CRC diferente) ou tiver sido gravado a partir de outro conteúdo do CSV
+    public static AVLMapeada abre(Path arquivo, String csvPath, Comparator<Game> comparador) {
+        if (!Files.isRegularFile(arquivo)) {
+            return null;
+        }
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            Path csv = Paths.get(csvPath);
+            ByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            if (buffer.remaining() < CABECALHO || buffer.getInt() != MAGIC || buffer.getInt() != VERSAO) {
+                return null;
+            }
+            int tipo = buffer.getInt();
+            if (buffer.getLong() != Files.size(csv)
+                || buffer.getLong() != Files.getLastModifiedTime(csv).toMillis()) {
+                return null; // índice de outra versão do CSV
+            }
+            long crcGravado = buffer.getLong();
+            int n = buffer.getInt();
+
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate());
+            if (crc.getValue() != crcGravado) {
+                System.err.println("Aviso: " + arquivo + " corrompido (CRC não confere)");
+                return null;
+            }
+            String[] nomes = SnapshotCache.readDictionary(buffer);
+            String[] meses = SnapshotCache.readDictionary(buffer);
+            if (buffer.remaining() != (long) n * REGISTRO) {
+                return null;
+            }
+            return new AVLMapeada(buffer.slice(), n, tipo, nomes, meses, comparador);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Aviso: " + arquivo + " ignorado (" + e.getMessage() + ")");
+            return null;
+        }
+    }
+
+    public int tamanho() {
+        return n;
+    }
+
+    public boolean isEmpty() {
+        return n == 0;
+    }
+
+    public int getTipo() {
+        return tipo;
+    }
+
+    //Campos dos registros, lidos diretamente do buffer
+    private int esq(int no) {
+        return nos.getInt(no * REGISTRO + ESQ);
+    }
+
+    private int dir(int no) {
+        return nos.getInt(no * REGISTRO + DIR);
+    }
+
+    private int pai(int no) {
+        return nos.getInt(no * REGISTRO + PAI);
+    }
+
+    private int tamanho(int no) {
+        return no < 0 ? 0 : nos.getInt(no * REGISTRO + TAMANHO);
+    }
+
+    public int getFb(int no) {
+        return nos.getInt(no * REGISTRO + FB);
+    }
+
+    //Preenche o rascunho com o registro (comparações sem criar objetos a cada nó;
+    //o mês já vem convertido, sem reler texto)
+    private Game carrega(int no, Game rascunho) {
+        int base = no * REGISTRO;
+        int mes = nos.getInt(base + MES);
+        if (mes >= 0) {
+            rascunho.setMonthKey(mes);
+        } else {
+            rascunho.setMonth(mes == -1 ? null : meses[-2 - mes]);
+        }
+        rascunho.setName(SnapshotCache.decode(nomes, nos.getInt(base + NOME)));
+        rascunho.setAvgPlayers(nos.getDouble(base + MEDIA));
+        rascunho.setGain(nos.getDouble(base + GANHO));
+        rascunho.setGainPercent(nos.getDouble(base + GANHO_PCT));
+        rascunho.setPeakPlayers(nos.getInt(base + PICO));
+        rascunho.setSteamAppid(nos.getInt(base + APPID));
+        return rascunho;
+    }
+
+    private Game jogo(int no) {
+        return carrega(no, new Game(null, 0, 0, 0, 0, null, 0));
+    }
+
+    //Primeiro registro igual à chave (pela ordem da árvore), ou null
+    public Game busca(Game chave) {
+        Game rascunho = new Game(null, 0, 0, 0, 0, null, 0);
+        int no = n == 0 ? -1 : 0;
+        while (no >= 0) {
+            int c = comparador.compare(chave, carrega(no, rascunho));
+            if (c == 0) {
+                return rascunho;
+            }
+            no = c < 0 ? esq(no) : dir(no);
+        }
+        return null;
+    }
+
+    //k-ésimo menor registro (k a partir de 0), ou null fora dos limites
+    public Game select(int k) {
+        int no = n == 0 ? -1 : 0;
+        while (no >= 0) {
+            int esquerda = tamanho(esq(no));
+            if (k < esquerda) {
+                no = esq(no);
+            } else if (k == esquerda) {
+                return jogo(no);
+            } else {
+                k -= esquerda + 1;
+                no = dir(no);
+            }
+        }
+        return null;
+    }
+
+    //Sucessor em ordem pelos links de pai gravados (como AVL.sucessor)
+    private int sucessor(int no) {
+        if (dir(no) >= 0) {
+            no = dir(no);
+            while (esq(no) >= 0) {
+                no = esq(no);
+            }
+            return no;
+        }
+        int p = pai(no);
+        while (p >= 0 && no == dir(p)) {
+            no = p;
+            p = pai(p);
+        }
+        return p;
+    }
+
+    //Registros x com lo <= x <= hi, em ordem: O(log n + k). lo ou hi null = sem limite
+    public Iterator<Game> range(Game lo, Game hi) {
+        Game rascunho = new Game(null, 0, 0, 0, 0, null, 0);
+        int candidato = -1;
+        int no = n == 0 ? -1 : 0;
+        while (no >= 0) {
+            if (lo == null || comparador.compare(carrega(no, rascunho), lo) >= 0) {
+                candidato = no;
+                no = esq(no);
+            } else {
+                no = dir(no);
+            }
+        }
+        return new IteradorIntervalo(candidato, hi);
+    }
+
+    private class IteradorIntervalo implements Iterator<Game> {
+        private int proximo;
+        private final Game hi;
+        private Game atual; //registro de "proximo", já decodificado
+
+        IteradorIntervalo(int inicio, Game hi) {
+            this.hi = hi;
+            avanca(inicio);
+        }
+
+        private void avanca(int no) {
+            proximo = no;
+            atual = no < 0 ? null : jogo(no);
+            if (atual != null && hi != null && comparador.compare(atual, hi) > 0) {
+                proximo = -1;
+                atual = null;
+            }
+        }
+
+        public boolean hasNext() {
+            return atual != null;
+        }
+
+        public Game next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Game resultado = atual;
+            avanca(sucessor(proximo));
+            return resultado;
+        }
+    }
+
+    //Acesso uniforme aos nós da AVL (NoAVL) e da ABB (Node)
+    private static Object esq(Object no) {
+        return no instanceof NoAVL ? ((NoAVL<?>) no).getEsq() : ((Node<?>) no).getFilhoEsq();
+    }
+
+    private static Object dir(Object no) {
+        return no instanceof NoAVL ? ((NoAVL<?>) no).getDir() : ((Node<?>) no).getFilhoDir();
+    }
+
+    private static Object dado(Object no) {
+        return no instanceof NoAVL ? ((NoAVL<?>) no).getDado() : ((Node<?>) no).getValue();
+    }
+}
@@ -0,0 +1,287 @@
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+//AVL persistente: os nós são imutáveis e cada inserção/remoção copia apenas os nós do
+//caminho da raiz até o ponto alterado (O(log n)), reaproveitando todas as outras subárvores.
+//A nova raiz é publicada com compareAndSet, então um Snapshot tirado a qualquer momento
+//nunca muda e pode ser lido por várias threads sem travas enquanto outras escrevem.
+public class AVLPersistente<T> {
+
+    //Nó imutável: guarda altura e tamanho da subárvore em vez do fator de balanceamento
+    private static final class No {
+        final Object dado;
+        final No esq;
+        final No dir;
+        final int altura;
+        final int tamanho;
+
+        No(Object dado, No esq, No dir) {
+            this.dado = dado;
+            this.esq = esq;
+            this.dir = dir;
+            this.altura = 1 + Math.max(altura(esq), altura(dir));
+            this.tamanho = 1 + tamanho(esq) + tamanho(dir);
+        }
+    }
+
+    private final Comparator<? super T> comparador;
+    private final AtomicReference<No> raiz = new AtomicReference<>();
+
+    public AVLPersistente(Comparator<? super T> comparador) {
+        this.comparador = comparador;
+    }
+
+    private static int altura(No no) {
+        return no == null ? 0 : no.altura;
+    }
+
+    private static int tamanho(No no) {
+        return no == null ? 0 : no.tamanho;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compara(Object ob1, Object ob2) {
+        return comparador.compare((T) ob1, (T) ob2);
+    }
+
+    //Versão atual da árvore; continua válida mesmo depois de novas escritas
+    public Snapshot snapshot() {
+        return new Snapshot(raiz.get());
+    }
+
+    public int tamanho() {
+        return tamanho(raiz.get());
+    }
+
+    //Insere o item. Se outro escritor publicar antes, refaz a cópia do caminho sobre a nova raiz
+    public void insere(T dado) {
+        No atual;
+        No nova;
+        do {
+            atual = raiz.get();
+            nova = insere(atual, dado);
+        } while (!raiz.compareAndSet(atual, nova));
+    }
+
+    //Remove um item igual (pela ordem da árvore); devolve false se não existir
+    public boolean remove(T dado) {
+        No atual;
+        No nova;
+        do {
+            atual = raiz.get();
+            nova = remove(atual, dado);
+            if (nova == atual) {
+                return false;
+            }
+        } while (!raiz.compareAndSet(atual, nova));
+        return true;
+    }
+
+    //Substitui o conteúdo por itens já ordenados, em O(n) (como AVL.bulkLoad)
+    public void bulkLoad(List<? extends T> ordenados) {
+        Object[] dados = ordenados.toArray();
+        for (int i = 1; i < dados.length; i++) {
+            if (compara(dados[i - 1], dados[i]) > 0) {
+                throw new IllegalArgumentException("bulkLoad: itens fora de ordem na posição " + i);
+            }
+        }
+        raiz.set(constroi(dados, 0, dados.length - 1));
+    }
+
+    private static No constroi(Object[] dados, int ini, int fim) {
+        if (ini > fim) {
+            return null;
+        }
+        int meio = (ini + fim) >>> 1;
+        return new No(dados[meio], constroi(dados, ini, meio - 1), constroi(dados, meio + 1, fim));
+    }
+
+    //As funções abaixo nunca alteram nós existentes: devolvem a raiz de uma nova subárvore.
+    //A recursão tem a profundidade da árvore (no máximo ~1,44 log n).
+
+    //Iguais vão para a direita, como em AVL.insereAVL
+    private No insere(No no, Object dado) {
+        if (no == null) {
+            return new No(dado, null, null);
+        }
+        if (compara(dado, no.dado) < 0) {
+            return balanceia(no.dado, insere(no.esq, dado), no.dir);
+        }
+        return balanceia(no.dado, no.esq, insere(no.dir, dado));
+    }
+
+    //Devolve o próprio nó quando o item não está na subárvore (nada foi copiado)
+    private No remove(No no, Object dado) {
+        if (no == null) {
+            return null;
+        }
+        int c = compara(dado, no.dado);
+        if (c < 0) {
+            No esq = remove(no.esq, dado);
+            return esq == no.esq ? no : balanceia(no.dado, esq, no.dir);
+        }
+        if (c > 0) {
+            No dir = remove(no.dir, dado);
+            return dir == no.dir ? no : balanceia(no.dado, no.esq, dir);
+        }
+        if (no.esq == null) {
+            return no.dir;
+        }
+        if (no.dir == null) {
+            return no.esq;
+        }
+        //Com dois filhos, o maior da subárvore esquerda assume o lugar (como em AVL.removeAVL)
+        No maior = no.esq;
+        while (maior.dir != null) {
+            maior = maior.dir;
+        }
+        return balanceia(maior.dado, removeMaior(no.esq), no.dir);
+    }
+
+    private No removeMaior(No no) {
+        if (no.dir == null) {
+            return no.esq;
+        }
+        return balanceia(no.dado, no.esq, removeMaior(no.dir));
+    }
+
+    //Monta o nó (dado, esq, dir) aplicando a rotação simples ou dupla se as alturas diferirem em 2
+    private No balanceia(Object dado, No esq, No dir) {
+        int fb = altura(dir) - altura(esq);
+        if (fb > 1) {
+            if (altura(dir.esq) > altura(dir.dir)) {
+                dir = rotacaoSD(dir.dado, dir.esq, dir.dir);
+            }
+            return rotacaoSE(dado, esq, dir);
+        }
+        if (fb < -1) {
+            if (altura(esq.dir) > altura(esq.esq)) {
+                esq = rotacaoSE(esq.dado, esq.esq, esq.dir);
+            }
+            return rotacaoSD(dado, esq, dir);
+        }
+        return new No(dado, esq, dir);
+    }
+
+    //Rotação simples para a direita do nó (dado, esq, dir)
+    private static No rotacaoSD(Object dado, No esq, No dir) {
+        return new No(esq.dado, esq.esq, new No(dado, esq.dir, dir));
+    }
+
+    //Rotação simples para a esquerda do nó (dado, esq, dir)
+    private static No rotacaoSE(Object dado, No esq, No dir) {
+        return new No(dir.dado, new No(dado, esq, dir.esq), dir.dir);
+    }
+
+    //Visão imutável de uma versão da árvore. Pode ser usada por qualquer número de threads
+    public final class Snapshot {
+        private final No raiz;
+
+        private Snapshot(No raiz) {
+            this.raiz = raiz;
+        }
+
+        public int tamanho() {
+            return AVLPersistente.tamanho(raiz);
+        }
+
+        public boolean isEmpty() {
+            return raiz == null;
+        }
+
+        //Primeiro item igual ao procurado (pela ordem da árvore), ou null
+        @SuppressWarnings("unchecked")
+        public T busca(T dado) {
+            No no = raiz;
+            while (no != null) {
+                int c = compara(dado, no.dado);
+                if (c == 0) {
+                    return (T) no.dado;
+                }
+                no = c < 0 ? no.esq : no.dir;
+            }
+            return null;
+        }
+
+        //k-ésimo menor item (k a partir de 0), ou null fora dos limites
+        @SuppressWarnings("unchecked")
+        public T select(int k) {
+            No no = raiz;
+            while (no != null) {
+                int esquerda = AVLPersistente.tamanho(no.esq);
+                if (k < esquerda) {
+                    no = no.esq;
+                } else if (k == esquerda) {
+                    return (T) no.dado;
+                } else {
+                    k -= esquerda + 1;
+                    no = no.dir;
+                }
+            }
+            return null;
+        }
+
+        //Percorre os itens em ordem crescente
+        @SuppressWarnings("unchecked")
+        public void forEach(Consumer<? super T> acao) {
+            Deque<No> pilha = new ArrayDeque<>();
+            No no = raiz;
+            while (no != null || !pilha.isEmpty()) {
+                while (no != null) {
+                    pilha.push(no);
+                    no = no.esq;
+                }
+                no = pilha.pop();
+                acao.accept((T) no.dado);
+                no = no.dir;
+            }
+        }
+
+        //Itens x com lo <= x <= hi, em ordem, visitando só os nós no caminho: O(log n + k)
+        public Iterator<T> range(T lo, T hi) {
+            return new IteradorIntervalo(lo, hi);
+        }
+
+        private class IteradorIntervalo implements Iterator<T> {
+            private final Deque<No> pilha = new ArrayDeque<>();
+            private final T hi;
+
+            IteradorIntervalo(T lo, T hi) {
+                this.hi = hi;
+                empilhaDesde(raiz, lo);
+            }
+
+            //Empilha o caminho até o primeiro item >= lo, pulando subárvores menores que lo
+            private void empilhaDesde(No no, T lo) {
+                while (no != null) {
+                    if (lo != null && compara(no.dado, lo) < 0) {
+                        no = no.dir;
+                    } else {
+                        pilha.push(no);
+                        no = no.esq;
+                    }
+                }
+            }
+
+            public boolean hasNext() {
+                return !pilha.isEmpty() && (hi == null || compara(pilha.peek().dado, hi) <= 0);
+            }
+
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                No no = pilha.pop();
+                empilhaDesde(no.dir, null);
+                return (T) no.dado;
+            }
+        }
+    }
+}
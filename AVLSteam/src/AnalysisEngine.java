@@ -0,0 +1,181 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Executa várias análises em um único percurso dos registros.
+ *
+ * Cada análise é um Accumulator: recebe o total de registros em begin, cada
+ * registro em accept e exibe a resposta em report. O motor percorre a AVL em
+ * ordem (ou uma cópia ordenada da lista) uma vez só e entrega cada registro a
+ * todos os acumuladores, na ordem crescente de Game.COMPOSITE_ORDER (média,
+ * appid, mês). Para acrescentar uma pergunta basta registrar outro acumulador.
+ *
+ * runParallel divide a AVL em faixas de posições (AVL.spliterator) e percorre
+ * cada faixa em uma tarefa do pool, com acumuladores próprios (fork); no fim os
+ * resultados das faixas são juntados na ordem (join), então a resposta é a
+ * mesma do percurso sequencial.
+ */
+public class AnalysisEngine {
+
+    /** Uma análise calculada registro a registro */
+    public interface Accumulator {
+        /** Chamado antes do percurso, com o número de registros que serão visitados */
+        default void begin(int total) {
+        }
+
+        /** Registros chegam em ordem crescente de Game.COMPOSITE_ORDER */
+        void accept(Game game);
+
+        /** Exibe o resultado (chamado depois do percurso) */
+        void report();
+
+        /** Se o percurso pode ser dividido entre threads (fork e join implementados) */
+        default boolean splittable() {
+            return false;
+        }
+
+        /**
+         * Acumulador vazio, com a mesma configuração, para os registros a partir da
+         * posição first (percorridos em outra thread). Só é chamado se splittable()
+         */
+        default Accumulator fork(int first) {
+            throw new UnsupportedOperationException("acumulador só roda em sequência");
+        }
+
+        /** Junta a este o resultado do trecho seguinte, criado por fork */
+        default void join(Accumulator next) {
+        }
+    }
+
+    // Faixas menores que isso não são divididas
+    private static final int MIN_SPLIT = 8192;
+
+    private final List<Accumulator> accumulators = new ArrayList<>();
+
+    public AnalysisEngine add(Accumulator accumulator) {
+        accumulators.add(accumulator);
+        return this;
+    }
+
+    /**
+     * Percorre a AVL em ordem seguindo os ponteiros para o pai (sem pilha nem cópia)
+     * @return Número de registros visitados
+     */
+    public int run(AVL<Game> tree) {
+        int total = tree.tamanho();
+        Accumulator[] targets = begin(total);
+        int visited = 0;
+        for (NoAVL<Game> node = AVL.menor(tree.getRaiz()); node != null; node = AVL.sucessor(node)) {
+            Game game = node.getDado();
+            for (Accumulator accumulator : targets) {
+                accumulator.accept(game);
+            }
+            visited++;
+        }
+        return visited;
+    }
+
+    /**
+     * Percorre os registros da lista; a lista original não é alterada (uma cópia
+     * é ordenada quando ela não está em ordem)
+     * @return Número de registros visitados
+     */
+    public int run(List<Game> games) {
+        List<Game> sorted = games;
+        for (int i = 1; i < games.size(); i++) {
+            if (Game.COMPOSITE_ORDER.compare(games.get(i - 1), games.get(i)) > 0) {
+                sorted = new ArrayList<>(games);
+                sorted.sort(Game.COMPOSITE_ORDER);
+                break;
+            }
+        }
+        Accumulator[] targets = begin(sorted.size());
+        for (Game game : sorted) {
+            for (Accumulator accumulator : targets) {
+                accumulator.accept(game);
+            }
+        }
+        return sorted.size();
+    }
+
+    /**
+     * Como run(tree), dividindo o percurso entre as threads do pool. Se algum
+     * acumulador não puder ser dividido, o percurso é sequencial
+     * @return Número de registros visitados
+     */
+    public int runParallel(AVL<Game> tree, ForkJoinPool pool) {
+        int total = tree.tamanho();
+        Accumulator[] targets = begin(total);
+        for (Accumulator accumulator : targets) {
+            if (!accumulator.splittable()) {
+                return run(tree);
+            }
+        }
+        long limit = Math.max(MIN_SPLIT, total / (pool.getParallelism() * 4L));
+        Spliterator<Game> records = tree.spliterator();
+        pool.invoke(new Range(records, 0, targets, limit));
+        return total;
+    }
+
+    // Faixa [first, first + tamanho) da ordem: divide enquanto for grande; a primeira
+    // metade vai para outra tarefa com os acumuladores desta, a segunda fica com
+    // acumuladores novos (fork), juntados aos desta depois que as duas terminam
+    @SuppressWarnings("serial") // acumuladores e spliterator não são serializáveis; a tarefa não sai do pool
+    private static final class Range extends RecursiveAction {
+        private final Spliterator<Game> records;
+        private final int first;
+        private final Accumulator[] targets;
+        private final long limit;
+
+        Range(Spliterator<Game> records, int first, Accumulator[] targets, long limit) {
+            this.records = records;
+            this.first = first;
+            this.targets = targets;
+            this.limit = limit;
+        }
+
+        @Override
+        protected void compute() {
+            Spliterator<Game> prefix;
+            if (records.estimateSize() > limit && (prefix = records.trySplit()) != null) {
+                int second = first + (int) prefix.estimateSize(); // tamanhos exatos (SUBSIZED)
+                Accumulator[] rest = new Accumulator[targets.length];
+                for (int i = 0; i < targets.length; i++) {
+                    rest[i] = targets[i].fork(second);
+                }
+                Range left = new Range(prefix, first, targets, limit);
+                left.fork();
+                new Range(records, second, rest, limit).compute();
+                left.join();
+                for (int i = 0; i < targets.length; i++) {
+                    targets[i].join(rest[i]);
+                }
+                return;
+            }
+            records.forEachRemaining(game -> {
+                for (Accumulator accumulator : targets) {
+                    accumulator.accept(game);
+                }
+            });
+        }
+    }
+
+    /** Exibe o resultado de cada acumulador, na ordem em que foram registrados */
+    public void report() {
+        for (Accumulator accumulator : accumulators) {
+            accumulator.report();
+        }
+    }
+
+    // Vetor em vez da lista: o laço interno roda uma vez por registro e acumulador
+    private Accumulator[] begin(int total) {
+        Accumulator[] targets = accumulators.toArray(new Accumulator[0]);
+        for (Accumulator accumulator : targets) {
+            accumulator.begin(total);
+        }
+        return targets;
+    }
+}
@@ -1,477 +1,903 @@
-import java.util.*;
-
-/**
- * Sistema de Análise de Dados do Steam
- * Projeto: Ciência de Dados usando Árvores ABB e AVL
- * ODS 8: Trabalho Decente e Crescimento Econômico
- * 
- * Este sistema analisa dados de jogos do Steam para entender
- * o mercado de games como setor econômico importante
- */
-public class App {
-    
-    private static Scanner scanner = new Scanner(System.in);
-    private static List<Game> allGames = new ArrayList<>();
-    private static ABB<Game> abbTree = new ABB<>();
-    private static AVL avlTree = new AVL();
-    private static DataAnalyzer analyzer;
-    private static boolean treesBuilt = false;
-    
-    public static void main(String[] args) throws Exception {
-        System.out.println("╔══════════════════════════════════════════════════════╗");
-        System.out.println("║  SISTEMA DE ANÁLISE DE DADOS DO STEAM               ║");
-        System.out.println("║  Estruturas de Dados II - ABB e AVL                  ║");
-        System.out.println("║  ODS 8: Trabalho Decente e Crescimento Econômico    ║");
-        System.out.println("╚══════════════════════════════════════════════════════╝\n");
-        
-        // Carregar dados do CSV
-        loadData();
-        
-        if (allGames.isEmpty()) {
-            System.out.println("Erro: Não foi possível carregar os dados do CSV.");
-            System.out.println("Certifique-se que o arquivo steamcharts.csv está no diretório src/");
-            return;
-        }
-        
-        // Menu principal
-        boolean exit = false;
-        while (!exit) {
-            printMenu();
-            int option = readOption();
-            
-            switch (option) {
-                case 1:
-                    buildTrees();
-                    break;
-                case 2:
-                    insertData();
-                    break;
-                case 3:
-                    searchData();
-                    break;
-                case 4:
-                    removeData();
-                    break;
-                case 5:
-                    performAnalyses();
-                    break;
-                case 6:
-                    comparePerformance();
-                    break;
-                case 7:
-                    displayTreeData();
-                    break;
-                case 8:
-                    viewDatasetStats();
-                    break;
-                case 0:
-                    exit = true;
-                    System.out.println("\nEncerrando o sistema. Até logo!");
-                    break;
-                default:
-                    System.out.println("Opção inválida! Tente novamente.");
-            }
-        }
-        
-        scanner.close();
-    }
-    
-    private static void loadData() {
-        System.out.println("Carregando dados do arquivo steamcharts.csv...");
-        
-        // Tentar diferentes caminhos
-        String[] possiblePaths = {
-            "src/steamcharts.csv",
-            "steamcharts.csv",
-            "./src/steamcharts.csv",
-            "../src/steamcharts.csv"
-        };
-        
-        for (String path : possiblePaths) {
-            allGames = CSVReader.readGamesFromCSV(path);
-            if (!allGames.isEmpty()) {
-                System.out.println("Dados carregados com sucesso de: " + path);
-                analyzer = new DataAnalyzer(allGames);
-                return;
-            }
-        }
-        
-        System.out.println("Aviso: Arquivo CSV não encontrado. Usando dados de exemplo.");
-        // Criar alguns dados de exemplo caso o CSV não seja encontrado
-        createSampleData();
-    }
-    
-    private static void createSampleData() {
-        allGames.add(new Game("Sep-25", 7805.25, 883.12, 0.1276, 13254, "Counter-Strike", 10));
-        allGames.add(new Game("Aug-25", 6922.13, -449.35, -0.061, 12168, "Counter-Strike", 10));
-        allGames.add(new Game("Jul-25", 7371.48, -833.5, -0.1016, 13951, "Counter-Strike", 10));
-        allGames.add(new Game("Sep-25", 25000.0, 2000.0, 0.087, 45000, "Dota 2", 570));
-        allGames.add(new Game("Aug-25", 23000.0, -1500.0, -0.061, 42000, "Dota 2", 570));
-        allGames.add(new Game("Sep-25", 15000.0, 500.0, 0.034, 28000, "PUBG", 578080));
-        allGames.add(new Game("Aug-25", 14500.0, -200.0, -0.014, 27500, "PUBG", 578080));
-        allGames.add(new Game("Sep-25", 8500.0, 300.0, 0.037, 16000, "Team Fortress 2", 440));
-        allGames.add(new Game("Aug-25", 8200.0, -100.0, -0.012, 15800, "Team Fortress 2", 440));
-        allGames.add(new Game("Sep-25", 5000.0, 200.0, 0.042, 9500, "Rust", 252490));
-        
-        System.out.println("Dados de exemplo criados: " + allGames.size() + " registros");
-        analyzer = new DataAnalyzer(allGames);
-    }
-    
-    private static void printMenu() {
-        System.out.println("\n════════════════ MENU PRINCIPAL ════════════════");
-        System.out.println("1. Construir Árvores (ABB e AVL)");
-        System.out.println("2. Inserir Novos Dados");
-        System.out.println("3. Buscar Dados");
-        System.out.println("4. Remover Dados");
-        System.out.println("5. Realizar Análises Exploratórias (5 Perguntas)");
-        System.out.println("6. Comparar Desempenho ABB vs AVL");
-        System.out.println("7. Exibir Dados das Árvores");
-        System.out.println("8. Visualizar Estatísticas do Dataset");
-        System.out.println("0. Sair");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.print("Escolha uma opção: ");
-    }
-    
-    private static int readOption() {
-        try {
-            return scanner.nextInt();
-        } catch (InputMismatchException e) {
-            scanner.nextLine(); // Limpar buffer
-            return -1;
-        } finally {
-            scanner.nextLine(); // Limpar buffer
-        }
-    }
-    
-    private static void buildTrees() {
-        System.out.println("\n═══════════════════════════════════════════════");
-        System.out.println("CONSTRUINDO ÁRVORES COM OS DADOS");
-        System.out.println("═══════════════════════════════════════════════");
-        
-        // Reinicializar árvores
-        abbTree = new ABB<>();
-        avlTree = new AVL();
-        
-        System.out.println("Inserindo " + allGames.size() + " registros...\n");
-        
-        long startABB = System.nanoTime();
-        for (Game game : allGames) {
-            abbTree.inserir(game);
-        }
-        long endABB = System.nanoTime();
-        
-        long startAVL = System.nanoTime();
-        for (Game game : allGames) {
-            avlTree.insereAVL(game);
-        }
-        long endAVL = System.nanoTime();
-        
-        treesBuilt = true;
-        
-        System.out.println("✓ ABB construída com sucesso!");
-        System.out.printf("  Tempo de inserção: %.3f ms\n", (endABB - startABB) / 1_000_000.0);
-        
-        System.out.println("\n✓ AVL construída com sucesso!");
-        System.out.printf("  Tempo de inserção: %.3f ms\n", (endAVL - startAVL) / 1_000_000.0);
-        
-        System.out.println("\nÁrvores prontas para uso!");
-        
-        // Atualizar analyzer
-        analyzer.setABBTree(abbTree);
-        analyzer.setAVLTree(avlTree);
-    }
-    
-    private static void insertData() {
-        if (!treesBuilt) {
-            System.out.println("\nAviso: Construa as árvores primeiro (opção 1).");
-            return;
-        }
-        
-        System.out.println("\n═══════════════════════════════════════════════");
-        System.out.println("INSERIR NOVO JOGO");
-        System.out.println("═══════════════════════════════════════════════");
-        
-        try {
-            System.out.print("Nome do jogo: ");
-            String name = scanner.nextLine();
-            
-            System.out.print("Mês (ex: Sep-25): ");
-            String month = scanner.nextLine();
-            
-            System.out.print("Média de jogadores: ");
-            double avgPlayers = scanner.nextDouble();
-            
-            System.out.print("Ganho de jogadores: ");
-            double gain = scanner.nextDouble();
-            
-            System.out.print("Percentual de ganho: ");
-            double gainPercent = scanner.nextDouble();
-            
-            System.out.print("Pico de jogadores: ");
-            int peakPlayers = scanner.nextInt();
-            
-            System.out.print("Steam App ID: ");
-            int appId = scanner.nextInt();
-            scanner.nextLine(); // Limpar buffer
-            
-            Game newGame = new Game(month, avgPlayers, gain, gainPercent, peakPlayers, name, appId);
-            
-            // Inserir nas árvores
-            long startABB = System.nanoTime();
-            abbTree.inserir(newGame);
-            long endABB = System.nanoTime();
-            
-            long startAVL = System.nanoTime();
-            avlTree.insereAVL(newGame);
-            long endAVL = System.nanoTime();
-            
-            allGames.add(newGame);
-            
-            System.out.println("\n✓ Jogo inserido com sucesso!");
-            System.out.printf("  Tempo ABB: %.3f µs\n", (endABB - startABB) / 1000.0);
-            System.out.printf("  Tempo AVL: %.3f µs\n", (endAVL - startAVL) / 1000.0);
-            
-        } catch (InputMismatchException e) {
-            System.out.println("Erro: Entrada inválida!");
-            scanner.nextLine(); // Limpar buffer
-        }
-    }
-    
-    private static void searchData() {
-        System.out.println("\n═══════════════════════════════════════════════");
-        System.out.println("BUSCAR JOGOS");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("1. Buscar por nome");
-        System.out.println("2. Buscar por intervalo de média de jogadores");
-        System.out.print("Escolha: ");
-        
-        int option = readOption();
-        
-        switch (option) {
-            case 1:
-                System.out.print("Digite o nome (ou parte): ");
-                String name = scanner.nextLine();
-                List<Game> byName = analyzer.searchGamesByName(name);
-                displaySearchResults(byName);
-                break;
-                
-            case 2:
-                try {
-                    System.out.print("Média mínima: ");
-                    double min = scanner.nextDouble();
-                    System.out.print("Média máxima: ");
-                    double max = scanner.nextDouble();
-                    scanner.nextLine();
-                    
-                    List<Game> inRange = analyzer.searchGamesInRange(min, max);
-                    displaySearchResults(inRange);
-                } catch (InputMismatchException e) {
-                    System.out.println("Erro: Valores inválidos!");
-                    scanner.nextLine();
-                }
-                break;
-                
-            default:
-                System.out.println("Opção inválida!");
-        }
-    }
-    
-    private static void displaySearchResults(List<Game> results) {
-        System.out.println("\n─────────────────────────────────────────────");
-        System.out.println("RESULTADOS DA BUSCA: " + results.size() + " jogo(s) encontrado(s)");
-        System.out.println("─────────────────────────────────────────────");
-        
-        if (results.isEmpty()) {
-            System.out.println("Nenhum jogo encontrado.");
-        } else {
-            for (int i = 0; i < Math.min(20, results.size()); i++) {
-                Game g = results.get(i);
-                System.out.printf("%d. %s\n", i+1, g);
-            }
-            
-            if (results.size() > 20) {
-                System.out.println("\n... e mais " + (results.size() - 20) + " resultados.");
-            }
-        }
-    }
-    
-    private static void removeData() {
-        if (!treesBuilt) {
-            System.out.println("\nAviso: Construa as árvores primeiro (opção 1).");
-            return;
-        }
-        
-        System.out.println("\n═══════════════════════════════════════════════");
-        System.out.println("REMOVER JOGO");
-        System.out.println("═══════════════════════════════════════════════");
-        
-        System.out.print("Digite o nome do jogo a remover: ");
-        String gameName = scanner.nextLine().trim();
-        
-        if (gameName.isEmpty()) {
-            System.out.println("Nome inválido!");
-            return;
-        }
-        
-        // Buscar jogos com esse nome (pode haver múltiplos registros)
-        List<Game> matchingGames = new ArrayList<>();
-        for (Game g : allGames) {
-            if (g.getName().equalsIgnoreCase(gameName)) {
-                matchingGames.add(g);
-            }
-        }
-        
-        if (matchingGames.isEmpty()) {
-            System.out.println("Jogo não encontrado com esse nome!");
-            System.out.println("Dica: Use a opção 3 do menu para buscar jogos disponíveis.");
-            return;
-        }
-        
-        // Se houver múltiplos registros, mostrar lista e pedir seleção
-        Game toRemove = null;
-        if (matchingGames.size() == 1) {
-            toRemove = matchingGames.get(0);
-            System.out.println("\nJogo encontrado: " + toRemove);
-        } else {
-            System.out.println("\nEncontrados " + matchingGames.size() + " registros para este jogo:");
-            for (int i = 0; i < matchingGames.size(); i++) {
-                System.out.printf("%d. %s\n", i+1, matchingGames.get(i));
-            }
-            System.out.print("\nEscolha o número do registro a remover (1-" + matchingGames.size() + "): ");
-            
-            try {
-                int choice = scanner.nextInt();
-                scanner.nextLine(); // Limpar buffer
-                
-                if (choice < 1 || choice > matchingGames.size()) {
-                    System.out.println("Opção inválida!");
-                    return;
-                }
-                
-                toRemove = matchingGames.get(choice - 1);
-            } catch (InputMismatchException e) {
-                System.out.println("Entrada inválida!");
-                scanner.nextLine();
-                return;
-            }
-        }
-        
-        System.out.print("Confirma remoção? (S/N): ");
-        String confirm = scanner.nextLine();
-        
-        if (confirm.equalsIgnoreCase("S")) {
-            long startABB = System.nanoTime();
-            boolean removedABB = abbTree.eliminar(toRemove);
-            long endABB = System.nanoTime();
-            
-            long startAVL = System.nanoTime();
-            boolean removedAVL = avlTree.removeAVL(toRemove);
-            long endAVL = System.nanoTime();
-            
-            if (removedABB && removedAVL) {
-                allGames.remove(toRemove);
-                System.out.println("\n✓ Jogo removido com sucesso!");
-                System.out.printf("  Tempo ABB: %.3f µs\n", (endABB - startABB) / 1000.0);
-                System.out.printf("  Tempo AVL: %.3f µs\n", (endAVL - startAVL) / 1000.0);
-            } else {
-                System.out.println("Erro ao remover jogo!");
-            }
-        } else {
-            System.out.println("Remoção cancelada.");
-        }
-    }
-    
-    private static void performAnalyses() {
-        System.out.println("\nIniciando análises exploratórias...\n");
-        analyzer.performAllAnalyses();
-        
-        System.out.println("\nPressione ENTER para continuar...");
-        scanner.nextLine();
-    }
-    
-    private static void comparePerformance() {
-        if (!treesBuilt) {
-            System.out.println("\nAviso: Construa as árvores primeiro (opção 1).");
-            return;
-        }
-        
-        System.out.println("\n═══════════════════════════════════════════════");
-        System.out.println("COMPARAÇÃO DE DESEMPENHO: ABB vs AVL");
-        System.out.println("═══════════════════════════════════════════════\n");
-        
-        // Teste de inserção
-        System.out.println("Teste 1: INSERÇÃO");
-        PerformanceAnalysis.Metrics abbInsert = PerformanceAnalysis.analyzeABBInsertion(allGames);
-        PerformanceAnalysis.Metrics avlInsert = PerformanceAnalysis.analyzeAVLInsertion(allGames);
-        PerformanceAnalysis.comparePerformance(abbInsert, avlInsert, "INSERÇÃO");
-        
-        // Teste de busca
-        System.out.println("\nTeste 2: BUSCA");
-        List<Game> searchSample = allGames.subList(0, Math.min(100, allGames.size()));
-        PerformanceAnalysis.Metrics abbSearch = PerformanceAnalysis.analyzeABBSearch(abbTree, searchSample);
-        PerformanceAnalysis.Metrics avlSearch = PerformanceAnalysis.analyzeAVLSearch(avlTree, searchSample);
-        PerformanceAnalysis.comparePerformance(abbSearch, avlSearch, "BUSCA");
-        
-        System.out.println("\n═══════════════════════════════════════════════");
-        System.out.println("CONCLUSÃO:");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("A AVL mantém balanceamento garantindo O(log n)");
-        System.out.println("para todas as operações, enquanto a ABB pode");
-        System.out.println("degenerar para O(n) no pior caso.");
-        System.out.println("═══════════════════════════════════════════════\n");
-        
-        System.out.println("Pressione ENTER para continuar...");
-        scanner.nextLine();
-    }
-    
-    private static void displayTreeData() {
-        if (!treesBuilt) {
-            System.out.println("\nAviso: Construa as árvores primeiro (opção 1).");
-            return;
-        }
-        
-        System.out.println("\n═══════════════════════════════════════════════");
-        System.out.println("VISUALIZAÇÃO DAS ÁRVORES");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("1. Exibir ABB (em ordem)");
-        System.out.println("2. Exibir AVL (em ordem)");
-        System.out.println("3. Exibir ABB (em nível)");
-        System.out.println("4. Exibir AVL (em nível)");
-        System.out.print("Escolha: ");
-        
-        int option = readOption();
-        
-        System.out.println("\n─────────────────────────────────────────────");
-        switch (option) {
-            case 1:
-                System.out.println("ABB - Percurso Em Ordem:");
-                abbTree.emOrdem();
-                System.out.println();
-                break;
-            case 2:
-                System.out.println("AVL - Percurso Em Ordem:");
-                System.out.println(avlTree.emOrdemString());
-                break;
-            case 3:
-                System.out.println("ABB - Percurso Em Nível:");
-                abbTree.emNivel();
-                System.out.println();
-                break;
-            case 4:
-                System.out.println("AVL - Percurso Em Nível:");
-                System.out.println(avlTree.emNivelString());
-                break;
-            default:
-                System.out.println("Opção inválida!");
-        }
-        System.out.println("─────────────────────────────────────────────");
-    }
-    
-    private static void viewDatasetStats() {
-        System.out.println();
-        CSVReader.displayDatasetStats(allGames);
-        
-        System.out.println("Pressione ENTER para continuar...");
-        scanner.nextLine();
-    }
-}
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Sistema de Análise de Dados do Steam
+ * Projeto: Ciência de Dados usando Árvores ABB e AVL
+ * ODS 8: Trabalho Decente e Crescimento Econômico
+ * 
+ * Este sistema analisa dados de jogos do Steam para entender
+ * o mercado de games como setor econômico importante
+ */
+public class App {
+    
+    private static Scanner scanner = new Scanner(System.in);
+    private static List<Game> allGames = new ArrayList<>();
+    private static ABB<Game> abbTree = new ABB<>(Game.COMPOSITE_ORDER);
+    private static AVL<Game> avlTree = new AVLAgregada();
+    // Posição de cada registro em allGames (por identidade), para remover da lista em O(1)
+    private static Map<Game, Integer> positions = new IdentityHashMap<>();
+    // Índices por nome, appid e mês, atualizados junto com as árvores
+    private static GameIndex index = new GameIndex();
+    // Agregados das 5 perguntas, atualizados junto com os índices
+    private static LiveAnalytics analytics = new LiveAnalytics();
+    // Resumo aproximado das médias (poucos KB), para a distribuição de mercado em escala
+    private static QuantileSketch marketSketch = new QuantileSketch();
+    // A partir deste tamanho a ordenação e a construção das árvores usam todos os núcleos
+    private static final int PARALLEL_BUILD_THRESHOLD = 100_000;
+    private static DataAnalyzer analyzer;
+    // CSV de onde os dados vieram e quantos bytes dele foram carregados (modo de acompanhamento)
+    private static String dataPath;
+    private static long dataSize;
+    private static CSVFollower follower;
+    // Registros aceitos e linhas recusadas na leitura do CSV (exibidos nas estatísticas)
+    private static ParseStats loadStats = new ParseStats();
+    // Log das inserções/remoções do menu, reaplicado na próxima execução
+    private static MutationLog mutationLog;
+    private static final int CHECKPOINT_EVERY = 1_000;
+    private static long lastCheckpointSize = 0; // entradas no log logo após o último checkpoint
+    private static boolean treesBuilt = false;
+    
+    // Reinício com a árvore salva (.avl) válida: a carga roda nesta thread enquanto
+    // as buscas da opção 3 são atendidas pelo arquivo mapeado (mappedAnalyzer)
+    private static Thread loader;
+    private static DataAnalyzer mappedAnalyzer;
+    
+    public static void main(String[] args) throws Exception {
+        System.out.println("╔══════════════════════════════════════════════════════╗");
+        System.out.println("║  SISTEMA DE ANÁLISE DE DADOS DO STEAM               ║");
+        System.out.println("║  Estruturas de Dados II - ABB e AVL                  ║");
+        System.out.println("║  ODS 8: Trabalho Decente e Crescimento Econômico    ║");
+        System.out.println("╚══════════════════════════════════════════════════════╝\n");
+        
+        // Carregar dados do CSV
+        loadData();
+        
+        if (loader == null && allGames.isEmpty()) {
+            System.out.println("Erro: Não foi possível carregar os dados do CSV.");
+            System.out.println("Certifique-se que o arquivo steamcharts.csv está no diretório src/");
+            return;
+        }
+        
+        // Menu principal
+        boolean exit = false;
+        while (!exit) {
+            printMenu();
+            int option = readOption();
+            if (option != 3) {
+                awaitLoad(); // as demais opções usam as árvores em memória
+            }
+            applyAppendedRows(); // linhas que chegaram enquanto o menu esperava
+            
+            switch (option) {
+                case 1:
+                    buildTrees();
+                    break;
+                case 2:
+                    insertData();
+                    break;
+                case 3:
+                    searchData();
+                    break;
+                case 4:
+                    removeData();
+                    break;
+                case 5:
+                    performAnalyses();
+                    break;
+                case 6:
+                    comparePerformance();
+                    break;
+                case 7:
+                    displayTreeData();
+                    break;
+                case 8:
+                    viewDatasetStats();
+                    break;
+                case 9:
+                    toggleFollow();
+                    break;
+                case 0:
+                    exit = true;
+                    closeMutationLog();
+                    System.out.println("\nEncerrando o sistema. Até logo!");
+                    break;
+                default:
+                    System.out.println("Opção inválida! Tente novamente.");
+            }
+        }
+        
+        scanner.close();
+    }
+    
+    private static void loadData() {
+        System.out.println("Carregando dados do arquivo steamcharts.csv...");
+        
+        // Tentar diferentes caminhos
+        String[] possiblePaths = {
+            "src/steamcharts.csv",
+            "steamcharts.csv",
+            "./src/steamcharts.csv",
+            "../src/steamcharts.csv"
+        };
+        
+        for (String path : possiblePaths) {
+            if (!new File(path).isFile()) {
+                continue;
+            }
+            // Árvore salva de uma execução anterior (mesmo CSV): as buscas já saem dela
+            // enquanto as árvores em memória são montadas em segundo plano
+            AVLMapeada saved = AVLMapeada.abre(treePath(path), path, Game.COMPOSITE_ORDER);
+            if (saved != null && !saved.isEmpty()) {
+                mappedAnalyzer = new DataAnalyzer(Collections.emptyList());
+                mappedAnalyzer.setMappedTree(saved);
+                System.out.printf("Árvore salva %s aberta: %d registros (buscas da opção 3 já disponíveis)\n",
+                                treePath(path), saved.tamanho());
+                loader = new Thread(() -> load(path, false), "carga");
+                loader.start();
+                return;
+            }
+            if (load(path, true)) {
+                return;
+            }
+        }
+        
+        System.out.println("Aviso: Arquivo CSV não encontrado. Usando dados de exemplo.");
+        // Criar alguns dados de exemplo caso o CSV não seja encontrado
+        createSampleData();
+    }
+    
+    private static Path treePath(String csvPath) {
+        return Paths.get(csvPath + ".avl");
+    }
+    
+    // Carrega o CSV (pelo cache binário, se válido) e monta as árvores; com saveTree,
+    // grava a AVL recém-montada para o próximo início
+    private static boolean load(String path, boolean saveTree) {
+        // Cache binário válido (CSV inalterado): carrega as colunas e monta as árvores.
+        // size = bytes do CSV já carregados; o acompanhamento lê o que vier depois deles
+        long size;
+        long start = System.nanoTime();
+        List<Game> cached = SnapshotCache.load(path, loadStats);
+        if (cached != null && !cached.isEmpty()) {
+            size = SnapshotCache.csvSize(path);
+            allGames = cached;
+            analyzer = new DataAnalyzer(allGames);
+            System.out.printf("Dados carregados do cache %s: %d registros em %.1f ms\n",
+                            SnapshotCache.snapshotPath(path), allGames.size(), (System.nanoTime() - start) / 1e6);
+            buildTrees();
+        } else if ((size = ingest(path)) >= 0) {
+            System.out.println("Dados carregados com sucesso de: " + path);
+            SnapshotCache.write(path, allGames, loadStats, size);
+        } else {
+            return false;
+        }
+        // Antes do log: o arquivo guarda a árvore do CSV, validada pelo tamanho e data dele
+        if (saveTree && AVLMapeada.grava(avlTree, treePath(path), path)) {
+            System.out.println("Árvore salva em " + treePath(path));
+        }
+        dataPath = path;
+        dataSize = size;
+        openMutationLog();
+        return true;
+    }
+    
+    // Espera a carga em segundo plano, se houver (depois do join, as árvores e listas
+    // montadas pela thread de carga são visíveis aqui)
+    private static void awaitLoad() {
+        if (loader == null) {
+            return;
+        }
+        if (loader.isAlive()) {
+            System.out.println("\nAguardando o fim da carga dos dados...");
+        }
+        try {
+            loader.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        loader = null;
+        mappedAnalyzer = null;
+        if (allGames.isEmpty()) {
+            System.out.println("Aviso: Não foi possível carregar o CSV. Usando dados de exemplo.");
+            createSampleData();
+        }
+    }
+    
+    // Lê o CSV em fluxo: enquanto o arquivo é lido, cada lote de registros já é
+    // inserido na ABB, na AVL, na lista, nos índices e nos agregados das perguntas
+    // (cada um em sua thread, com sua fila). Ao terminar, tudo está pronto para
+    // consultas, sem a construção separada da opção 1.
+    // Retorna os bytes do CSV consumidos, ou -1 se nada foi carregado
+    private static long ingest(String path) {
+        abbTree = new ABB<>(Game.COMPOSITE_ORDER);
+        avlTree = new AVLAgregada();
+        index = new GameIndex();
+        analytics = new LiveAnalytics();
+        marketSketch = new QuantileSketch();
+        allGames = new ArrayList<>();
+        positions.clear();
+        
+        IngestPipeline pipeline = new IngestPipeline(4096, 16)
+            .addStage("ABB", abbTree::inserir)
+            .addStage("AVL", avlTree::insereAVL)
+            .addStage("lista", game -> {
+                addToList(game);
+                marketSketch.update(game.getAvgPlayers());
+            })
+            .addStage("índices", index::add)
+            .addStage("agregados", analytics::add);
+        long consumed = pipeline.run(path, 500);
+        loadStats = pipeline.getParseStats();
+        if (consumed < 0 || loadStats.getAccepted() == 0) {
+            allGames = new ArrayList<>();
+            positions.clear();
+            return -1;
+        }
+        
+        analyzer = new DataAnalyzer(allGames);
+        analyzer.setABBTree(abbTree);
+        analyzer.setAVLTree(avlTree);
+        analyzer.setIndex(index);
+        analyzer.setLiveAnalytics(analytics);
+        analyzer.setMarketSketch(marketSketch);
+        treesBuilt = true;
+        return consumed;
+    }
+    
+    private static void createSampleData() {
+        allGames.add(new Game("Sep-25", 7805.25, 883.12, 0.1276, 13254, "Counter-Strike", 10));
+        allGames.add(new Game("Aug-25", 6922.13, -449.35, -0.061, 12168, "Counter-Strike", 10));
+        allGames.add(new Game("Jul-25", 7371.48, -833.5, -0.1016, 13951, "Counter-Strike", 10));
+        allGames.add(new Game("Sep-25", 25000.0, 2000.0, 0.087, 45000, "Dota 2", 570));
+        allGames.add(new Game("Aug-25", 23000.0, -1500.0, -0.061, 42000, "Dota 2", 570));
+        allGames.add(new Game("Sep-25", 15000.0, 500.0, 0.034, 28000, "PUBG", 578080));
+        allGames.add(new Game("Aug-25", 14500.0, -200.0, -0.014, 27500, "PUBG", 578080));
+        allGames.add(new Game("Sep-25", 8500.0, 300.0, 0.037, 16000, "Team Fortress 2", 440));
+        allGames.add(new Game("Aug-25", 8200.0, -100.0, -0.012, 15800, "Team Fortress 2", 440));
+        allGames.add(new Game("Sep-25", 5000.0, 200.0, 0.042, 9500, "Rust", 252490));
+        
+        System.out.println("Dados de exemplo criados: " + allGames.size() + " registros");
+        analyzer = new DataAnalyzer(allGames);
+    }
+    
+    private static void printMenu() {
+        System.out.println("\n════════════════ MENU PRINCIPAL ════════════════");
+        System.out.println("1. Construir Árvores (ABB e AVL)");
+        System.out.println("2. Inserir Novos Dados");
+        System.out.println("3. Buscar Dados");
+        System.out.println("4. Remover Dados");
+        System.out.println("5. Realizar Análises Exploratórias (5 Perguntas)");
+        System.out.println("6. Comparar Desempenho ABB vs AVL");
+        System.out.println("7. Exibir Dados das Árvores");
+        System.out.println("8. Visualizar Estatísticas do Dataset");
+        System.out.println("9. Acompanhar Novas Linhas do CSV (liga/desliga)");
+        System.out.println("0. Sair");
+        System.out.println("═══════════════════════════════════════════════");
+        System.out.print("Escolha uma opção: ");
+    }
+    
+    private static int readOption() {
+        try {
+            return scanner.nextInt();
+        } catch (InputMismatchException e) {
+            scanner.nextLine(); // Limpar buffer
+            return -1;
+        } finally {
+            scanner.nextLine(); // Limpar buffer
+        }
+    }
+    
+    private static void buildTrees() {
+        System.out.println("\n═══════════════════════════════════════════════");
+        System.out.println("CONSTRUINDO ÁRVORES COM OS DADOS");
+        System.out.println("═══════════════════════════════════════════════");
+        
+        // Reinicializar árvores
+        // Ambas ordenadas por (média, appid, mês): cada registro tem uma chave única
+        abbTree = new ABB<>(Game.COMPOSITE_ORDER);
+        avlTree = new AVLAgregada(); // AVL com agregados por subárvore para as análises
+        indexPositions();
+        index = new GameIndex(allGames);
+        analytics = new LiveAnalytics(allGames);
+        marketSketch = new QuantileSketch();
+        for (Game game : allGames) {
+            marketSketch.update(game.getAvgPlayers());
+        }
+        
+        System.out.println("Carregando " + allGames.size() + " registros...\n");
+        
+        // Ordena uma vez e monta as duas árvores já balanceadas em O(n) (bulkLoad),
+        // em vez de inserir registro a registro. Com muitos registros, a ordenação e
+        // as subárvores são feitas em paralelo (fork/join)
+        boolean parallel = allGames.size() >= PARALLEL_BUILD_THRESHOLD;
+        if (parallel) {
+            System.out.println("Modo paralelo: " + Runtime.getRuntime().availableProcessors() + " núcleo(s)\n");
+        }
+        
+        long startSort = System.nanoTime();
+        Game[] sortedArray = allGames.toArray(new Game[0]);
+        if (parallel) {
+            Arrays.parallelSort(sortedArray, Game.COMPOSITE_ORDER);
+        } else {
+            Arrays.sort(sortedArray, Game.COMPOSITE_ORDER);
+        }
+        List<Game> sorted = Arrays.asList(sortedArray);
+        long endSort = System.nanoTime();
+        
+        long startABB = System.nanoTime();
+        if (parallel) {
+            abbTree.bulkLoadParalelo(sorted);
+        } else {
+            abbTree.bulkLoad(sorted);
+        }
+        long endABB = System.nanoTime();
+        
+        long startAVL = System.nanoTime();
+        if (parallel) {
+            avlTree.bulkLoadParalelo(sorted);
+        } else {
+            avlTree.bulkLoad(sorted);
+        }
+        long endAVL = System.nanoTime();
+        
+        treesBuilt = true;
+        
+        System.out.printf("Ordenação dos registros: %.3f ms\n\n", (endSort - startSort) / 1_000_000.0);
+        
+        System.out.println("✓ ABB construída com sucesso!");
+        System.out.printf("  Tempo de construção: %.3f ms\n", (endABB - startABB) / 1_000_000.0);
+        
+        System.out.println("\n✓ AVL construída com sucesso!");
+        System.out.printf("  Tempo de construção: %.3f ms\n", (endAVL - startAVL) / 1_000_000.0);
+        
+        System.out.println("\nÁrvores prontas para uso!");
+        
+        // Atualizar analyzer
+        analyzer.setABBTree(abbTree);
+        analyzer.setAVLTree(avlTree);
+        analyzer.setIndex(index);
+        analyzer.setLiveAnalytics(analytics);
+        analyzer.setMarketSketch(marketSketch);
+    }
+    
+    private static void insertData() {
+        if (!treesBuilt) {
+            System.out.println("\nAviso: Construa as árvores primeiro (opção 1).");
+            return;
+        }
+        
+        System.out.println("\n═══════════════════════════════════════════════");
+        System.out.println("INSERIR NOVO JOGO");
+        System.out.println("═══════════════════════════════════════════════");
+        
+        try {
+            System.out.print("Nome do jogo: ");
+            String name = scanner.nextLine();
+            
+            System.out.print("Mês (ex: Sep-25): ");
+            String month = scanner.nextLine();
+            
+            System.out.print("Média de jogadores: ");
+            double avgPlayers = scanner.nextDouble();
+            
+            System.out.print("Ganho de jogadores: ");
+            double gain = scanner.nextDouble();
+            
+            System.out.print("Percentual de ganho: ");
+            double gainPercent = scanner.nextDouble();
+            
+            System.out.print("Pico de jogadores: ");
+            int peakPlayers = scanner.nextInt();
+            
+            System.out.print("Steam App ID: ");
+            int appId = scanner.nextInt();
+            scanner.nextLine(); // Limpar buffer
+            
+            Game newGame = new Game(month, avgPlayers, gain, gainPercent, peakPlayers, name, appId);
+            
+            // A chave das árvores (média, appid, mês) identifica o registro na busca e na
+            // remoção: um segundo registro com a mesma chave não é aceito
+            if (avlTree.searchAVL(newGame) != null) {
+                System.out.println("Erro: já existe um registro com essa média, appid e mês!");
+                return;
+            }
+            
+            // Inserir nas árvores
+            long startABB = System.nanoTime();
+            abbTree.inserir(newGame);
+            long endABB = System.nanoTime();
+            
+            long startAVL = System.nanoTime();
+            avlTree.insereAVL(newGame);
+            long endAVL = System.nanoTime();
+            
+            addToList(newGame);
+            index.add(newGame);
+            analytics.add(newGame);
+            marketSketch.update(newGame.getAvgPlayers());
+            logInsert(newGame);
+            
+            System.out.println("\n✓ Jogo inserido com sucesso!");
+            System.out.printf("  Tempo ABB: %.3f µs\n", (endABB - startABB) / 1000.0);
+            System.out.printf("  Tempo AVL: %.3f µs\n", (endAVL - startAVL) / 1000.0);
+            
+        } catch (InputMismatchException e) {
+            System.out.println("Erro: Entrada inválida!");
+            scanner.nextLine(); // Limpar buffer
+        }
+    }
+    
+    // Liga/desliga a leitura das linhas acrescentadas ao CSV depois da carga
+    private static void toggleFollow() {
+        if (dataPath == null) {
+            System.out.println("\nAviso: Os dados não foram carregados de um arquivo CSV.");
+            return;
+        }
+        if (follower != null && follower.isRunning()) {
+            follower.stop();
+            System.out.println("\n✓ Acompanhamento do CSV desligado (byte " + follower.getOffset() + ")");
+            return;
+        }
+        if (follower == null) {
+            follower = new CSVFollower(dataPath, dataSize, 1000);
+        }
+        follower.start();
+        System.out.println("\n✓ Acompanhando novas linhas de " + dataPath + " a partir do byte " + follower.getOffset());
+    }
+    
+    // Aplica as linhas novas lidas pelo acompanhamento: custa proporcional às linhas novas
+    private static void applyAppendedRows() {
+        if (follower == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        int applied = follower.drain(App::insertRecord);
+        if (applied > 0) {
+            System.out.printf("\n%d novo(s) registro(s) do CSV aplicado(s) em %.3f ms\n",
+                            applied, (System.nanoTime() - start) / 1e6);
+        }
+    }
+    
+    // Insere um registro vindo do CSV acompanhado ou do log de alterações
+    // Registro com chave já presente nas árvores (linha repetida no CSV) é ignorado, como em insertData
+    private static void insertRecord(Game game) {
+        if (treesBuilt) {
+            if (avlTree.searchAVL(game) != null) {
+                return;
+            }
+            abbTree.inserir(game);
+            avlTree.insereAVL(game);
+        }
+        addToList(game);
+        index.add(game);
+        analytics.add(game);
+        marketSketch.update(game.getAvgPlayers());
+    }
+    
+    // Remove o registro com exatamente esses campos (reaplicação do log); ignora se não existir
+    private static void removeRecord(Game game) {
+        for (Game candidate : index.getByAppid(game.getSteamAppid())) {
+            if (sameRecord(candidate, game)) {
+                if (treesBuilt) {
+                    if (abbTree.buscar(candidate) == null || avlTree.searchAVL(candidate) == null) {
+                        return; // fora de uma das árvores: nada é alterado
+                    }
+                    abbTree.eliminar(candidate);
+                    avlTree.removeAVL(candidate);
+                }
+                removeFromList(candidate);
+                index.remove(candidate);
+                analytics.remove(candidate);
+                marketSketch.remove(candidate.getAvgPlayers());
+                return;
+            }
+        }
+    }
+    
+    private static boolean sameRecord(Game a, Game b) {
+        return a.getMonthKey() == b.getMonthKey() && Objects.equals(a.getMonth(), b.getMonth())
+            && Double.compare(a.getAvgPlayers(), b.getAvgPlayers()) == 0
+            && Double.compare(a.getGain(), b.getGain()) == 0
+            && Double.compare(a.getGainPercent(), b.getGainPercent()) == 0
+            && a.getPeakPlayers() == b.getPeakPlayers()
+            && Objects.equals(a.getName(), b.getName());
+    }
+    
+    // Abre o log de alterações do CSV carregado e reaplica o que foi feito nas execuções anteriores
+    private static void openMutationLog() {
+        try {
+            mutationLog = new MutationLog(MutationLog.logPath(dataPath), 64, 200);
+            long start = System.nanoTime();
+            long replayed = mutationLog.replay(new MutationLog.Handler() {
+                public void insert(Game game) {
+                    insertRecord(game);
+                }
+                
+                public void remove(Game game) {
+                    removeRecord(game);
+                }
+            });
+            lastCheckpointSize = replayed; // o próximo checkpoint conta a partir do log reaplicado
+            if (replayed > 0) {
+                System.out.printf("%d alteração(ões) anteriores reaplicadas em %.1f ms\n",
+                                replayed, (System.nanoTime() - start) / 1e6);
+            }
+        } catch (IOException e) {
+            System.err.println("Aviso: alterações não serão salvas (" + e.getMessage() + ")");
+            mutationLog = null;
+        }
+    }
+    
+    private static void logInsert(Game game) {
+        if (mutationLog != null) {
+            mutationLog.logInsert(game);
+            checkpointIfNeeded();
+        }
+    }
+    
+    private static void logRemove(Game game) {
+        if (mutationLog != null) {
+            mutationLog.logRemove(game);
+            checkpointIfNeeded();
+        }
+    }
+    
+    // Mantém o tempo de reaplicação limitado: compacta o log a cada CHECKPOINT_EVERY entradas novas
+    private static void checkpointIfNeeded() {
+        if (mutationLog.size() - lastCheckpointSize >= CHECKPOINT_EVERY) {
+            try {
+                lastCheckpointSize = mutationLog.checkpoint();
+            } catch (IOException e) {
+                System.err.println("Aviso: checkpoint do log falhou (" + e.getMessage() + ")");
+            }
+        }
+    }
+    
+    private static void closeMutationLog() {
+        if (mutationLog == null) {
+            return;
+        }
+        try {
+            mutationLog.checkpoint();
+            mutationLog.close();
+        } catch (IOException e) {
+            System.err.println("Aviso: erro ao fechar o log de alterações (" + e.getMessage() + ")");
+        }
+        mutationLog = null;
+    }
+    
+    private static void searchData() {
+        System.out.println("\n═══════════════════════════════════════════════");
+        System.out.println("BUSCAR JOGOS");
+        System.out.println("═══════════════════════════════════════════════");
+        System.out.println("1. Buscar por nome");
+        System.out.println("2. Buscar por intervalo de média de jogadores");
+        System.out.print("Escolha: ");
+        
+        int option = readOption();
+        
+        switch (option) {
+            case 1:
+                System.out.print("Digite o nome (ou parte): ");
+                String name = scanner.nextLine();
+                List<Game> byName = searchAnalyzer().searchGamesByName(name);
+                displaySearchResults(byName);
+                break;
+                
+            case 2:
+                try {
+                    System.out.print("Média mínima: ");
+                    double min = scanner.nextDouble();
+                    System.out.print("Média máxima: ");
+                    double max = scanner.nextDouble();
+                    scanner.nextLine();
+                    
+                    DataAnalyzer searcher = searchAnalyzer();
+                    List<Game> inRange = searcher.searchGamesInRange(min, max);
+                    displaySearchResults(inRange);
+                    searcher.printRangeSummary(min, max);
+                } catch (InputMismatchException e) {
+                    System.out.println("Erro: Valores inválidos!");
+                    scanner.nextLine();
+                }
+                break;
+                
+            default:
+                System.out.println("Opção inválida!");
+        }
+    }
+    
+    // Com a carga ainda em andamento, as buscas vêm da árvore salva (o conteúdo do CSV,
+    // sem as alterações do log, que só entram ao fim da carga)
+    private static DataAnalyzer searchAnalyzer() {
+        if (loader != null && loader.isAlive()) {
+            System.out.println("(carga em andamento: resultados da árvore salva)");
+            return mappedAnalyzer;
+        }
+        awaitLoad();
+        return analyzer;
+    }
+    
+    private static void displaySearchResults(List<Game> results) {
+        System.out.println("\n─────────────────────────────────────────────");
+        System.out.println("RESULTADOS DA BUSCA: " + results.size() + " jogo(s) encontrado(s)");
+        System.out.println("─────────────────────────────────────────────");
+        
+        if (results.isEmpty()) {
+            System.out.println("Nenhum jogo encontrado.");
+        } else {
+            for (int i = 0; i < Math.min(20, results.size()); i++) {
+                Game g = results.get(i);
+                System.out.printf("%d. %s\n", i+1, g);
+            }
+            
+            if (results.size() > 20) {
+                System.out.println("\n... e mais " + (results.size() - 20) + " resultados.");
+            }
+        }
+    }
+    
+    private static void removeData() {
+        if (!treesBuilt) {
+            System.out.println("\nAviso: Construa as árvores primeiro (opção 1).");
+            return;
+        }
+        
+        System.out.println("\n═══════════════════════════════════════════════");
+        System.out.println("REMOVER JOGO");
+        System.out.println("═══════════════════════════════════════════════");
+        
+        System.out.print("Digite o nome do jogo a remover: ");
+        String gameName = scanner.nextLine().trim();
+        
+        if (gameName.isEmpty()) {
+            System.out.println("Nome inválido!");
+            return;
+        }
+        
+        // Buscar jogos com esse nome no índice (pode haver múltiplos registros)
+        List<Game> matchingGames = new ArrayList<>(index.getByName(gameName));
+        
+        if (matchingGames.isEmpty()) {
+            System.out.println("Jogo não encontrado com esse nome!");
+            System.out.println("Dica: Use a opção 3 do menu para buscar jogos disponíveis.");
+            return;
+        }
+        
+        // Se houver múltiplos registros, mostrar lista e pedir seleção
+        Game toRemove = null;
+        if (matchingGames.size() == 1) {
+            toRemove = matchingGames.get(0);
+            System.out.println("\nJogo encontrado: " + toRemove);
+        } else {
+            System.out.println("\nEncontrados " + matchingGames.size() + " registros para este jogo:");
+            for (int i = 0; i < matchingGames.size(); i++) {
+                System.out.printf("%d. %s\n", i+1, matchingGames.get(i));
+            }
+            System.out.print("\nEscolha o número do registro a remover (1-" + matchingGames.size() + "): ");
+            
+            try {
+                int choice = scanner.nextInt();
+                scanner.nextLine(); // Limpar buffer
+                
+                if (choice < 1 || choice > matchingGames.size()) {
+                    System.out.println("Opção inválida!");
+                    return;
+                }
+                
+                toRemove = matchingGames.get(choice - 1);
+            } catch (InputMismatchException e) {
+                System.out.println("Entrada inválida!");
+                scanner.nextLine();
+                return;
+            }
+        }
+        
+        System.out.print("Confirma remoção? (S/N): ");
+        String confirm = scanner.nextLine();
+        
+        if (confirm.equalsIgnoreCase("S")) {
+            // Confere as duas árvores antes de alterar qualquer uma: se o registro faltar
+            // em uma delas, nenhuma estrutura perde o nó
+            if (abbTree.buscar(toRemove) == null || avlTree.searchAVL(toRemove) == null) {
+                System.out.println("Erro ao remover jogo!");
+                return;
+            }
+            
+            long startABB = System.nanoTime();
+            boolean removedABB = abbTree.eliminar(toRemove);
+            long endABB = System.nanoTime();
+            
+            long startAVL = System.nanoTime();
+            boolean removedAVL = avlTree.removeAVL(toRemove);
+            long endAVL = System.nanoTime();
+            
+            if (removedABB && removedAVL) {
+                removeFromList(toRemove);
+                index.remove(toRemove);
+                analytics.remove(toRemove);
+                marketSketch.remove(toRemove.getAvgPlayers());
+                logRemove(toRemove);
+                System.out.println("\n✓ Jogo removido com sucesso!");
+                System.out.printf("  Tempo ABB: %.3f µs\n", (endABB - startABB) / 1000.0);
+                System.out.printf("  Tempo AVL: %.3f µs\n", (endAVL - startAVL) / 1000.0);
+            } else {
+                System.out.println("Erro ao remover jogo!");
+            }
+        } else {
+            System.out.println("Remoção cancelada.");
+        }
+    }
+    
+    private static void indexPositions() {
+        positions.clear();
+        for (int i = 0; i < allGames.size(); i++) {
+            positions.put(allGames.get(i), i);
+        }
+    }
+    
+    private static void addToList(Game game) {
+        positions.put(game, allGames.size());
+        allGames.add(game);
+    }
+    
+    // Remove em O(1): o último registro ocupa a posição do removido
+    // (a ordem de allGames não importa para as árvores nem para as análises)
+    private static void removeFromList(Game game) {
+        Integer pos = positions.remove(game);
+        if (pos == null) {
+            return;
+        }
+        Game last = allGames.remove(allGames.size() - 1);
+        if (last != game) {
+            allGames.set(pos, last);
+            positions.put(last, pos);
+        }
+    }
+    
+    private static void performAnalyses() {
+        System.out.println("\nIniciando análises exploratórias...\n");
+        analyzer.performAllAnalyses();
+        analyzer.analyzeMarketDistributionApprox();
+        
+        System.out.println("\nPressione ENTER para continuar...");
+        scanner.nextLine();
+    }
+    
+    private static void comparePerformance() {
+        if (!treesBuilt) {
+            System.out.println("\nAviso: Construa as árvores primeiro (opção 1).");
+            return;
+        }
+        
+        System.out.println("\n═══════════════════════════════════════════════");
+        System.out.println("COMPARAÇÃO DE DESEMPENHO: ABB vs AVL");
+        System.out.println("═══════════════════════════════════════════════\n");
+        
+        // Teste de inserção
+        System.out.println("Teste 1: INSERÇÃO");
+        PerformanceAnalysis.Metrics abbInsert = PerformanceAnalysis.analyzeABBInsertion(allGames);
+        PerformanceAnalysis.Metrics avlInsert = PerformanceAnalysis.analyzeAVLInsertion(allGames);
+        PerformanceAnalysis.comparePerformance(abbInsert, avlInsert, "INSERÇÃO");
+        
+        // Teste de busca
+        System.out.println("\nTeste 2: BUSCA");
+        List<Game> searchSample = allGames.subList(0, Math.min(100, allGames.size()));
+        PerformanceAnalysis.Metrics abbSearch = PerformanceAnalysis.analyzeABBSearch(abbTree, searchSample);
+        PerformanceAnalysis.Metrics avlSearch = PerformanceAnalysis.analyzeAVLSearch(avlTree, searchSample);
+        PerformanceAnalysis.comparePerformance(abbSearch, avlSearch, "BUSCA");
+
+        // AVL de objetos vs AVL em vetores de primitivos
+        System.out.println("\nTeste 3: AVL COMPACTA (vetores de primitivos)");
+        PerformanceAnalysis.Metrics compactInsert = PerformanceAnalysis.analyzeAVLCompactaInsertion(allGames);
+        PerformanceAnalysis.comparePerformance(avlInsert, compactInsert, "INSERÇÃO", "AVL", "AVL compacta");
+        AVLCompacta compactTree = new AVLCompacta(allGames.size());
+        for (Game game : allGames) {
+            compactTree.insereAVL(game);
+        }
+        PerformanceAnalysis.Metrics compactSearch = PerformanceAnalysis.analyzeAVLCompactaSearch(compactTree, searchSample);
+        PerformanceAnalysis.comparePerformance(avlSearch, compactSearch, "BUSCA", "AVL", "AVL compacta");
+        PerformanceAnalysis.compareAVLMemory(allGames);
+
+        System.out.println("\nTestes com grandes volumes de dados sintéticos: java -cp bin Benchmarks");
+
+        System.out.println("\n═══════════════════════════════════════════════");
+        System.out.println("CONCLUSÃO:");
+        System.out.println("═══════════════════════════════════════════════");
+        System.out.println("A AVL mantém balanceamento garantindo O(log n)");
+        System.out.println("para todas as operações, enquanto a ABB pode");
+        System.out.println("degenerar para O(n) no pior caso.");
+        System.out.println("═══════════════════════════════════════════════\n");
+        
+        System.out.println("Pressione ENTER para continuar...");
+        scanner.nextLine();
+    }
+    
+    private static void displayTreeData() {
+        if (!treesBuilt) {
+            System.out.println("\nAviso: Construa as árvores primeiro (opção 1).");
+            return;
+        }
+        
+        System.out.println("\n═══════════════════════════════════════════════");
+        System.out.println("VISUALIZAÇÃO DAS ÁRVORES");
+        System.out.println("═══════════════════════════════════════════════");
+        System.out.println("1. Exibir ABB (em ordem)");
+        System.out.println("2. Exibir AVL (em ordem)");
+        System.out.println("3. Exibir ABB (em nível)");
+        System.out.println("4. Exibir AVL (em nível)");
+        System.out.println("5. Exibir AVL paginada (por posição)");
+        System.out.print("Escolha: ");
+        
+        int option = readOption();
+        
+        System.out.println("\n─────────────────────────────────────────────");
+        switch (option) {
+            case 1:
+                System.out.println("ABB - Percurso Em Ordem:");
+                abbTree.emOrdem();
+                System.out.println();
+                break;
+            case 2:
+                System.out.println("AVL - Percurso Em Ordem:");
+                System.out.println(avlTree.emOrdemString());
+                break;
+            case 3:
+                System.out.println("ABB - Percurso Em Nível:");
+                abbTree.emNivel();
+                System.out.println();
+                break;
+            case 4:
+                System.out.println("AVL - Percurso Em Nível:");
+                System.out.println(avlTree.emNivelString());
+                break;
+            case 5:
+                displayAVLPage();
+                break;
+            default:
+                System.out.println("Opção inválida!");
+        }
+        System.out.println("─────────────────────────────────────────────");
+    }
+    
+    // Mostra uma página da AVL em ordem: select() acha o primeiro registro da
+    // página em O(log n) e o restante segue pelos sucessores, sem copiar a árvore
+    private static void displayAVLPage() {
+        final int pageSize = 20;
+        int total = avlTree.tamanho();
+        int pages = Math.max(1, (total + pageSize - 1) / pageSize);
+        
+        System.out.print("Página (1-" + pages + "): ");
+        int page = readOption();
+        if (page < 1 || page > pages) {
+            System.out.println("Página inválida!");
+            return;
+        }
+        
+        int start = (page - 1) * pageSize;
+        System.out.println("AVL - Página " + page + " de " + pages + " (" + total + " registros):");
+        NoAVL<Game> node = avlTree.selectNo(start);
+        for (int i = start; i < start + pageSize && node != null; i++) {
+            System.out.printf("%d. %s\n", i + 1, node.getDado());
+            node = AVL.sucessor(node);
+        }
+    }
+    
+    private static void viewDatasetStats() {
+        System.out.println();
+        ParseStats stats = new ParseStats();
+        stats.add(loadStats);
+        if (follower != null) {
+            stats.add(follower.getParseStats()); // linhas acrescentadas ao CSV depois da carga
+        }
+        CSVReader.displayDatasetStats(allGames, dataPath != null ? stats : null);
+        
+        System.out.println("Pressione ENTER para continuar...");
+        scanner.nextLine();
+    }
+}
@@ -0,0 +1,160 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Testes de desempenho com dados sintéticos, separados do menu do App (a opção 6
+ * compara ABB e AVL apenas com os dados carregados). Cada teste gera os próprios
+ * registros e pode levar de segundos a minutos.
+ *
+ * Uso:
+ *   java -cp bin Benchmarks          todos os testes, em ordem
+ *   java -cp bin Benchmarks 2 17     só os testes 2 e 17
+ */
+public class Benchmarks {
+
+    private static final List<Runnable> TESTS = List.of(
+        Benchmarks::randomInput,
+        Benchmarks::sortedInput,
+        Benchmarks::rangeScan,
+        Benchmarks::bulkLoad,
+        Benchmarks::concurrentSnapshots,
+        Benchmarks::parallelBuild,
+        Benchmarks::csvReaders,
+        Benchmarks::parallelCSV,
+        Benchmarks::ingestPipeline,
+        Benchmarks::snapshotCache,
+        Benchmarks::mappedTree,
+        Benchmarks::sampling,
+        Benchmarks::gameFootprint,
+        Benchmarks::mutationLog,
+        Benchmarks::dirtyCSV,
+        Benchmarks::fusedAnalyses,
+        Benchmarks::parallelTraversal,
+        Benchmarks::liveAnalytics,
+        Benchmarks::marketSketch
+    );
+
+    public static void main(String[] args) {
+        List<Integer> selected = new ArrayList<>();
+        for (String arg : args) {
+            try {
+                int test = Integer.parseInt(arg.trim());
+                if (test < 1 || test > TESTS.size()) {
+                    throw new NumberFormatException();
+                }
+                selected.add(test);
+            } catch (NumberFormatException e) {
+                System.err.printf("Teste inválido: %s (use números de 1 a %d)\n", arg, TESTS.size());
+                return;
+            }
+        }
+        if (selected.isEmpty()) {
+            for (int test = 1; test <= TESTS.size(); test++) {
+                selected.add(test);
+            }
+        }
+
+        System.out.printf("Núcleos disponíveis: %d\n", Runtime.getRuntime().availableProcessors());
+        for (int test : selected) {
+            System.out.print("\nTeste " + test + ": ");
+            TESTS.get(test - 1).run();
+        }
+    }
+
+    // Inserção, busca e remoção iterativas com dados aleatórios
+    static void randomInput() {
+        System.out.println("VAZÃO COM DADOS ALEATÓRIOS");
+        PerformanceAnalysis.benchmarkRandomInput(200_000);
+    }
+
+    // Pior caso da ABB: registros chegando em ordem
+    static void sortedInput() {
+        System.out.println("ENTRADA ORDENADA (pior caso da ABB)");
+        PerformanceAnalysis.stressTestSortedInput(1_000_000, 20_000);
+    }
+
+    static void rangeScan() {
+        System.out.println("BUSCA POR INTERVALO");
+        PerformanceAnalysis.benchmarkRangeScan(1_000_000, 50);
+    }
+
+    static void bulkLoad() {
+        System.out.println("CONSTRUÇÃO EM LOTE (bulkLoad)");
+        PerformanceAnalysis.benchmarkBulkLoad(1_000_000);
+    }
+
+    static void concurrentSnapshots() {
+        System.out.println("LEITURA E ESCRITA CONCORRENTES (snapshots)");
+        PerformanceAnalysis.benchmarkConcurrentSnapshots(1_000_000, 1_000);
+    }
+
+    static void parallelBuild() {
+        System.out.println("CONSTRUÇÃO PARALELA (fork/join)");
+        PerformanceAnalysis.benchmarkParallelBuild(2_000_000);
+    }
+
+    static void csvReaders() {
+        System.out.println("LEITURA DO CSV (arquivo mapeado vs BufferedReader)");
+        PerformanceAnalysis.benchmarkCSVReaders(1_000_000);
+    }
+
+    static void parallelCSV() {
+        System.out.println("LEITURA PARALELA DO CSV");
+        PerformanceAnalysis.benchmarkParallelCSV(2_000_000);
+    }
+
+    static void ingestPipeline() {
+        System.out.println("CARGA EM FLUXO (pipeline)");
+        PerformanceAnalysis.benchmarkIngestPipeline(500_000);
+    }
+
+    static void snapshotCache() {
+        System.out.println("CACHE BINÁRIO DO CSV");
+        PerformanceAnalysis.benchmarkSnapshotCache(1_000_000);
+    }
+
+    static void mappedTree() {
+        System.out.println("AVL GRAVADA E MAPEADA EM MEMÓRIA");
+        PerformanceAnalysis.benchmarkMappedTree(1_000_000);
+    }
+
+    static void sampling() {
+        System.out.println("AMOSTRAGEM DO CSV");
+        PerformanceAnalysis.benchmarkSampling(2_000_000);
+    }
+
+    static void gameFootprint() {
+        System.out.println("MEMÓRIA DOS REGISTROS (mês compactado e nomes compartilhados)");
+        PerformanceAnalysis.compareGameFootprint(PerformanceAnalysis.generateSyntheticGames(1_000_000, false, 16));
+    }
+
+    static void mutationLog() {
+        System.out.println("LOG DE ALTERAÇÕES (write-ahead log)");
+        PerformanceAnalysis.benchmarkMutationLog(200_000);
+    }
+
+    static void dirtyCSV() {
+        System.out.println("CSV COM LINHAS PROBLEMÁTICAS (aspas e números inválidos)");
+        PerformanceAnalysis.benchmarkDirtyCSV(1_000_000);
+    }
+
+    static void fusedAnalyses() {
+        System.out.println("PERGUNTAS EXPLORATÓRIAS EM UM ÚNICO PERCURSO");
+        PerformanceAnalysis.benchmarkFusedAnalyses(500_000);
+    }
+
+    static void parallelTraversal() {
+        System.out.println("PERCURSO PARALELO DAS ÁRVORES (1, 2, 4 E 8 THREADS)");
+        PerformanceAnalysis.benchmarkParallelTraversal(500_000);
+    }
+
+    static void liveAnalytics() {
+        System.out.println("ANÁLISES MANTIDAS A CADA INSERÇÃO E REMOÇÃO");
+        PerformanceAnalysis.benchmarkLiveAnalytics(400_000);
+    }
+
+    static void marketSketch() {
+        System.out.println("DISTRIBUIÇÃO DE MERCADO APROXIMADA (ESBOÇO DE QUANTIS)");
+        PerformanceAnalysis.benchmarkMarketSketch(2_000_000);
+    }
+}
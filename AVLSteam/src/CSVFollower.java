@@ -0,0 +1,143 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Acompanha as linhas acrescentadas ao fim do CSV (modo "tail -f").
+ *
+ * Guarda quantos bytes do arquivo já foram consumidos e, a cada verificação,
+ * lê e converte apenas o trecho novo (com o mesmo parser do MappedCSVReader).
+ * Uma linha ainda incompleta no fim do arquivo fica para a próxima verificação.
+ * Os registros novos ficam em uma fila até que a thread principal os aplique
+ * com drain, então árvores e listas continuam sendo alteradas só por ela.
+ *
+ * Usa verificação periódica do tamanho em vez de WatchService, que não avisa
+ * de alterações em vários sistemas de arquivos (ex.: montagens de rede).
+ */
+public class CSVFollower {
+
+    private static final int INITIAL_BUFFER = 1 << 16;
+
+    private final Path path;
+    private final long intervalMs;
+    private final ConcurrentLinkedQueue<Game> pending = new ConcurrentLinkedQueue<>();
+    private final MappedCSVReader.LineParser parser = new MappedCSVReader.LineParser(pending::add, false);
+    private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BUFFER);
+    private volatile long offset;
+    private volatile boolean running;
+    private Thread thread;
+
+    /**
+     * @param offset Bytes do arquivo já carregados, como devolvidos pela carga
+     *        (MappedCSVReader.readGames, IngestPipeline.run); o acompanhamento começa depois deles
+     * @param intervalMs Intervalo entre as verificações do tamanho do arquivo
+     */
+    public CSVFollower(String filePath, long offset, long intervalMs) {
+        this.path = Paths.get(filePath);
+        this.offset = offset;
+        this.intervalMs = intervalMs;
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(() -> {
+            while (running) {
+                poll();
+                try {
+                    Thread.sleep(intervalMs);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }, "csv-follower");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Lê as linhas completas acrescentadas desde a última verificação
+     * @return Número de registros novos colocados na fila, ou -1 se o arquivo
+     *         encolheu ou não pôde ser lido (o acompanhamento é interrompido)
+     */
+    public synchronized long poll() {
+        long before = parser.getRecords();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < offset) {
+                // Arquivo truncado ou substituído: as posições guardadas não valem mais
+                System.err.println("Aviso: " + path + " encolheu; recarregue os dados para continuar acompanhando");
+                running = false;
+                return -1;
+            }
+            while (offset < size) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), size - offset));
+                int length = channel.read(buffer, offset);
+                if (length <= 0) {
+                    break;
+                }
+                int consumed = parser.parse(buffer, 0, length, false);
+                if (consumed == 0) {
+                    if (length < buffer.capacity()) {
+                        break; // só uma linha incompleta: espera o restante
+                    }
+                    buffer = ByteBuffer.allocate(buffer.capacity() * 2); // linha maior que o buffer
+                    continue;
+                }
+                offset += consumed;
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao acompanhar " + path + ": " + e.getMessage());
+            running = false;
+            return -1;
+        }
+        return parser.getRecords() - before;
+    }
+
+    /**
+     * Aplica (na thread que chama) os registros novos ainda não aplicados
+     * @return Quantos registros foram aplicados
+     */
+    public int drain(Consumer<Game> action) {
+        int count = 0;
+        Game game;
+        while ((game = pending.poll()) != null) {
+            action.accept(game);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Cópia dos contadores das linhas lidas pelo acompanhamento (aceitas e recusadas)
+     */
+    public synchronized ParseStats getParseStats() {
+        ParseStats stats = new ParseStats();
+        stats.add(parser.getStats());
+        return stats;
+    }
+}
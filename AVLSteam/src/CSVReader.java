@@ -2,16 +2,30 @@ import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
 
 public class CSVReader {
     
+    private static final int FIELDS = 7;
+    
     /**
      * Lê o arquivo CSV e retorna uma lista de objetos Game
      * @param filePath Caminho do arquivo CSV
      * @return Lista de jogos
      */
     public static List<Game> readGamesFromCSV(String filePath) {
+        return readGamesFromCSV(filePath, new ParseStats());
+    }
+    
+    /**
+     * Lê o arquivo CSV contando em stats os registros aceitos e as linhas recusadas
+     */
+    public static List<Game> readGamesFromCSV(String filePath, ParseStats stats) {
         List<Game> games = new ArrayList<>();
         String line;
         boolean isFirstLine = true;
@@ -24,31 +38,16 @@ public class CSVReader {
                     continue;
                 }
                 
-                // Dividir a linha por vírgula
-                String[] values = line.split(",");
-                
-                // Verificar se a linha tem todos os campos necessários
-                if (values.length >= 7) {
-                    try {
-                        String month = values[0].trim();
-                        double avgPlayers = parseDouble(values[1]);
-                        double gain = parseDouble(values[2]);
-                        double gainPercent = parseDouble(values[3]);
-                        int peakPlayers = parseInt(values[4]);
-                        String name = values[5].trim();
-                        int steamAppid = parseInt(values[6]);
-                        
-                        Game game = new Game(month, avgPlayers, gain, gainPercent, 
-                                           peakPlayers, name, steamAppid);
-                        games.add(game);
-                    } catch (Exception e) {
-                        // Silenciosamente ignora linhas com problemas
-                        // System.err.println("Erro ao processar linha: " + line);
-                    }
+                Game game = parseLine(line, stats);
+                if (game != null) {
+                    games.add(game);
                 }
             }
             
             System.out.println("Total de jogos carregados: " + games.size());
+            if (stats.getTotalRejected() > 0) {
+                System.out.println("Linhas recusadas: " + stats.getTotalRejected() + " (detalhes nas estatísticas do dataset)");
+            }
             
         } catch (IOException e) {
             System.err.println("Erro ao ler arquivo CSV: " + e.getMessage());
@@ -58,54 +57,343 @@ public class CSVReader {
     }
     
     /**
-     * Converte string para double, tratando valores vazios e caracteres especiais
+     * Converte uma linha de dados em Game, sem exceções no caminho normal.
+     * Campos seguem o RFC 4180: um campo pode vir entre aspas (com vírgulas e
+     * aspas duplicadas "" dentro); aspas no meio de um campo sem aspas valem
+     * como texto. Campos sem aspas têm os espaços das pontas removidos.
+     * Quebras de linha dentro de aspas não são aceitas: cada linha do arquivo
+     * é um registro (a leitura paralela e o acompanhamento dependem disso).
+     * @param stats Contadores a atualizar (pode ser null)
+     * @return O jogo, ou null se a linha for vazia ou recusada
      */
-    private static double parseDouble(String value) {
-        if (value == null || value.trim().isEmpty() || value.trim().equals("-")) {
-            return 0.0;
+    private static Game parseLine(String line, ParseStats stats) {
+        String[] values = new String[FIELDS];
+        int n = line.length();
+        int i = 0;
+        int field = 0;
+        int lastNonEmpty = -1;
+        
+        while (true) {
+            int start = i;
+            while (start < n && line.charAt(start) <= ' ' && line.charAt(start) != ',') {
+                start++;
+            }
+            String value;
+            if (start < n && line.charAt(start) == '"') {
+                // Campo entre aspas: vai até a aspa de fechamento ("" é uma aspa literal)
+                StringBuilder text = new StringBuilder();
+                int j = start + 1;
+                boolean closed = false;
+                while (j < n) {
+                    char c = line.charAt(j++);
+                    if (c == '"') {
+                        if (j < n && line.charAt(j) == '"') {
+                            text.append('"');
+                            j++;
+                        } else {
+                            closed = true;
+                            break;
+                        }
+                    } else {
+                        text.append(c);
+                    }
+                }
+                while (j < n && line.charAt(j) <= ' ' && line.charAt(j) != ',') {
+                    j++;
+                }
+                if (!closed || (j < n && line.charAt(j) != ',')) {
+                    reject(stats, ParseStats.Reason.BAD_QUOTES);
+                    return null;
+                }
+                value = text.toString();
+                lastNonEmpty = field;
+                i = j;
+            } else {
+                int end = line.indexOf(',', i);
+                if (end < 0) {
+                    end = n;
+                }
+                value = line.substring(i, end).trim();
+                if (end > i) {
+                    lastNonEmpty = field;
+                }
+                i = end;
+            }
+            if (field < FIELDS) {
+                values[field] = value;
+            }
+            field++;
+            if (i >= n) {
+                break;
+            }
+            i++; // vírgula
+        }
+        
+        if (lastNonEmpty < 0) {
+            return null; // linha vazia
         }
-        try {
-            return Double.parseDouble(value.trim());
-        } catch (NumberFormatException e) {
-            return 0.0;
+        if (lastNonEmpty < FIELDS - 1) {
+            reject(stats, ParseStats.Reason.MISSING_FIELDS);
+            return null;
+        }
+        if (lastNonEmpty > FIELDS - 1) {
+            reject(stats, ParseStats.Reason.EXTRA_FIELDS);
+            return null;
+        }
+        
+        NumberField number = new NumberField();
+        double avgPlayers = number.parseDouble(values[1]);
+        double gain = number.parseDouble(values[2]);
+        double gainPercent = number.parseDouble(values[3]);
+        int peakPlayers = number.parseInt(values[4]);
+        int steamAppid = number.parseInt(values[6]);
+        if (number.invalid) {
+            reject(stats, ParseStats.Reason.INVALID_NUMBER);
+            return null;
+        }
+        if (stats != null) {
+            stats.accept();
+        }
+        return new Game(values[0], avgPlayers, gain, gainPercent,
+                        peakPlayers, StringPool.NAMES.intern(values[5]), steamAppid);
+    }
+    
+    private static void reject(ParseStats stats, ParseStats.Reason reason) {
+        if (stats != null) {
+            stats.reject(reason);
         }
     }
     
     /**
-     * Converte string para int, tratando valores vazios e caracteres especiais
+     * Conversão de campos numéricos sem NumberFormatException: o texto é validado
+     * antes e um campo inválido só marca invalid. Vazio e "-" valem 0.
      */
-    private static int parseInt(String value) {
-        if (value == null || value.trim().isEmpty() || value.trim().equals("-")) {
-            return 0;
+    private static final class NumberField {
+        boolean invalid;
+        
+        // [+-] dígitos [. dígitos] [e [+-] dígitos] (também ".5" e "5.")
+        double parseDouble(String value) {
+            if (value.isEmpty() || value.equals("-")) {
+                return 0.0;
+            }
+            int n = value.length();
+            int i = value.charAt(0) == '+' || value.charAt(0) == '-' ? 1 : 0;
+            int digits = 0;
+            while (i < n && isDigit(value.charAt(i))) {
+                i++;
+                digits++;
+            }
+            if (i < n && value.charAt(i) == '.') {
+                i++;
+                while (i < n && isDigit(value.charAt(i))) {
+                    i++;
+                    digits++;
+                }
+            }
+            if (digits > 0 && i < n && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+                i++;
+                if (i < n && (value.charAt(i) == '+' || value.charAt(i) == '-')) {
+                    i++;
+                }
+                int exponentDigits = 0;
+                while (i < n && isDigit(value.charAt(i))) {
+                    i++;
+                    exponentDigits++;
+                }
+                if (exponentDigits == 0) {
+                    digits = 0;
+                }
+            }
+            if (digits == 0 || i != n) {
+                invalid = true;
+                return 0.0;
+            }
+            return Double.parseDouble(value); // já validado: não lança exceção
+        }
+        
+        // [+-] dígitos, dentro do intervalo de int
+        int parseInt(String value) {
+            if (value.isEmpty() || value.equals("-")) {
+                return 0;
+            }
+            int n = value.length();
+            boolean negative = value.charAt(0) == '-';
+            int i = negative || value.charAt(0) == '+' ? 1 : 0;
+            if (i == n) {
+                invalid = true;
+                return 0;
+            }
+            long result = 0;
+            for (; i < n; i++) {
+                char c = value.charAt(i);
+                if (!isDigit(c)) {
+                    invalid = true;
+                    return 0;
+                }
+                result = result * 10 + (c - '0');
+                if (result > Integer.MAX_VALUE + 1L) {
+                    invalid = true;
+                    return 0;
+                }
+            }
+            if (negative) {
+                return (int) -result;
+            }
+            if (result > Integer.MAX_VALUE) {
+                invalid = true;
+                return 0;
+            }
+            return (int) result;
         }
-        try {
-            return Integer.parseInt(value.trim());
-        } catch (NumberFormatException e) {
-            return 0;
+        
+        private static boolean isDigit(char c) {
+            return c >= '0' && c <= '9';
         }
     }
     
     /**
-     * Lê uma amostra do CSV (primeiros N registros)
+     * Lê uma amostra do CSV (primeiros N registros). Para de ler o arquivo
+     * assim que a amostra está completa.
      * @param filePath Caminho do arquivo CSV
      * @param sampleSize Número de registros a ler
      * @return Lista de jogos
      */
     public static List<Game> readSample(String filePath, int sampleSize) {
-        List<Game> allGames = readGamesFromCSV(filePath);
+        List<Game> sample = new ArrayList<>(Math.max(0, Math.min(sampleSize, 1 << 16)));
+        if (sampleSize <= 0) {
+            return sample;
+        }
         
-        if (allGames.size() <= sampleSize) {
-            return allGames;
+        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
+            br.readLine(); // Pular o cabeçalho
+            String line;
+            while (sample.size() < sampleSize && (line = br.readLine()) != null) {
+                Game game = parseLine(line, null);
+                if (game != null) {
+                    sample.add(game);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao ler arquivo CSV: " + e.getMessage());
         }
         
-        // Retorna uma subamostra
-        return allGames.subList(0, sampleSize);
+        return sample;
+    }
+    
+    /**
+     * Amostra aleatória uniforme de até sampleSize registros do arquivo inteiro,
+     * em uma única leitura e guardando só a amostra na memória (amostragem por
+     * reservatório, "algoritmo L"). As linhas puladas entre duas escolhas são
+     * lidas mas não convertidas em Game. Se uma linha escolhida for inválida, a
+     * próxima linha válida fica com a vaga.
+     * @param seed Semente do sorteio (mesma semente e arquivo = mesma amostra)
+     * @return Jogos sorteados, fora da ordem do arquivo
+     */
+    public static List<Game> reservoirSample(String filePath, int sampleSize, long seed) {
+        List<Game> reservoir = new ArrayList<>(Math.max(0, Math.min(sampleSize, 1 << 16)));
+        if (sampleSize <= 0) {
+            return reservoir;
+        }
+        Random random = new Random(seed);
+        
+        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
+            br.readLine(); // Pular o cabeçalho
+            String line;
+            // Enche o reservatório com os primeiros registros válidos
+            while (reservoir.size() < sampleSize && (line = br.readLine()) != null) {
+                Game game = parseLine(line, null);
+                if (game != null) {
+                    reservoir.add(game);
+                }
+            }
+            // Depois sorteia quantas linhas pular até a próxima substituição
+            double w = Math.exp(Math.log(random.nextDouble()) / sampleSize);
+            long skip = nextSkip(random, w);
+            while ((line = br.readLine()) != null) {
+                if (skip > 0) {
+                    skip--;
+                    continue;
+                }
+                Game game = parseLine(line, null);
+                if (game == null) {
+                    continue; // a vaga passa para a próxima linha válida
+                }
+                reservoir.set(random.nextInt(sampleSize), game);
+                w *= Math.exp(Math.log(random.nextDouble()) / sampleSize);
+                skip = nextSkip(random, w);
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao ler arquivo CSV: " + e.getMessage());
+        }
+        
+        return reservoir;
+    }
+    
+    // Linhas a pular antes da próxima substituição no algoritmo L
+    private static long nextSkip(Random random, double w) {
+        double skip = Math.floor(Math.log(random.nextDouble()) / Math.log(1 - w));
+        return skip < Long.MAX_VALUE ? (long) skip : Long.MAX_VALUE;
+    }
+    
+    /**
+     * Amostra estratificada: até perStratum registros sorteados de cada estrato
+     * (ex.: Game::getMonth ou Game::getSteamAppid), em uma única leitura.
+     * Cada estrato tem seu próprio reservatório, então a memória fica limitada a
+     * perStratum x número de estratos, e estratos pequenos não somem da amostra.
+     * @return Jogos sorteados, agrupados por estrato na ordem em que os estratos aparecem
+     */
+    public static List<Game> stratifiedSample(String filePath, int perStratum,
+                                              Function<Game, ?> stratum, long seed) {
+        Map<Object, List<Game>> reservoirs = new LinkedHashMap<>();
+        Map<Object, long[]> seen = new HashMap<>();
+        Random random = new Random(seed);
+        
+        if (perStratum > 0) {
+            try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
+                br.readLine(); // Pular o cabeçalho
+                String line;
+                while ((line = br.readLine()) != null) {
+                    Game game = parseLine(line, null);
+                    if (game == null) {
+                        continue;
+                    }
+                    Object key = stratum.apply(game);
+                    List<Game> reservoir = reservoirs.computeIfAbsent(key, k -> new ArrayList<>());
+                    long count = ++seen.computeIfAbsent(key, k -> new long[1])[0];
+                    // Algoritmo R: o i-ésimo registro do estrato entra com probabilidade perStratum/i
+                    if (reservoir.size() < perStratum) {
+                        reservoir.add(game);
+                    } else {
+                        long slot = (long) (random.nextDouble() * count);
+                        if (slot < perStratum) {
+                            reservoir.set((int) slot, game);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Erro ao ler arquivo CSV: " + e.getMessage());
+            }
+        }
+        
+        List<Game> sample = new ArrayList<>();
+        for (List<Game> reservoir : reservoirs.values()) {
+            sample.addAll(reservoir);
+        }
+        return sample;
     }
     
     /**
      * Exibe estatísticas básicas do dataset
      */
     public static void displayDatasetStats(List<Game> games) {
+        displayDatasetStats(games, null);
+    }
+    
+    /**
+     * Exibe estatísticas básicas do dataset e, se houver, as linhas recusadas na leitura
+     * @param stats Contadores da leitura do CSV (pode ser null)
+     */
+    public static void displayDatasetStats(List<Game> games, ParseStats stats) {
         if (games.isEmpty()) {
             System.out.println("Dataset vazio!");
             return;
@@ -141,6 +429,15 @@ public class CSVReader {
         System.out.println("Pico máximo de jogadores: " + maxPeak);
         System.out.println("Jogo com maior média: " + mostPopularGame);
         System.out.printf("Maior média de jogadores: %.2f\n", highestAvg);
+        
+        if (stats != null) {
+            System.out.println("Linhas recusadas na leitura: " + stats.getTotalRejected());
+            for (ParseStats.Reason reason : ParseStats.Reason.values()) {
+                if (stats.getRejected(reason) > 0) {
+                    System.out.printf("  %-40s %d\n", reason.getDescription() + ":", stats.getRejected(reason));
+                }
+            }
+        }
         System.out.println("========================================\n");
     }
 }
@@ -1,4 +1,5 @@
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Classe para realizar análises exploratórias sobre os dados de jogos do Steam
@@ -12,7 +13,11 @@ public class DataAnalyzer {
     
     private List<Game> allGames;
     private ABB<Game> abbTree;
-    private AVL avlTree;
+    private AVL<Game> avlTree;
+    private GameIndex index; // índices por nome/appid/mês mantidos pelo App
+    private LiveAnalytics live; // agregados das perguntas mantidos pelo App a cada alteração
+    private QuantileSketch marketSketch; // resumo aproximado das médias (modo aproximado da pergunta 4)
+    private AVLMapeada mappedTree; // árvore salva em disco: atende as buscas enquanto o App ainda carrega
     
     public DataAnalyzer(List<Game> games) {
         this.allGames = games;
@@ -24,113 +29,58 @@ public class DataAnalyzer {
         this.abbTree = abb;
     }
     
-    public void setAVLTree(AVL avl) {
+    public void setAVLTree(AVL<Game> avl) {
         this.avlTree = avl;
     }
     
+    public void setIndex(GameIndex index) {
+        this.index = index;
+    }
+    
+    public void setLiveAnalytics(LiveAnalytics live) {
+        this.live = live;
+    }
+    
+    public void setMappedTree(AVLMapeada mappedTree) {
+        this.mappedTree = mappedTree;
+    }
+
+    public void setMarketSketch(QuantileSketch marketSketch) {
+        this.marketSketch = marketSketch;
+    }
+    
+    // Cada pergunta também pode ser respondida sozinha: a lógica fica só no acumulador
+    // dela (as mesmas classes do percurso único, mais abaixo). Com os agregados do App em
+    // dia, a resposta sai deles; senão, de um percurso da AVL (ou da lista)
+    
     /**
      * PERGUNTA 1: Quantos jogos têm média de jogadores acima de um determinado valor?
      * Análise: Identifica jogos de grande sucesso comercial
-     * EXPLORA: Percorre a ABB em ordem para coletar dados
+     * EXPLORA: AVL agregada (contagem e soma em O(log n)) ou percurso da AVL
      */
     public void analyzeHighPerformanceGames(double threshold) {
-        System.out.println("\n========================================");
-        System.out.println("PERGUNTA 1: Jogos com Alta Performance");
-        System.out.println("========================================");
-        System.out.printf("Analisando jogos com média acima de %.2f jogadores\n", threshold);
-        System.out.println("Usando ABB para percorrer os dados...\n");
-        
-        // Coletar dados percorrendo a ABB em ordem
-        List<Game> highPerformers = new ArrayList<>();
-        double totalRevenue = 0;
-        
-        if (abbTree != null && abbTree.getRaiz() != null) {
-            collectHighPerformers(abbTree.getRaiz(), threshold, highPerformers);
-            
-            for (Game g : highPerformers) {
-                totalRevenue += g.getAvgPlayers();
-            }
+        HighPerformanceQuestion question = new HighPerformanceQuestion(threshold);
+        if (liveReady()) {
+            question.load((AVLAgregada) avlTree, live);
         } else {
-            System.out.println("AVISO: ABB não construída, usando lista direta.");
-            for (Game game : allGames) {
-                if (game.getAvgPlayers() > threshold) {
-                    highPerformers.add(game);
-                    totalRevenue += game.getAvgPlayers();
-                }
-            }
-        }
-        
-        System.out.println("Total de jogos acima do limiar: " + highPerformers.size());
-        System.out.printf("Percentual: %.2f%%\n", (highPerformers.size() * 100.0 / allGames.size()));
-        System.out.printf("Estimativa de engajamento total: %.2f\n", totalRevenue);
-        
-        // Top 5 jogos com nomes únicos
-        highPerformers.sort((g1, g2) -> Double.compare(g2.getAvgPlayers(), g1.getAvgPlayers()));
-        
-        System.out.println("\n📝 NOTA: O dataset contém múltiplos registros do mesmo jogo");
-        System.out.println("(um para cada mês). Mostrando apenas jogos com nomes únicos:\n");
-        
-        System.out.println("Top 5 jogos mais populares (nomes únicos):");
-        Set<String> uniqueNames = new HashSet<>();
-        int count = 0;
-        for (Game g : highPerformers) {
-            if (!uniqueNames.contains(g.getName())) {
-                uniqueNames.add(g.getName());
-                count++;
-                System.out.printf("%d. %s - %.2f jogadores (Pico: %d) - Mês: %s\n", 
-                                count, g.getName(), g.getAvgPlayers(), g.getPeakPlayers(), g.getMonth());
-                if (count >= 5) break;
-            }
-        }
-        System.out.println("========================================\n");
-    }
-    
-    // Método auxiliar para percorrer ABB e coletar jogos acima do threshold
-    private void collectHighPerformers(Node<Game> node, double threshold, List<Game> result) {
-        if (node != null) {
-            collectHighPerformers(node.getFilhoEsq(), threshold, result);
-            
-            Game game = node.getValue();
-            if (game.getAvgPlayers() > threshold) {
-                result.add(game);
-            }
-            
-            collectHighPerformers(node.getFilhoDir(), threshold, result);
+            traverse(question);
         }
+        question.report();
     }
     
     /**
      * PERGUNTA 2: Qual o crescimento percentual médio dos jogos em um período?
      * Análise: Avalia o crescimento do mercado de games
-     * EXPLORA: Percorre a AVL em ordem para calcular estatísticas
+     * EXPLORA: Agregados correntes (LiveAnalytics) ou percurso da AVL
      */
     public void analyzeGrowthTrends() {
-        System.out.println("\n========================================");
-        System.out.println("PERGUNTA 2: Análise de Crescimento");
-        System.out.println("========================================");
-        System.out.println("Usando AVL para percorrer os dados...\n");
-        
-        GrowthStats stats = new GrowthStats();
-        
-        if (avlTree != null && avlTree.getRaiz() != null) {
-            analyzeGrowthAVL(avlTree.getRaiz(), stats);
+        GrowthQuestion question = new GrowthQuestion();
+        if (liveReady()) {
+            question.load(live);
         } else {
-            System.out.println("AVISO: AVL não construída, usando lista direta.");
-            for (Game game : allGames) {
-                processGrowthData(game, stats);
-            }
+            traverse(question);
         }
-        
-        double avgGrowth = stats.totalGrowth / stats.totalGames;
-        
-        System.out.printf("Crescimento médio: %.2f%%\n", avgGrowth * 100);
-        System.out.printf("Jogos em crescimento: %d (%.2f%%)\n", 
-                        stats.positiveGrowth, (stats.positiveGrowth * 100.0 / stats.totalGames));
-        System.out.printf("Jogos em declínio: %d (%.2f%%)\n", 
-                        stats.negativeGrowth, (stats.negativeGrowth * 100.0 / stats.totalGames));
-        System.out.printf("\nMaior crescimento: %.2f%% - %s\n", stats.maxGrowth * 100, stats.fastestGrowing);
-        System.out.printf("Maior declínio: %.2f%% - %s\n", stats.minGrowth * 100, stats.fastestDeclining);
-        System.out.println("========================================\n");
+        question.report();
     }
     
     // Classe auxiliar para estatísticas de crescimento
@@ -145,19 +95,7 @@ public class DataAnalyzer {
         int totalGames = 0;
     }
     
-    // Percorre AVL para analisar crescimento
-    private void analyzeGrowthAVL(NoAVL node, GrowthStats stats) {
-        if (node != null) {
-            analyzeGrowthAVL(node.getEsq(), stats);
-            
-            Game game = (Game) node.getDado();
-            processGrowthData(game, stats);
-            
-            analyzeGrowthAVL(node.getDir(), stats);
-        }
-    }
-    
-    private void processGrowthData(Game game, GrowthStats stats) {
+    private static void processGrowthData(Game game, GrowthStats stats) {
         double growth = game.getGainPercent();
         stats.totalGrowth += growth;
         stats.totalGames++;
@@ -179,217 +117,168 @@ public class DataAnalyzer {
     /**
      * PERGUNTA 3: Quais jogos atingiram picos excepcionais de jogadores?
      * Análise: Identifica eventos especiais e viralizações
-     * EXPLORA: Usa busca na ABB para encontrar jogos com picos altos
+     * EXPLORA: Multiconjuntos por pico (LiveAnalytics) ou percurso da AVL
      */
     public void analyzePeakPerformance(int peakThreshold) {
-        System.out.println("\n========================================");
-        System.out.println("PERGUNTA 3: Análise de Picos de Jogadores");
-        System.out.println("========================================");
-        System.out.printf("Analisando jogos com pico acima de %d jogadores\n", peakThreshold);
-        System.out.println("Explorando ABB para buscar picos excepcionais...\n");
-        
-        List<Game> exceptionalPeaks = new ArrayList<>();
-        
-        if (abbTree != null && abbTree.getRaiz() != null) {
-            collectExceptionalPeaks(abbTree.getRaiz(), peakThreshold, exceptionalPeaks);
+        PeakQuestion question = new PeakQuestion(peakThreshold);
+        if (liveReady()) {
+            question.load(avlTree, live);
         } else {
-            System.out.println("AVISO: ABB não construída, usando lista direta.");
-            for (Game game : allGames) {
-                if (game.getPeakPlayers() > peakThreshold) {
-                    exceptionalPeaks.add(game);
-                }
-            }
-        }
-        
-        exceptionalPeaks.sort((g1, g2) -> Integer.compare(g2.getPeakPlayers(), g1.getPeakPlayers()));
-        
-        System.out.println("Total de registros com picos excepcionais: " + exceptionalPeaks.size());
-        
-        System.out.println("\n📝 NOTA: O dataset contém múltiplos registros do mesmo jogo");
-        System.out.println("(um para cada mês). Mostrando apenas jogos com nomes únicos:");
-        System.out.println("Isso permite ver a DIVERSIDADE de jogos que atingiram picos altos.\n");
-        
-        System.out.println("Top 10 maiores picos (jogos únicos):");
-        Set<String> uniqueNames = new HashSet<>();
-        int count = 0;
-        for (Game g : exceptionalPeaks) {
-            if (!uniqueNames.contains(g.getName())) {
-                uniqueNames.add(g.getName());
-                count++;
-                double peakRatio = g.getPeakPlayers() / g.getAvgPlayers();
-                System.out.printf("%d. %s - Pico: %d jogadores (%.1fx a média) - %s\n", 
-                                count, g.getName(), g.getPeakPlayers(), peakRatio, g.getMonth());
-                if (count >= 10) break;
-            }
-        }
-        System.out.println("========================================\n");
-    }
-    
-    // Percorre ABB coletando jogos com picos excepcionais
-    private void collectExceptionalPeaks(Node<Game> node, int threshold, List<Game> result) {
-        if (node != null) {
-            collectExceptionalPeaks(node.getFilhoEsq(), threshold, result);
-            
-            Game game = node.getValue();
-            if (game.getPeakPlayers() > threshold) {
-                result.add(game);
-            }
-            
-            collectExceptionalPeaks(node.getFilhoDir(), threshold, result);
+            traverse(question);
         }
+        question.report();
     }
     
     /**
      * PERGUNTA 4: Como está distribuída a popularidade dos jogos?
      * Análise: Avalia concentração de mercado vs diversidade
-     * EXPLORA: Percorre AVL (balanceada) para calcular distribuição
+     * EXPLORA: Somas de prefixo da AVL agregada (O(log n) por fatia) ou percurso da AVL
      */
     public void analyzeMarketDistribution() {
-        System.out.println("\n========================================");
-        System.out.println("PERGUNTA 4: Distribuição de Mercado");
-        System.out.println("========================================");
-        System.out.println("Usando AVL balanceada para coletar dados de mercado...\n");
-        
-        List<Game> allGamesFromTree = new ArrayList<>();
-        
-        // Coletar todos os jogos da AVL
-        if (avlTree != null && avlTree.getRaiz() != null) {
-            collectAllGamesAVL(avlTree.getRaiz(), allGamesFromTree);
+        MarketQuestion question = new MarketQuestion();
+        if (avlTree instanceof AVLAgregada && avlTree.getRaiz() != null) {
+            question.load((AVLAgregada) avlTree);
         } else {
-            System.out.println("AVISO: AVL não construída, usando lista direta.");
-            allGamesFromTree = new ArrayList<>(allGames);
+            traverse(question);
         }
+        question.report();
+    }
+    
+    /**
+     * PERGUNTA 4 (modo aproximado): mesma distribuição, calculada só com o QuantileSketch
+     * alimentado na leitura e nas alterações (alguns KB para qualquer volume).
+     * Cada resposta vem com o intervalo que certamente a contém (99% de confiança)
+     */
+    public void analyzeMarketDistributionApprox() {
+        System.out.println("\n========================================");
+        System.out.println("PERGUNTA 4 (aproximada): Distribuição de Mercado");
+        System.out.println("========================================");
         
-        // Calcular total de jogadores
-        double totalPlayers = 0;
-        for (Game game : allGamesFromTree) {
-            totalPlayers += game.getAvgPlayers();
+        if (marketSketch == null || marketSketch.getCount() == 0) {
+            System.out.println("AVISO: resumo aproximado não disponível.");
+            System.out.println("========================================\n");
+            return;
         }
         
-        // Ordenar por popularidade
-        allGamesFromTree.sort((g1, g2) -> Double.compare(g2.getAvgPlayers(), g1.getAvgPlayers()));
-        
-        // Calcular percentuais acumulados
-        double top10Percent = 0;
-        double top25Percent = 0;
-        double top50Percent = 0;
+        long n = marketSketch.getCount();
+        long error = marketSketch.getRankError();
+        double totalPlayers = marketSketch.getSum();
+        System.out.printf("Resumo com %d valores guardados (%.1f KB) para %d jogos; erro de posição ±%d\n\n", 
+                        marketSketch.getRetained(), marketSketch.memoryBytes() / 1024.0, n, error);
         
-        int top10Index = (int)(allGamesFromTree.size() * 0.1);
-        int top25Index = (int)(allGamesFromTree.size() * 0.25);
-        int top50Index = (int)(allGamesFromTree.size() * 0.5);
+        double[] top10 = printApproxCut("10%", (long)(n * 0.1), n);
+        double[] top25 = printApproxCut("25%", (long)(n * 0.25), n);
+        double[] top50 = printApproxCut("50%", (long)(n * 0.5), n);
         
-        for (int i = 0; i < allGamesFromTree.size(); i++) {
-            double players = allGamesFromTree.get(i).getAvgPlayers();
-            
-            if (i < top10Index) top10Percent += players;
-            if (i < top25Index) top25Percent += players;
-            if (i < top50Index) top50Percent += players;
-        }
-        
-        System.out.printf("Total de jogadores analisados: %.2f\n\n", totalPlayers);
-        System.out.printf("Top 10%% dos jogos representam: %.2f%% dos jogadores\n", 
-                        (top10Percent / totalPlayers) * 100);
-        System.out.printf("Top 25%% dos jogos representam: %.2f%% dos jogadores\n", 
-                        (top25Percent / totalPlayers) * 100);
-        System.out.printf("Top 50%% dos jogos representam: %.2f%% dos jogadores\n", 
-                        (top50Percent / totalPlayers) * 100);
+        System.out.printf("\nTotal de jogadores analisados: %.2f (exato)\n\n", totalPlayers);
+        printApproxShare("10%", top10, totalPlayers);
+        printApproxShare("25%", top25, totalPlayers);
+        printApproxShare("50%", top50, totalPlayers);
         
         System.out.println("\nInterpretação:");
-        if ((top10Percent / totalPlayers) > 0.5) {
+        if (top10[1] / totalPlayers > 0.5) {
             System.out.println("- Mercado altamente concentrado em poucos jogos");
-        } else {
+        } else if (top10[2] / totalPlayers <= 0.5) {
             System.out.println("- Mercado com boa distribuição entre os jogos");
+        } else {
+            System.out.println("- Inconclusivo: o intervalo do top 10% passa de 50%; use a análise exata");
         }
         System.out.println("========================================\n");
     }
     
-    // Coleta todos os jogos da AVL em ordem
-    private void collectAllGamesAVL(NoAVL node, List<Game> result) {
-        if (node != null) {
-            collectAllGamesAVL(node.getEsq(), result);
-            result.add((Game) node.getDado());
-            collectAllGamesAVL(node.getDir(), result);
+    // Corte aproximado do top (valor na posição top, de cima para baixo) e a soma
+    // {estimativa, mínimo, máximo} dos top maiores
+    private double[] printApproxCut(String label, long top, long n) {
+        if (top > 0) {
+            System.out.printf("Corte do top %s: ~%.2f jogadores (posição %d ± %d de %d)\n", 
+                            label, marketSketch.valueAtTop(top), top, marketSketch.getRankError(), n);
         }
+        return marketSketch.topSum(top);
+    }
+    
+    private void printApproxShare(String label, double[] share, double totalPlayers) {
+        System.out.printf("Top %s dos jogos representam: ~%.2f%% dos jogadores (entre %.2f%% e %.2f%%)\n", 
+                        label, share[0] / totalPlayers * 100, 
+                        share[1] / totalPlayers * 100, share[2] / totalPlayers * 100);
     }
     
     /**
      * PERGUNTA 5: Quais jogos têm maior estabilidade (menor variação)?
      * Análise: Identifica jogos com base de jogadores leal vs volátil
-     * EXPLORA: Usa busca na ABB para agrupar jogos por nome
+     * EXPLORA: Estatísticas por appid do índice (Welford) ou percurso da AVL
      */
     public void analyzePlayerStability() {
-        System.out.println("\n========================================");
-        System.out.println("PERGUNTA 5: Estabilidade da Base de Jogadores");
-        System.out.println("========================================");
-        System.out.println("Percorrendo ABB para agrupar dados temporais...\n");
-        
-        // Agrupar jogos por nome para analisar variação temporal
-        Map<String, List<Game>> gamesByName = new HashMap<>();
-        
-        if (abbTree != null && abbTree.getRaiz() != null) {
-            groupGamesByName(abbTree.getRaiz(), gamesByName);
+        StabilityQuestion question = new StabilityQuestion(index);
+        if (index == null) {
+            traverse(question); // com o índice não há o que acumular
+        }
+        question.report();
+    }
+    
+    // Agregados mantidos pelo App (LiveAnalytics e índice) cobrem os mesmos registros da AVL
+    private boolean liveReady() {
+        return live != null && index != null && avlTree instanceof AVLAgregada && live.size() == avlTree.tamanho();
+    }
+    
+    // Uma pergunta em um percurso da AVL em ordem (sem a AVL, da lista ordenada)
+    private void traverse(AnalysisEngine.Accumulator question) {
+        AnalysisEngine engine = new AnalysisEngine().add(question);
+        if (avlTree != null && avlTree.getRaiz() != null) {
+            engine.run(avlTree);
         } else {
-            System.out.println("AVISO: ABB não construída, usando lista direta.");
-            for (Game game : allGames) {
-                gamesByName.computeIfAbsent(game.getName(), k -> new ArrayList<>()).add(game);
-            }
+            System.out.println("AVISO: AVL não construída, usando lista direta.");
+            engine.run(allGames);
         }
-        
-        List<GameStabilityInfo> stabilityList = new ArrayList<>();
-        
-        for (Map.Entry<String, List<Game>> entry : gamesByName.entrySet()) {
-            if (entry.getValue().size() > 1) { // Precisa de pelo menos 2 pontos de dados
-                String gameName = entry.getKey();
-                List<Game> gameHistory = entry.getValue();
-                
-                double avgPlayers = 0;
-                double maxVariation = 0;
-                
-                for (Game g : gameHistory) {
-                    avgPlayers += g.getAvgPlayers();
+    }
+    
+    // Os 10 mais estáveis e os 10 mais voláteis em dois heaps limitados: O(jogos log 10),
+    // sem ordenar nem copiar a lista inteira. Empates de variação saem pelo nome
+    private static class StabilityRanking {
+        private static final int SHOWN = 10;
+        private static final Comparator<String> NAME_ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+        private static final Comparator<PlayerStats> ORDER = (a, b) -> {
+            int cmp = Double.compare(a.getMaxRelativeDeviation(), b.getMaxRelativeDeviation());
+            return cmp != 0 ? cmp : NAME_ORDER.compare(a.getName(), b.getName());
+        };
+        
+        // No topo de cada heap fica o pior colocado dele, o próximo a sair
+        private final PriorityQueue<PlayerStats> stable = new PriorityQueue<>(SHOWN + 1, ORDER.reversed());
+        private final PriorityQueue<PlayerStats> unstable = new PriorityQueue<>(SHOWN + 1, ORDER);
+        
+        void offer(PlayerStats stats) {
+            if (stable.size() < SHOWN || ORDER.compare(stats, stable.peek()) < 0) {
+                stable.add(stats);
+                if (stable.size() > SHOWN) {
+                    stable.poll();
                 }
-                avgPlayers /= gameHistory.size();
-                
-                // Calcular variação máxima
-                for (Game g : gameHistory) {
-                    double variation = Math.abs((g.getAvgPlayers() - avgPlayers) / avgPlayers);
-                    if (variation > maxVariation) {
-                        maxVariation = variation;
-                    }
+            }
+            if (unstable.size() < SHOWN || ORDER.compare(stats, unstable.peek()) > 0) {
+                unstable.add(stats);
+                if (unstable.size() > SHOWN) {
+                    unstable.poll();
                 }
-                
-                stabilityList.add(new GameStabilityInfo(gameName, avgPlayers, maxVariation));
             }
         }
         
-        // Ordenar por estabilidade (menor variação)
-        stabilityList.sort((s1, s2) -> Double.compare(s1.variation, s2.variation));
-        
-        System.out.println("Jogos mais estáveis (menor variação):");
-        for (int i = 0; i < Math.min(10, stabilityList.size()); i++) {
-            GameStabilityInfo info = stabilityList.get(i);
-            System.out.printf("%d. %s - Variação: %.2f%% - Média: %.2f jogadores\n", 
-                            i+1, info.name, info.variation * 100, info.avgPlayers);
+        void print() {
+            System.out.println("Jogos mais estáveis (menor variação):");
+            printDrained(stable);
+            System.out.println("\nJogos mais voláteis (maior variação):");
+            printDrained(unstable);
         }
         
-        System.out.println("\nJogos mais voláteis (maior variação):");
-        for (int i = stabilityList.size() - 1; i >= Math.max(0, stabilityList.size() - 10); i--) {
-            GameStabilityInfo info = stabilityList.get(i);
-            System.out.printf("%d. %s - Variação: %.2f%% - Média: %.2f jogadores\n", 
-                            stabilityList.size() - i, info.name, info.variation * 100, info.avgPlayers);
-        }
-        System.out.println("========================================\n");
-    }
-    
-    // Percorre ABB agrupando jogos por nome
-    private void groupGamesByName(Node<Game> node, Map<String, List<Game>> gamesByName) {
-        if (node != null) {
-            groupGamesByName(node.getFilhoEsq(), gamesByName);
-            
-            Game game = node.getValue();
-            gamesByName.computeIfAbsent(game.getName(), k -> new ArrayList<>()).add(game);
-            
-            groupGamesByName(node.getFilhoDir(), gamesByName);
+        // Esvazia o heap (do pior colocado ao melhor) e exibe do melhor ao pior
+        private static void printDrained(PriorityQueue<PlayerStats> heap) {
+            PlayerStats[] shown = new PlayerStats[heap.size()];
+            for (int i = 0; i < shown.length; i++) {
+                shown[i] = heap.poll();
+            }
+            for (int i = shown.length - 1; i >= 0; i--) {
+                PlayerStats stats = shown[i];
+                System.out.printf("%d. %s - Variação: %.2f%% - Média: %.2f jogadores (mín. %.2f, máx. %.2f)\n", 
+                                shown.length - i, stats.getName(), stats.getMaxRelativeDeviation() * 100,
+                                stats.getMean(), stats.getMin(), stats.getMax());
+            }
         }
     }
     
@@ -411,36 +300,593 @@ public class DataAnalyzer {
         
         System.out.println("\nUtilizando estruturas de dados ABB e AVL para análises...\n");
         
-        analyzeHighPerformanceGames(5000.0);
-        analyzeGrowthTrends();
-        analyzePeakPerformance(10000);
-        analyzeMarketDistribution();
-        analyzePlayerStability();
+        if (liveReady()) {
+            reportLive(5000.0, 10000);
+            return;
+        }
+        
+        // As cinco perguntas em um único percurso da AVL, dividido entre os núcleos
+        long start = System.nanoTime();
+        AnalysisEngine engine = allAnalyses(5000.0, 10000, index);
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int visited = engine.runParallel(avlTree, pool);
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("Percurso único da AVL: %d registros, 5 perguntas em %.1f ms (%d threads)\n", 
+                        visited, elapsed / 1e6, pool.getParallelism());
+        engine.report();
+    }
+    
+    // As cinco respostas saem dos agregados mantidos a cada alteração (LiveAnalytics,
+    // AVL agregada e PlayerStats do índice), sem percorrer os registros: O(log n) cada,
+    // mais os itens exibidos; a estabilidade custa O(jogos log 10)
+    private void reportLive(double highThreshold, int peakThreshold) {
+        AVLAgregada aggregated = (AVLAgregada) avlTree;
+        long start = System.nanoTime();
+        HighPerformanceQuestion high = new HighPerformanceQuestion(highThreshold);
+        high.load(aggregated, live);
+        GrowthQuestion growth = new GrowthQuestion();
+        growth.load(live);
+        PeakQuestion peak = new PeakQuestion(peakThreshold);
+        peak.load(aggregated, live);
+        MarketQuestion market = new MarketQuestion();
+        market.load(aggregated);
+        StabilityQuestion stability = new StabilityQuestion(index);
+        stability.rank();
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("Agregados mantidos a cada alteração: %d registros, 5 perguntas em %.3f ms\n", 
+                        live.size(), elapsed / 1e6);
+        high.report();
+        growth.report();
+        peak.report();
+        market.report();
+        stability.report();
+    }
+    
+    /**
+     * Motor com as cinco perguntas registradas, na ordem da apresentação
+     */
+    public static AnalysisEngine allAnalyses(double highThreshold, int peakThreshold) {
+        return allAnalyses(highThreshold, peakThreshold, null);
+    }
+    
+    /**
+     * Idem, com a estabilidade lida das PlayerStats do índice (null = acumuladas no percurso)
+     */
+    public static AnalysisEngine allAnalyses(double highThreshold, int peakThreshold, GameIndex index) {
+        return new AnalysisEngine()
+            .add(new HighPerformanceQuestion(highThreshold))
+            .add(new GrowthQuestion())
+            .add(new PeakQuestion(peakThreshold))
+            .add(new MarketQuestion())
+            .add(new StabilityQuestion(index));
+    }
+    
+    // PERGUNTA 1 em um percurso: os registros chegam em ordem crescente de média, então
+    // o último registro de cada nome é o maior dele. Os 5 nomes vistos por último são
+    // o top 5 de nomes únicos (um nome que reaparece volta para o fim da fila)
+    private static class HighPerformanceQuestion implements AnalysisEngine.Accumulator {
+        private static final int TOP = 5;
+        private final double threshold;
+        private int total;
+        private int count;
+        private double totalRevenue;
+        private double totalGain;
+        private final Game[] recent = new Game[TOP]; // nomes distintos, do mais antigo ao mais recente
+        private int recentCount;
+        
+        HighPerformanceQuestion(double threshold) {
+            this.threshold = threshold;
+        }
+        
+        public void begin(int total) {
+            this.total = total;
+        }
+        
+        public boolean splittable() {
+            return true;
+        }
+        
+        public AnalysisEngine.Accumulator fork(int first) {
+            HighPerformanceQuestion part = new HighPerformanceQuestion(threshold);
+            part.total = total;
+            return part;
+        }
+        
+        // Os nomes do trecho seguinte são os mais recentes; antes deles, os daqui que não se repetem lá
+        public void join(AnalysisEngine.Accumulator next) {
+            HighPerformanceQuestion other = (HighPerformanceQuestion) next;
+            count += other.count;
+            totalRevenue += other.totalRevenue;
+            totalGain += other.totalGain;
+            List<Game> merged = new ArrayList<>();
+            for (int i = 0; i < recentCount; i++) {
+                boolean repeated = false;
+                for (int k = 0; k < other.recentCount && !repeated; k++) {
+                    repeated = other.recent[k].getName().equals(recent[i].getName());
+                }
+                if (!repeated) {
+                    merged.add(recent[i]);
+                }
+            }
+            for (int k = 0; k < other.recentCount; k++) {
+                merged.add(other.recent[k]);
+            }
+            merged = merged.subList(Math.max(0, merged.size() - TOP), merged.size());
+            recentCount = merged.size();
+            merged.toArray(recent);
+        }
+        
+        public void accept(Game game) {
+            if (game.getAvgPlayers() > threshold) {
+                count++;
+                totalRevenue += game.getAvgPlayers();
+                totalGain += game.getGain();
+                int i = 0;
+                while (i < recentCount && !recent[i].getName().equals(game.getName())) {
+                    i++;
+                }
+                if (i == recentCount) {
+                    if (recentCount < TOP) {
+                        recentCount++;
+                    } else {
+                        i = 0; // descarta o nome mais antigo
+                    }
+                }
+                System.arraycopy(recent, i + 1, recent, i, recentCount - 1 - i);
+                recent[recentCount - 1] = game;
+            }
+        }
+        
+        // Contagem e somas da AVL agregada; top 5 da maior média de cada nome
+        void load(AVLAgregada tree, LiveAnalytics live) {
+            total = live.size();
+            AVLAgregada.Resumo summary = tree.resumoAcima(threshold);
+            count = summary.getQuantidade();
+            totalRevenue = summary.getSomaMedia();
+            totalGain = summary.getSomaGanho();
+            List<Game> top = live.topAverages(threshold, TOP);
+            recentCount = top.size();
+            for (int i = 0; i < recentCount; i++) {
+                recent[recentCount - 1 - i] = top.get(i);
+            }
+        }
+        
+        public void report() {
+            System.out.println("\n========================================");
+            System.out.println("PERGUNTA 1: Jogos com Alta Performance");
+            System.out.println("========================================");
+            System.out.printf("Analisando jogos com média acima de %.2f jogadores\n\n", threshold);
+            System.out.println("Total de jogos acima do limiar: " + count);
+            System.out.printf("Percentual: %.2f%%\n", (count * 100.0 / total));
+            System.out.printf("Estimativa de engajamento total: %.2f\n", totalRevenue);
+            System.out.printf("Ganho líquido de jogadores no mês: %.2f\n", totalGain);
+            
+            System.out.println("\n📝 NOTA: O dataset contém múltiplos registros do mesmo jogo");
+            System.out.println("(um para cada mês). Mostrando apenas jogos com nomes únicos:\n");
+            
+            System.out.println("Top 5 jogos mais populares (nomes únicos):");
+            for (int i = recentCount - 1; i >= 0; i--) {
+                Game g = recent[i];
+                System.out.printf("%d. %s - %.2f jogadores (Pico: %d) - Mês: %s\n", 
+                                recentCount - i, g.getName(), g.getAvgPlayers(), g.getPeakPlayers(), g.getMonth());
+            }
+            System.out.println("========================================\n");
+        }
+    }
+    
+    // PERGUNTA 2: as mesmas somas de analyzeGrowthTrends, registro a registro
+    private static class GrowthQuestion implements AnalysisEngine.Accumulator {
+        private final GrowthStats stats = new GrowthStats();
+        
+        public void accept(Game game) {
+            processGrowthData(game, stats);
+        }
+        
+        public boolean splittable() {
+            return true;
+        }
+        
+        public AnalysisEngine.Accumulator fork(int first) {
+            return new GrowthQuestion();
+        }
+        
+        // Em empate fica o extremo deste trecho, que vem antes (como no percurso sequencial)
+        public void join(AnalysisEngine.Accumulator next) {
+            GrowthStats other = ((GrowthQuestion) next).stats;
+            stats.totalGrowth += other.totalGrowth;
+            stats.totalGames += other.totalGames;
+            stats.positiveGrowth += other.positiveGrowth;
+            stats.negativeGrowth += other.negativeGrowth;
+            if (other.maxGrowth > stats.maxGrowth) {
+                stats.maxGrowth = other.maxGrowth;
+                stats.fastestGrowing = other.fastestGrowing;
+            }
+            if (other.minGrowth < stats.minGrowth) {
+                stats.minGrowth = other.minGrowth;
+                stats.fastestDeclining = other.fastestDeclining;
+            }
+        }
+        
+        // Extremos só substituem os valores iniciais de GrowthStats se os passarem, como em processGrowthData
+        void load(LiveAnalytics live) {
+            stats.totalGames = live.size();
+            stats.totalGrowth = live.getTotalGrowth();
+            stats.positiveGrowth = live.getPositiveGrowth();
+            stats.negativeGrowth = live.getNegativeGrowth();
+            Game max = live.maxGrowth();
+            if (max != null && max.getGainPercent() > stats.maxGrowth) {
+                stats.maxGrowth = max.getGainPercent();
+                stats.fastestGrowing = max.getName() + " (" + max.getMonth() + ")";
+            }
+            Game min = live.minGrowth();
+            if (min != null && min.getGainPercent() < stats.minGrowth) {
+                stats.minGrowth = min.getGainPercent();
+                stats.fastestDeclining = min.getName() + " (" + min.getMonth() + ")";
+            }
+        }
+        
+        public void report() {
+            System.out.println("\n========================================");
+            System.out.println("PERGUNTA 2: Análise de Crescimento");
+            System.out.println("========================================");
+            double avgGrowth = stats.totalGrowth / stats.totalGames;
+            
+            System.out.printf("Crescimento médio: %.2f%%\n", avgGrowth * 100);
+            System.out.printf("Jogos em crescimento: %d (%.2f%%)\n", 
+                            stats.positiveGrowth, (stats.positiveGrowth * 100.0 / stats.totalGames));
+            System.out.printf("Jogos em declínio: %d (%.2f%%)\n", 
+                            stats.negativeGrowth, (stats.negativeGrowth * 100.0 / stats.totalGames));
+            System.out.printf("\nMaior crescimento: %.2f%% - %s\n", stats.maxGrowth * 100, stats.fastestGrowing);
+            System.out.printf("Maior declínio: %.2f%% - %s\n", stats.minGrowth * 100, stats.fastestDeclining);
+            System.out.println("========================================\n");
+        }
+    }
+    
+    // PERGUNTA 3 em um percurso: mantém só os 10 nomes com maior pico até agora (com a
+    // posição do registro, para desempatar como a ordenação estável de analyzePeakPerformance).
+    // Com o top cheio, um registro que não passa do menor pico dele é descartado direto
+    private static class PeakQuestion implements AnalysisEngine.Accumulator {
+        private static final int TOP = 10;
+        private final int threshold;
+        private int count;
+        private int maxPeak;
+        private int position;
+        private final Game[] top = new Game[TOP];
+        private final int[] topPosition = new int[TOP];
+        private int topCount;
+        private int worst; // índice do menor pico do top (o mais recente em empates)
+        
+        PeakQuestion(int threshold) {
+            this.threshold = threshold;
+        }
+        
+        public void accept(Game game) {
+            int peak = game.getPeakPlayers();
+            maxPeak = Math.max(maxPeak, peak);
+            if (peak > threshold) {
+                count++;
+                // Empate com o pior não entra: ele foi visto antes
+                if (topCount < TOP || peak > top[worst].getPeakPlayers()) {
+                    offer(game, peak, position);
+                }
+            }
+            position++;
+        }
+        
+        public boolean splittable() {
+            return true;
+        }
+        
+        public AnalysisEngine.Accumulator fork(int first) {
+            PeakQuestion part = new PeakQuestion(threshold);
+            part.position = first;
+            return part;
+        }
+        
+        // O top do trecho seguinte não está em ordem de posição: no empate com o pior
+        // daqui, a posição decide (aqui as posições são sempre menores)
+        public void join(AnalysisEngine.Accumulator next) {
+            PeakQuestion other = (PeakQuestion) next;
+            count += other.count;
+            maxPeak = Math.max(maxPeak, other.maxPeak);
+            for (int k = 0; k < other.topCount; k++) {
+                int peak = other.top[k].getPeakPlayers();
+                if (topCount < TOP || peak > top[worst].getPeakPlayers()
+                    || (peak == top[worst].getPeakPlayers() && other.topPosition[k] < topPosition[worst])) {
+                    offer(other.top[k], peak, other.topPosition[k]);
+                }
+            }
+            position = other.position;
+        }
+        
+        private void offer(Game game, int peak, int position) {
+            int i = 0;
+            while (i < topCount && !top[i].getName().equals(game.getName())) {
+                i++;
+            }
+            if (i < topCount) {
+                if (peak <= top[i].getPeakPlayers()) {
+                    return; // o nome já está no top com um pico maior ou igual
+                }
+            } else if (topCount < TOP) {
+                topCount++;
+            } else {
+                i = worst;
+            }
+            top[i] = game;
+            topPosition[i] = position;
+            worst = 0;
+            for (int k = 1; k < topCount; k++) {
+                int peakK = top[k].getPeakPlayers();
+                int peakWorst = top[worst].getPeakPlayers();
+                if (peakK < peakWorst || (peakK == peakWorst && topPosition[k] > topPosition[worst])) {
+                    worst = k;
+                }
+            }
+        }
+        
+        // A posição de cada registro do top (para o desempate) sai do rank na AVL
+        void load(AVL<Game> tree, LiveAnalytics live) {
+            count = live.countPeaksAbove(threshold);
+            maxPeak = Math.max(0, live.maxPeak());
+            List<Game> best = live.topPeaks(threshold, TOP);
+            topCount = best.size();
+            for (int i = 0; i < topCount; i++) {
+                top[i] = best.get(i);
+                topPosition[i] = tree.rank(top[i]);
+            }
+        }
+        
+        public void report() {
+            System.out.println("\n========================================");
+            System.out.println("PERGUNTA 3: Análise de Picos de Jogadores");
+            System.out.println("========================================");
+            System.out.printf("Analisando jogos com pico acima de %d jogadores\n\n", threshold);
+            System.out.println("Maior pico do dataset: " + maxPeak);
+            System.out.println("Total de registros com picos excepcionais: " + count);
+            
+            System.out.println("\n📝 NOTA: O dataset contém múltiplos registros do mesmo jogo");
+            System.out.println("(um para cada mês). Mostrando apenas jogos com nomes únicos:");
+            System.out.println("Isso permite ver a DIVERSIDADE de jogos que atingiram picos altos.\n");
+            
+            Integer[] order = new Integer[topCount];
+            for (int i = 0; i < topCount; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> top[a].getPeakPlayers() != top[b].getPeakPlayers()
+                ? Integer.compare(top[b].getPeakPlayers(), top[a].getPeakPlayers())
+                : Integer.compare(topPosition[a], topPosition[b]));
+            System.out.println("Top 10 maiores picos (jogos únicos):");
+            for (int i = 0; i < topCount; i++) {
+                Game g = top[order[i]];
+                double peakRatio = g.getPeakPlayers() / g.getAvgPlayers();
+                System.out.printf("%d. %s - Pico: %d jogadores (%.1fx a média) - %s\n", 
+                                i + 1, g.getName(), g.getPeakPlayers(), peakRatio, g.getMonth());
+            }
+            System.out.println("========================================\n");
+        }
+    }
+    
+    // PERGUNTA 4 em um percurso: com o total conhecido em begin, a posição de cada
+    // registro diz em quais fatias do topo ele entra
+    private static class MarketQuestion implements AnalysisEngine.Accumulator {
+        private int total;
+        private int position;
+        private final int[] starts = new int[3];
+        private final double[] topSums = new double[3];
+        private final Game[] cuts = new Game[3];
+        private double totalPlayers;
+        private static final double[] SHARES = {0.1, 0.25, 0.5};
+        
+        public void begin(int total) {
+            this.total = total;
+            for (int i = 0; i < SHARES.length; i++) {
+                starts[i] = total - (int)(total * SHARES[i]);
+            }
+        }
+        
+        public boolean splittable() {
+            return true;
+        }
+        
+        public AnalysisEngine.Accumulator fork(int first) {
+            MarketQuestion part = new MarketQuestion();
+            part.begin(total);
+            part.position = first;
+            return part;
+        }
+        
+        public void join(AnalysisEngine.Accumulator next) {
+            MarketQuestion other = (MarketQuestion) next;
+            totalPlayers += other.totalPlayers;
+            for (int i = 0; i < SHARES.length; i++) {
+                topSums[i] += other.topSums[i];
+                if (cuts[i] == null) {
+                    cuts[i] = other.cuts[i];
+                }
+            }
+            position = other.position;
+        }
+        
+        public void accept(Game game) {
+            double players = game.getAvgPlayers();
+            totalPlayers += players;
+            for (int i = 0; i < SHARES.length; i++) {
+                if (position >= starts[i]) {
+                    topSums[i] += players;
+                    if (position == starts[i]) {
+                        cuts[i] = game;
+                    }
+                }
+            }
+            position++;
+        }
+        
+        // Soma total na raiz e somas de prefixo por posição, como em analyzeMarketDistribution
+        void load(AVLAgregada tree) {
+            begin(tree.tamanho());
+            totalPlayers = tree.resumoTotal().getSomaMedia();
+            for (int i = 0; i < SHARES.length; i++) {
+                topSums[i] = totalPlayers - tree.somaMenores(starts[i]);
+                cuts[i] = tree.select(starts[i]);
+            }
+        }
+        
+        public void report() {
+            System.out.println("\n========================================");
+            System.out.println("PERGUNTA 4: Distribuição de Mercado");
+            System.out.println("========================================");
+            for (int i = 0; i < SHARES.length; i++) {
+                if (cuts[i] != null) {
+                    System.out.printf("Corte do top %d%%: %.2f jogadores (posição %d de %d)\n", 
+                                    Math.round(SHARES[i] * 100), cuts[i].getAvgPlayers(), total - starts[i], total);
+                }
+            }
+            System.out.println();
+            System.out.printf("Total de jogadores analisados: %.2f\n\n", totalPlayers);
+            System.out.printf("Top 10%% dos jogos representam: %.2f%% dos jogadores\n", 
+                            (topSums[0] / totalPlayers) * 100);
+            System.out.printf("Top 25%% dos jogos representam: %.2f%% dos jogadores\n", 
+                            (topSums[1] / totalPlayers) * 100);
+            System.out.printf("Top 50%% dos jogos representam: %.2f%% dos jogadores\n", 
+                            (topSums[2] / totalPlayers) * 100);
+            
+            System.out.println("\nInterpretação:");
+            if ((topSums[0] / totalPlayers) > 0.5) {
+                System.out.println("- Mercado altamente concentrado em poucos jogos");
+            } else {
+                System.out.println("- Mercado com boa distribuição entre os jogos");
+            }
+            System.out.println("========================================\n");
+        }
+    }
+    
+    // PERGUNTA 5: estatísticas por appid (PlayerStats, Welford). Com o índice do App elas
+    // já estão prontas e o percurso não faz nada; sem ele, são acumuladas aqui e as partes
+    // do percurso paralelo se juntam com PlayerStats.merge
+    private static class StabilityQuestion implements AnalysisEngine.Accumulator {
+        private final GameIndex index;
+        private final Map<Integer, PlayerStats> byAppid = new HashMap<>();
+        private StabilityRanking ranking;
+        
+        StabilityQuestion(GameIndex index) {
+            this.index = index;
+        }
+        
+        public void accept(Game game) {
+            if (index == null) {
+                byAppid.computeIfAbsent(game.getSteamAppid(), k -> new PlayerStats(k, game.getName()))
+                       .add(game.getAvgPlayers());
+            }
+        }
+        
+        public boolean splittable() {
+            return true;
+        }
+        
+        public AnalysisEngine.Accumulator fork(int first) {
+            return new StabilityQuestion(index);
+        }
+        
+        public void join(AnalysisEngine.Accumulator next) {
+            for (PlayerStats other : ((StabilityQuestion) next).byAppid.values()) {
+                PlayerStats stats = byAppid.putIfAbsent(other.getSteamAppid(), other);
+                if (stats != null) {
+                    stats.merge(other);
+                }
+            }
+        }
+        
+        // Passa cada jogo pelos dois heaps (feito em report se ainda não foi)
+        void rank() {
+            ranking = new StabilityRanking();
+            for (PlayerStats stats : statsByGame()) {
+                // Precisa de pelo menos 2 pontos de dados; com média 0 (nenhum jogador
+                // em todos os meses) a variação relativa não existe e o jogo fica de fora
+                if (stats.getCount() > 1 && stats.getMean() != 0) {
+                    ranking.offer(stats);
+                }
+            }
+        }
+        
+        private Collection<PlayerStats> statsByGame() {
+            return index != null ? index.playerStats() : byAppid.values();
+        }
+        
+        public void report() {
+            System.out.println("\n========================================");
+            System.out.println("PERGUNTA 5: Estabilidade da Base de Jogadores");
+            System.out.println("========================================");
+            
+            if (index != null) {
+                System.out.println("Usando estatísticas por appid mantidas pelo índice (" + statsByGame().size() + " jogos)...\n");
+            }
+            if (ranking == null) {
+                rank();
+            }
+            ranking.print();
+            System.out.println("========================================\n");
+        }
     }
     
     /**
-     * Busca jogos em um intervalo de média de jogadores
+     * Resumo de um intervalo de média de jogadores: quantidade, soma das médias
+     * e maior pico. Na AVL agregada sai em O(log n), sem visitar os registros.
+     */
+    public void printRangeSummary(double minAvg, double maxAvg) {
+        if (!(avlTree instanceof AVLAgregada)) {
+            return;
+        }
+        AVLAgregada.Resumo summary = ((AVLAgregada) avlTree).resumoIntervalo(minAvg, maxAvg);
+        System.out.printf("Resumo do intervalo: %d registro(s) | soma das médias: %.2f | maior pico: %d\n",
+                        summary.getQuantidade(), summary.getSomaMedia(), summary.getMaxPico());
+    }
+    
+    /**
+     * Busca jogos em um intervalo de média de jogadores.
+     * As duas árvores são ordenadas por essa média, então a busca desce só nas
+     * subárvores que cruzam o intervalo: O(log n + k) na AVL.
      */
     public List<Game> searchGamesInRange(double minAvg, double maxAvg) {
         List<Game> result = new ArrayList<>();
         
-        for (Game game : allGames) {
-            if (game.getAvgPlayers() >= minAvg && game.getAvgPlayers() <= maxAvg) {
-                result.add(game);
+        Iterator<Game> it;
+        if (avlTree != null && avlTree.getRaiz() != null) {
+            it = avlTree.range(Game.lowerBound(minAvg), Game.upperBound(maxAvg));
+        } else if (abbTree != null && abbTree.getRaiz() != null) {
+            it = abbTree.range(Game.lowerBound(minAvg), Game.upperBound(maxAvg));
+        } else if (mappedTree != null) {
+            it = mappedTree.range(Game.lowerBound(minAvg), Game.upperBound(maxAvg));
+        } else {
+            for (Game game : allGames) {
+                if (game.getAvgPlayers() >= minAvg && game.getAvgPlayers() <= maxAvg) {
+                    result.add(game);
+                }
             }
+            return result;
         }
         
+        while (it.hasNext()) {
+            result.add(it.next());
+        }
         return result;
     }
     
     /**
      * Busca jogos por nome (busca parcial)
+     * Com o índice, o trecho é comparado só com os nomes distintos já normalizados
      */
     public List<Game> searchGamesByName(String namePattern) {
+        if (index != null) {
+            return index.searchByName(namePattern);
+        }
         List<Game> result = new ArrayList<>();
         String pattern = namePattern.toLowerCase();
         
-        for (Game game : allGames) {
+        Iterator<Game> it = mappedTree != null && allGames.isEmpty()
+                          ? mappedTree.range(null, null) : allGames.iterator();
+        while (it.hasNext()) {
+            Game game = it.next();
             if (game.getName().toLowerCase().contains(pattern)) {
                 result.add(game);
             }
@@ -448,17 +894,4 @@ public class DataAnalyzer {
         
         return result;
     }
-    
-    // Classe auxiliar para armazenar informações de estabilidade
-    private static class GameStabilityInfo {
-        String name;
-        double avgPlayers;
-        double variation;
-        
-        GameStabilityInfo(String name, double avgPlayers, double variation) {
-            this.name = name;
-            this.avgPlayers = avgPlayers;
-            this.variation = variation;
-        }
-    }
 }
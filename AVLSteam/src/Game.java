@@ -1,4 +1,12 @@
+import java.util.Comparator;
+
 public class Game implements Comparable<Game> {
+    private static final String[] MONTH_NAMES = {"Jan", "Feb", "Mar", "Apr", "May", "Jun",
+                                                 "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
+    
+    // Mês no formato "Sep-25" guardado como ano * 12 + mês (0 = Jan), sem String por registro.
+    // Valores fora desse formato (ex.: "Last 30 Days") ficam em month, com monthKey = -1
+    private int monthKey;
     private String month;
     private double avgPlayers;
     private double gain;
@@ -9,7 +17,20 @@ public class Game implements Comparable<Game> {
 
     public Game(String month, double avgPlayers, double gain, double gainPercent, 
                 int peakPlayers, String name, int steamAppid) {
-        this.month = month;
+        setMonth(month);
+        this.avgPlayers = avgPlayers;
+        this.gain = gain;
+        this.gainPercent = gainPercent;
+        this.peakPlayers = peakPlayers;
+        this.name = name;
+        this.steamAppid = steamAppid;
+    }
+
+    // Para os leitores da classe que já converteram o mês (monthKey de packMonth, >= 0);
+    // mês fora do formato ou ausente usa o construtor com String
+    Game(int monthKey, double avgPlayers, double gain, double gainPercent, 
+         int peakPlayers, String name, int steamAppid) {
+        this.monthKey = checkMonthKey(monthKey);
         this.avgPlayers = avgPlayers;
         this.gain = gain;
         this.gainPercent = gainPercent;
@@ -20,7 +41,12 @@ public class Game implements Comparable<Game> {
 
     // Getters
     public String getMonth() {
-        return month;
+        return monthKey >= 0 ? monthText(monthKey) : month;
+    }
+
+    // ano * 12 + mês (0 = Jan), ou -1 se o mês não estiver no formato "Mmm-AA"
+    public int getMonthKey() {
+        return monthKey;
     }
 
     public double getAvgPlayers() {
@@ -49,7 +75,14 @@ public class Game implements Comparable<Game> {
 
     // Setters
     public void setMonth(String month) {
-        this.month = month;
+        this.monthKey = packMonth(month);
+        this.month = monthKey >= 0 ? null : month;
+    }
+
+    // Mês já convertido por packMonth (leitores de arquivos binários), sem reler o texto
+    void setMonthKey(int monthKey) {
+        this.monthKey = checkMonthKey(monthKey);
+        this.month = null;
     }
 
     public void setAvgPlayers(double avgPlayers) {
@@ -76,25 +109,112 @@ public class Game implements Comparable<Game> {
         this.steamAppid = steamAppid;
     }
 
+    // Ordem total usada pelas árvores: média de jogadores, depois appid e mês
+    // (cronológico; meses fora do formato "Mmm-AA" vêm antes, em ordem alfabética).
+    // Registros diferentes com a mesma média deixam de ser "iguais", então busca e
+    // remoção encontram exatamente o registro pedido com uma única descida.
+    public static final Comparator<Game> COMPOSITE_ORDER = (a, b) -> {
+        int cmp = Double.compare(a.avgPlayers, b.avgPlayers);
+        if (cmp != 0) return cmp;
+        cmp = Integer.compare(a.steamAppid, b.steamAppid);
+        if (cmp != 0) return cmp;
+        cmp = Integer.compare(a.monthKey, b.monthKey);
+        if (cmp != 0 || a.monthKey >= 0) return cmp;
+        if (a.month == null || b.month == null) {
+            return a.month == null ? (b.month == null ? 0 : -1) : 1;
+        }
+        return a.month.compareTo(b.month);
+    };
+
+    // Limites para buscas por intervalo de média nas árvores: registros de
+    // consulta que ficam antes/depois de qualquer jogo com a mesma média
+    public static Game lowerBound(double avgPlayers) {
+        return new Game(null, avgPlayers, 0, 0, 0, null, Integer.MIN_VALUE);
+    }
+
+    public static Game upperBound(double avgPlayers) {
+        return new Game(null, avgPlayers, 0, 0, 0, null, Integer.MAX_VALUE);
+    }
+
     @Override
     public int compareTo(Game other) {
-        // Comparação primária por número médio de jogadores
-        return Double.compare(this.avgPlayers, other.avgPlayers);
+        // Ordem natural = ordem total das árvores (média de jogadores, appid e mês),
+        // para que árvores sem Comparator busquem e removam o registro exato
+        return COMPOSITE_ORDER.compare(this, other);
     }
 
     @Override
     public String toString() {
         return String.format("Game{name='%s', month='%s', avgPlayers=%.2f, peakPlayers=%d, appid=%d}", 
-                             name, month, avgPlayers, peakPlayers, steamAppid);
+                             name, getMonth(), avgPlayers, peakPlayers, steamAppid);
     }
 
     // Métodos auxiliares para análise
     public int getYear() {
+        if (monthKey >= 0) {
+            return monthKey / 12;
+        }
         String[] parts = month.split("-");
         return Integer.parseInt(parts[1]) + 2000;
     }
 
     public String getMonthName() {
+        if (monthKey >= 0) {
+            return MONTH_NAMES[monthKey % 12];
+        }
         return month.split("-")[0];
     }
+
+    // Texto de cada mês de 2000 a 2099, criado uma vez e compartilhado por todos os registros
+    private static final String[] MONTH_TEXT = new String[100 * 12];
+    private static final int FIRST_MONTH_KEY = 2000 * 12;
+    
+    // Só chaves que packMonth produz (Jan-00 a Dec-99): getMonth, getYear e getMonthName dependem disso
+    private static int checkMonthKey(int monthKey) {
+        if (monthKey < FIRST_MONTH_KEY || monthKey >= FIRST_MONTH_KEY + MONTH_TEXT.length) {
+            throw new IllegalArgumentException("monthKey inválido: " + monthKey);
+        }
+        return monthKey;
+    }
+
+    /**
+     * Converte "Sep-25" em 2025 * 12 + 8. Só aceita exatamente o formato "Mmm-AA"
+     * (o mesmo texto volta em getMonth); qualquer outro valor devolve -1
+     */
+    public static int packMonth(String month) {
+        if (month == null || month.length() != 6 || month.charAt(3) != '-') {
+            return -1;
+        }
+        return packMonth(monthIndex(month.charAt(0), month.charAt(1), month.charAt(2)),
+                         month.charAt(4), month.charAt(5));
+    }
+
+    // Índice (0 a 11) do nome abreviado, ou -1
+    static int monthIndex(int c0, int c1, int c2) {
+        for (int m = 0; m < 12; m++) {
+            String name = MONTH_NAMES[m];
+            if (name.charAt(0) == c0 && name.charAt(1) == c1 && name.charAt(2) == c2) {
+                return m;
+            }
+        }
+        return -1;
+    }
+
+    static int packMonth(int monthIndex, int d0, int d1) {
+        if (monthIndex < 0 || d0 < '0' || d0 > '9' || d1 < '0' || d1 > '9') {
+            return -1;
+        }
+        return (2000 + (d0 - '0') * 10 + (d1 - '0')) * 12 + monthIndex;
+    }
+
+    public static String monthText(int monthKey) {
+        int slot = monthKey - FIRST_MONTH_KEY;
+        String text = MONTH_TEXT[slot];
+        if (text == null) {
+            int year = monthKey / 12 - 2000;
+            text = MONTH_NAMES[monthKey % 12] + (year < 10 ? "-0" : "-") + year;
+            MONTH_TEXT[slot] = text; // corrida inofensiva: Strings iguais e imutáveis
+        }
+        return text;
+    }
 }
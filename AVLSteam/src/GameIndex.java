@@ -0,0 +1,144 @@
+import java.util.*;
+
+/**
+ * Índices secundários dos registros, mantidos junto com as árvores
+ * (App.buildTrees, insertData e removeData).
+ *
+ * As árvores são ordenadas por média de jogadores; estes índices respondem
+ * em O(1) às buscas por nome (normalizado), steamAppid e mês, sem percorrer
+ * os registros nem criar Strings a cada consulta.
+ *
+ * Também mantém as estatísticas correntes (PlayerStats) de cada steamAppid,
+ * usadas pela análise de estabilidade.
+ */
+public class GameIndex {
+
+    private final Map<String, List<Game>> byName = new HashMap<>();
+    private final Map<Integer, List<Game>> byAppid = new HashMap<>();
+    // Chave: mês compactado (Game.getMonthKey) ou, fora do formato "Mmm-AA", o texto do mês
+    private final Map<Object, List<Game>> byMonth = new HashMap<>();
+    private final Map<Integer, PlayerStats> statsByAppid = new HashMap<>();
+
+    public GameIndex() {
+    }
+
+    public GameIndex(Collection<Game> games) {
+        for (Game game : games) {
+            add(game);
+        }
+    }
+
+    /**
+     * Forma usada como chave do índice de nomes (sem espaços nas pontas, minúsculas)
+     */
+    public static String normalize(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public void add(Game game) {
+        byName.computeIfAbsent(normalize(game.getName()), k -> new ArrayList<>()).add(game);
+        byAppid.computeIfAbsent(game.getSteamAppid(), k -> new ArrayList<>()).add(game);
+        byMonth.computeIfAbsent(monthKey(game), k -> new ArrayList<>()).add(game);
+        statsByAppid.computeIfAbsent(game.getSteamAppid(), k -> new PlayerStats(k, game.getName()))
+                    .add(game.getAvgPlayers());
+    }
+
+    public void remove(Game game) {
+        removeFrom(byName, normalize(game.getName()), game);
+        boolean removed = removeFrom(byAppid, game.getSteamAppid(), game);
+        removeFrom(byMonth, monthKey(game), game);
+        PlayerStats stats = statsByAppid.get(game.getSteamAppid());
+        if (removed && stats != null) {
+            List<Game> history = getByAppid(game.getSteamAppid());
+            if (history.isEmpty()) {
+                statsByAppid.remove(game.getSteamAppid());
+            } else if (stats.remove(game.getAvgPlayers())) {
+                stats.refreshExtremes(history); // só quando o extremo saiu: O(registros do jogo)
+            }
+        }
+    }
+
+    private static Object monthKey(Game game) {
+        return game.getMonthKey() >= 0 ? (Object) game.getMonthKey() : game.getMonth();
+    }
+
+    private static <K> boolean removeFrom(Map<K, List<Game>> index, K key, Game game) {
+        List<Game> group = index.get(key);
+        if (group == null || !group.remove(game)) {
+            return false;
+        }
+        if (group.isEmpty()) {
+            index.remove(key);
+        }
+        return true;
+    }
+
+    public void clear() {
+        byName.clear();
+        byAppid.clear();
+        byMonth.clear();
+        statsByAppid.clear();
+    }
+
+    // As listas devolvidas são as do próprio índice: devem ser apenas lidas
+
+    /**
+     * Registros com exatamente esse nome (ignorando maiúsculas/minúsculas)
+     */
+    public List<Game> getByName(String name) {
+        return byName.getOrDefault(normalize(name), Collections.emptyList());
+    }
+
+    public List<Game> getByAppid(int steamAppid) {
+        return byAppid.getOrDefault(steamAppid, Collections.emptyList());
+    }
+
+    public List<Game> getByMonth(String month) {
+        int key = Game.packMonth(month);
+        return byMonth.getOrDefault(key >= 0 ? (Object) key : month, Collections.emptyList());
+    }
+
+    /**
+     * Registros do mês compactado (ano * 12 + mês, como Game.getMonthKey)
+     */
+    public List<Game> getByMonth(int monthKey) {
+        return byMonth.getOrDefault(monthKey, Collections.emptyList());
+    }
+
+    /**
+     * Registros agrupados por nome normalizado (histórico de cada jogo)
+     */
+    public Collection<List<Game>> nameGroups() {
+        return byName.values();
+    }
+
+    /**
+     * Registros cujo nome contém o trecho. Compara o trecho com cada nome
+     * distinto (já normalizado), não com cada registro.
+     */
+    public List<Game> searchByName(String pattern) {
+        List<Game> result = new ArrayList<>();
+        String normalized = normalize(pattern);
+        for (Map.Entry<String, List<Game>> entry : byName.entrySet()) {
+            if (entry.getKey().contains(normalized)) {
+                result.addAll(entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Estatísticas correntes de cada steamAppid (devem ser apenas lidas)
+     */
+    public Collection<PlayerStats> playerStats() {
+        return statsByAppid.values();
+    }
+
+    public PlayerStats getStats(int steamAppid) {
+        return statsByAppid.get(steamAppid);
+    }
+
+    public int distinctNames() {
+        return byName.size();
+    }
+}
@@ -0,0 +1,206 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Carga do CSV em fluxo (produtor/consumidor).
+ *
+ * Uma thread lê o arquivo (MappedCSVReader) e publica lotes de registros; cada
+ * etapa (ex.: inserir na ABB, inserir na AVL, atualizar índices) roda em sua
+ * própria thread e consome os lotes de uma fila limitada. Quando uma etapa fica
+ * para trás, sua fila enche e a leitura espera (contrapressão), então a memória
+ * em trânsito fica limitada a capacidade x tamanho do lote por etapa.
+ * Os lotes são compartilhados entre as etapas e não devem ser alterados.
+ */
+public class IngestPipeline {
+
+    // Marca de fim de arquivo enviada a todas as etapas
+    private static final List<Game> END = new ArrayList<>();
+
+    private final int batchSize;
+    private final int queueCapacity;
+    private final List<Stage> stages = new ArrayList<>();
+    private final ParseStats parseStats = new ParseStats();
+
+    private static final class Stage {
+        final String name;
+        final Consumer<Game> action;
+        final BlockingQueue<List<Game>> queue;
+        final AtomicLong processed = new AtomicLong();
+        volatile RuntimeException error;
+        Thread thread;
+
+        Stage(String name, Consumer<Game> action, int capacity) {
+            this.name = name;
+            this.action = action;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+
+    public IngestPipeline(int batchSize, int queueCapacity) {
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Adiciona uma etapa. Cada etapa recebe todos os registros, na ordem do arquivo,
+     * sempre na mesma thread (a ação não precisa ser thread-safe)
+     */
+    public IngestPipeline addStage(String name, Consumer<Game> action) {
+        stages.add(new Stage(name, action, queueCapacity));
+        return this;
+    }
+
+    /**
+     * Contadores da última leitura (aceitos e linhas recusadas), válidos depois de run
+     */
+    public ParseStats getParseStats() {
+        return parseStats;
+    }
+
+    /**
+     * Lê o arquivo passando os registros por todas as etapas e exibe o progresso
+     * a cada progressIntervalMs. Retorna quando todas as etapas terminaram.
+     * @return Bytes do arquivo consumidos (posição inicial para acompanhar o que
+     *         for acrescentado), ou -1 se o arquivo não puder ser lido. O número de
+     *         registros fica em getParseStats().getAccepted()
+     */
+    public long run(String filePath, long progressIntervalMs) {
+        for (Stage stage : stages) {
+            stage.thread = new Thread(() -> consume(stage), "ingest-" + stage.name);
+            stage.thread.start();
+        }
+
+        Batcher batcher = new Batcher();
+        long[] result = {-1};
+        Thread producer = new Thread(() -> {
+            try {
+                result[0] = MappedCSVReader.readGames(filePath, batcher, parseStats);
+                batcher.flush();
+            } finally {
+                publish(END);
+            }
+        }, "ingest-reader");
+
+        long start = System.nanoTime();
+        producer.start();
+        try {
+            Thread running;
+            while ((running = producer.isAlive() ? producer : nextAlive()) != null) {
+                running.join(progressIntervalMs);
+                if (running.isAlive()) {
+                    printProgress(batcher.read.get(), start);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        if (result[0] >= 0) {
+            long records = parseStats.getAccepted();
+            System.out.printf("Carga concluída: %,d registros em %.1f ms (%.0f registros/s)\n",
+                            records, elapsed / 1e6, records / (elapsed / 1e9));
+            if (parseStats.getTotalRejected() > 0) {
+                System.out.printf("Linhas recusadas: %,d (detalhes nas estatísticas do dataset)\n",
+                                parseStats.getTotalRejected());
+            }
+        }
+        for (Stage stage : stages) {
+            if (stage.error != null) {
+                System.err.println("Erro na etapa " + stage.name + ": " + stage.error.getMessage());
+                return -1;
+            }
+        }
+        return result[0];
+    }
+
+    // Junta os registros lidos em lotes e publica cada lote completo
+    private final class Batcher implements Consumer<Game> {
+        final AtomicLong read = new AtomicLong();
+        private List<Game> current = new ArrayList<>(batchSize);
+
+        @Override
+        public void accept(Game game) {
+            current.add(game);
+            if (current.size() == batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            read.addAndGet(current.size());
+            publish(current);
+            current = new ArrayList<>(batchSize);
+        }
+    }
+
+    // Primeira etapa que ainda está trabalhando (ou null)
+    private Thread nextAlive() {
+        for (Stage stage : stages) {
+            if (stage.thread.isAlive()) {
+                return stage.thread;
+            }
+        }
+        return null;
+    }
+
+    // Entrega o lote a todas as etapas; bloqueia enquanto alguma fila estiver cheia
+    private void publish(List<Game> batch) {
+        if (batch.isEmpty() && batch != END) {
+            return;
+        }
+        try {
+            for (Stage stage : stages) {
+                stage.queue.put(batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Laço de uma etapa. Depois de um erro a etapa continua esvaziando a fila,
+    // para que a leitura não fique bloqueada esperando espaço
+    private static void consume(Stage stage) {
+        try {
+            while (true) {
+                List<Game> batch = stage.queue.take();
+                if (batch == END) {
+                    return;
+                }
+                if (stage.error == null) {
+                    try {
+                        for (Game game : batch) {
+                            stage.action.accept(game);
+                        }
+                        stage.processed.addAndGet(batch.size());
+                    } catch (RuntimeException e) {
+                        stage.error = e;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void printProgress(long read, long start) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        StringBuilder line = new StringBuilder();
+        line.append(String.format("  lidos: %,d", read));
+        long slowest = read;
+        int fullest = 0;
+        for (Stage stage : stages) {
+            long processed = stage.processed.get();
+            slowest = Math.min(slowest, processed);
+            fullest = Math.max(fullest, stage.queue.size());
+            line.append(String.format(" | %s: %,d", stage.name, processed));
+        }
+        line.append(String.format(" | %.0f registros/s | fila: %d/%d", slowest / seconds, fullest, queueCapacity));
+        System.out.println(line);
+    }
+}
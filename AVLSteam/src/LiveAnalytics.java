@@ -0,0 +1,268 @@
+import java.util.*;
+
+/**
+ * Agregados das perguntas exploratórias mantidos a cada inserção e remoção
+ * (App.buildTrees, insertData, removeData, acompanhamento do CSV e log).
+ *
+ * Somas e contagens são correntes. Mínimos e máximos ficam em multiconjuntos
+ * sobre AVLs (aceitam repetidos e removem um elemento em O(log n)): se o
+ * registro extremo sai, o seguinte já está na árvore. Cada alteração custa
+ * O(log n) e as consultas não percorrem os registros.
+ *
+ * Contagens, somas e cortes por faixa de média (perguntas 1 e 4) já saem em
+ * O(log n) da AVLAgregada e as estatísticas de estabilidade (pergunta 5), das
+ * PlayerStats do GameIndex; nenhuma delas é repetida aqui.
+ */
+public class LiveAnalytics {
+
+    private static final Comparator<String> NAME_ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    // Crescimento e, em empate, a ordem das árvores: entre registros com o mesmo
+    // crescimento, o primeiro é o que o percurso em ordem encontra primeiro
+    static final Comparator<Game> GROWTH_ORDER = (a, b) -> {
+        int cmp = Double.compare(a.getGainPercent(), b.getGainPercent());
+        return cmp != 0 ? cmp : Game.COMPOSITE_ORDER.compare(a, b);
+    };
+
+    // Pico crescente e, em empate, a ordem das árvores invertida: o maior elemento é o
+    // maior pico que o percurso encontra primeiro (desempate de analyzePeakPerformance).
+    // O nome no fim separa registros de jogos diferentes com a mesma chave
+    static final Comparator<Game> PEAK_ORDER = (a, b) -> {
+        int cmp = Integer.compare(a.getPeakPlayers(), b.getPeakPlayers());
+        if (cmp != 0) return cmp;
+        cmp = Game.COMPOSITE_ORDER.compare(b, a);
+        return cmp != 0 ? cmp : NAME_ORDER.compare(a.getName(), b.getName());
+    };
+
+    // Ordem das árvores, com o nome no fim (um registro de cada nome na mesma árvore)
+    private static final Comparator<Game> BEST_ORDER = (a, b) -> {
+        int cmp = Game.COMPOSITE_ORDER.compare(a, b);
+        return cmp != 0 ? cmp : NAME_ORDER.compare(a.getName(), b.getName());
+    };
+
+    // Registros de um nome: quantidade e os multiconjuntos por média e por pico
+    // (maior média e maior pico em O(log n))
+    private static final class NameStats {
+        private final String name;
+        private int count;
+        private final AVL<Game> records = new AVL<>(Game.COMPOSITE_ORDER);
+        private final AVL<Game> peaks = new AVL<>(PEAK_ORDER);
+
+        private NameStats(String name) {
+            this.name = name;
+        }
+
+        // Registro de maior média (o último do nome no percurso em ordem)
+        private Game bestAvg() {
+            return AVL.maior(records.getRaiz()).getDado();
+        }
+
+        // Registro de maior pico (o primeiro em empates)
+        private Game bestPeak() {
+            return AVL.maior(peaks.getRaiz()).getDado();
+        }
+    }
+
+    private final Map<String, NameStats> byName = new HashMap<>();
+    private int count;
+    private double totalGrowth;
+    private int positiveGrowth;
+    private int negativeGrowth;
+    private final AVL<Game> byGrowth = new AVL<>(GROWTH_ORDER);
+    private final AVL<Game> byPeak = new AVL<>(PEAK_ORDER);
+    private final AVL<Game> bestAvgs = new AVL<>(BEST_ORDER);      // maior média de cada nome
+    private final AVL<Game> bestPeaks = new AVL<>(PEAK_ORDER);     // maior pico de cada nome
+
+    public LiveAnalytics() {
+    }
+
+    /**
+     * Monta os agregados de uma vez: cada árvore é ordenada e carregada com
+     * bulkLoad em vez de receber os registros um a um
+     */
+    public LiveAnalytics(Collection<Game> games) {
+        List<Game> all = new ArrayList<>(games);
+        Map<String, List<Game>> groups = new HashMap<>();
+        for (Game game : all) {
+            addGrowth(game);
+            groups.computeIfAbsent(game.getName(), k -> new ArrayList<>()).add(game);
+        }
+        count = all.size();
+        all.sort(GROWTH_ORDER);
+        byGrowth.bulkLoad(all);
+        all.sort(PEAK_ORDER);
+        byPeak.bulkLoad(all);
+
+        List<Game> avgs = new ArrayList<>(groups.size());
+        List<Game> peaks = new ArrayList<>(groups.size());
+        for (Map.Entry<String, List<Game>> group : groups.entrySet()) {
+            List<Game> records = group.getValue();
+            NameStats stats = new NameStats(group.getKey());
+            stats.count = records.size();
+            records.sort(Game.COMPOSITE_ORDER);
+            stats.records.bulkLoad(records);
+            records.sort(PEAK_ORDER);
+            stats.peaks.bulkLoad(records);
+            byName.put(stats.name, stats);
+            avgs.add(stats.bestAvg());
+            peaks.add(stats.bestPeak());
+        }
+        avgs.sort(BEST_ORDER);
+        bestAvgs.bulkLoad(avgs);
+        peaks.sort(PEAK_ORDER);
+        bestPeaks.bulkLoad(peaks);
+    }
+
+    public void add(Game game) {
+        count++;
+        addGrowth(game);
+        byGrowth.insereAVL(game);
+        byPeak.insereAVL(game);
+
+        NameStats stats = byName.get(game.getName());
+        if (stats == null) {
+            stats = new NameStats(game.getName());
+            byName.put(stats.name, stats);
+        } else {
+            detach(stats);
+        }
+        stats.count++;
+        stats.records.insereAVL(game);
+        stats.peaks.insereAVL(game);
+        attach(stats);
+    }
+
+    /**
+     * Remove um registro adicionado antes
+     * @return false se o registro não estava nos agregados
+     */
+    public boolean remove(Game game) {
+        NameStats stats = byName.get(game.getName());
+        if (stats == null || stats.records.searchAVL(game) == null) {
+            return false;
+        }
+        count--;
+        totalGrowth -= game.getGainPercent();
+        if (game.getGainPercent() > 0) positiveGrowth--;
+        if (game.getGainPercent() < 0) negativeGrowth--;
+        byGrowth.removeAVL(game);
+        byPeak.removeAVL(game);
+
+        detach(stats);
+        stats.count--;
+        stats.records.removeAVL(game);
+        stats.peaks.removeAVL(game);
+        if (stats.count == 0) {
+            byName.remove(stats.name);
+        } else {
+            attach(stats);
+        }
+        return true;
+    }
+
+    private void addGrowth(Game game) {
+        totalGrowth += game.getGainPercent();
+        if (game.getGainPercent() > 0) positiveGrowth++;
+        if (game.getGainPercent() < 0) negativeGrowth++;
+    }
+
+    // Tira o nome das árvores ordenadas pelos seus extremos antes de alterá-lo
+    // (a posição nelas depende dos valores atuais)
+    private void detach(NameStats stats) {
+        bestAvgs.removeAVL(stats.bestAvg());
+        bestPeaks.removeAVL(stats.bestPeak());
+    }
+
+    private void attach(NameStats stats) {
+        bestAvgs.insereAVL(stats.bestAvg());
+        bestPeaks.insereAVL(stats.bestPeak());
+    }
+
+    public int size() {
+        return count;
+    }
+
+    // PERGUNTA 2
+
+    public double getTotalGrowth() {
+        return totalGrowth;
+    }
+
+    public int getPositiveGrowth() {
+        return positiveGrowth;
+    }
+
+    public int getNegativeGrowth() {
+        return negativeGrowth;
+    }
+
+    /**
+     * Registro de maior crescimento (o primeiro na ordem das árvores em empates), ou null
+     */
+    public Game maxGrowth() {
+        if (byGrowth.isEmpty()) {
+            return null;
+        }
+        double growth = AVL.maior(byGrowth.getRaiz()).getDado().getGainPercent();
+        // Antes de qualquer registro com esse crescimento
+        Game probe = new Game(null, Double.NEGATIVE_INFINITY, 0, growth, 0, null, Integer.MIN_VALUE);
+        return byGrowth.tailFrom(probe).next();
+    }
+
+    /**
+     * Registro de menor crescimento (o primeiro na ordem das árvores em empates), ou null
+     */
+    public Game minGrowth() {
+        return byGrowth.isEmpty() ? null : AVL.menor(byGrowth.getRaiz()).getDado();
+    }
+
+    // PERGUNTA 3
+
+    /**
+     * Quantos registros têm pico acima do limiar. O(log n) pelo rank
+     */
+    public int countPeaksAbove(int threshold) {
+        if (threshold == Integer.MAX_VALUE) {
+            return 0;
+        }
+        // Antes de qualquer registro com pico threshold + 1 (ordem das árvores invertida no empate)
+        Game probe = new Game(null, Double.POSITIVE_INFINITY, 0, 0, threshold + 1, null, Integer.MAX_VALUE);
+        return byPeak.tamanho() - byPeak.rank(probe);
+    }
+
+    public int maxPeak() {
+        return byPeak.isEmpty() ? 0 : AVL.maior(byPeak.getRaiz()).getDado().getPeakPlayers();
+    }
+
+    /**
+     * Até k nomes com os maiores picos acima do limiar (o registro do maior pico de
+     * cada um), do maior para o menor
+     */
+    public List<Game> topPeaks(int threshold, int k) {
+        List<Game> result = new ArrayList<>(k);
+        for (NoAVL<Game> node = AVL.maior(bestPeaks.getRaiz()); node != null && result.size() < k;
+             node = AVL.antecessor(node)) {
+            Game game = node.getDado();
+            if (game.getPeakPlayers() <= threshold) break;
+            result.add(game);
+        }
+        return result;
+    }
+
+    // PERGUNTA 1
+
+    /**
+     * Até k nomes com as maiores médias acima do limiar (o registro da maior média
+     * de cada um), da maior para a menor
+     */
+    public List<Game> topAverages(double threshold, int k) {
+        List<Game> result = new ArrayList<>(k);
+        for (NoAVL<Game> node = AVL.maior(bestAvgs.getRaiz()); node != null && result.size() < k;
+             node = AVL.antecessor(node)) {
+            Game game = node.getDado();
+            if (game.getAvgPlayers() <= threshold) break;
+            result.add(game);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,675 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+/**
+ * Leitor do CSV por mapeamento de memória (FileChannel.map).
+ *
+ * Percorre os bytes do arquivo diretamente: encontra os limites dos campos e
+ * converte números sem criar Strings intermediárias (só mês e nome viram
+ * String). Produz a mesma lista e os mesmos contadores (ParseStats) que
+ * CSVReader.readGamesFromCSV:
+ * - a primeira linha (cabeçalho) é ignorada;
+ * - linhas terminam em \n, \r ou \r\n (como BufferedReader.readLine);
+ * - campos separados por vírgula; um campo entre aspas pode conter vírgulas e
+ *   aspas duplicadas (""), mas não quebras de linha;
+ * - linhas com menos ou mais de 7 campos (sem contar os vazios no final), com
+ *   aspas mal formadas ou com número inválido são recusadas e contadas;
+ * - números vazios ou "-" valem 0.
+ */
+public class MappedCSVReader {
+
+    // Tamanho máximo de cada mapeamento; arquivos maiores são lidos em janelas
+    private static final long WINDOW = 1L << 28; // 256 MB
+
+    /**
+     * Lê o arquivo CSV e retorna uma lista de objetos Game
+     * @param filePath Caminho do arquivo CSV
+     * @return Lista de jogos (vazia se o arquivo não puder ser lido)
+     */
+    public static List<Game> readGames(String filePath) {
+        List<Game> games = new ArrayList<>();
+        if (readGames(filePath, games::add) >= 0) {
+            System.out.println("Total de jogos carregados: " + games.size());
+        }
+        return games;
+    }
+
+    /**
+     * Lê o arquivo CSV entregando cada registro ao sink, na ordem do arquivo
+     * @return Número de registros lidos, ou -1 se o arquivo não puder ser lido
+     */
+    public static long readGames(String filePath, Consumer<Game> sink) {
+        ParseStats stats = new ParseStats();
+        return readGames(filePath, sink, stats) < 0 ? -1 : stats.getAccepted();
+    }
+
+    /**
+     * Como readGames(filePath, sink), somando em stats os aceitos e as linhas recusadas
+     * @param stats Contadores a atualizar (pode ser null)
+     * @return Bytes do arquivo consumidos (o que foi acrescentado depois começa
+     *         nessa posição), ou -1 se o arquivo não puder ser lido
+     */
+    public static long readGames(String filePath, Consumer<Game> sink, ParseStats stats) {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            long size = channel.size();
+            LineParser parser = new LineParser(sink, true);
+            long position = 0;
+            while (position < size) {
+                long length = Math.min(WINDOW, size - position);
+                boolean last = position + length == size;
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int consumed = parser.parse(buffer, 0, (int) length, last);
+                if (consumed == 0 && !last) {
+                    throw new IOException("linha maior que " + WINDOW + " bytes na posição " + position);
+                }
+                // A linha incompleta no fim da janela é relida no início da próxima
+                position += consumed;
+            }
+            if (stats != null) {
+                stats.add(parser.getStats());
+            }
+            return position;
+        } catch (IOException e) {
+            System.err.println("Erro ao ler arquivo CSV: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Lê o arquivo em paralelo no pool comum, mantendo a ordem do arquivo
+     */
+    public static List<Game> readGamesParallel(String filePath) {
+        return readGamesParallel(filePath, true, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Lê o arquivo em paralelo: divide-o em trechos que começam e terminam em início
+     * de linha e converte cada trecho em uma tarefa do pool.
+     * @param preserveOrder true para devolver os registros na ordem do arquivo; false
+     *                      para juntar os trechos na ordem em que terminam
+     * @return Lista de jogos (vazia se o arquivo não puder ser lido)
+     */
+    public static List<Game> readGamesParallel(String filePath, boolean preserveOrder, ForkJoinPool pool) {
+        List<List<Game>> chunks = readChunks(filePath, Collectors.toList(), preserveOrder, pool);
+        int total = 0;
+        for (List<Game> chunk : chunks) {
+            total += chunk.size();
+        }
+        List<Game> games = new ArrayList<>(total);
+        for (List<Game> chunk : chunks) {
+            games.addAll(chunk);
+        }
+        if (!chunks.isEmpty()) {
+            System.out.println("Total de jogos carregados: " + games.size());
+        }
+        return games;
+    }
+
+    /**
+     * Lê o arquivo em paralelo e ordena cada trecho na própria thread que o leu.
+     * Os trechos ordenados podem ser juntados com mergeSortedRuns e passados ao bulkLoad.
+     */
+    public static List<List<Game>> readSortedRuns(String filePath, Comparator<Game> order, ForkJoinPool pool) {
+        return readChunks(filePath, Collectors.collectingAndThen(Collectors.toList(), games -> {
+            games.sort(order);
+            return games;
+        }), false, pool);
+    }
+
+    /**
+     * Resume a média de jogadores do arquivo sem montar a lista de jogos: cada trecho
+     * alimenta o próprio QuantileSketch (sementes distintas) e os resumos são combinados.
+     * @return Resumo com todos os registros (vazio se o arquivo não puder ser lido)
+     */
+    public static QuantileSketch sketchAvgPlayers(String filePath, ForkJoinPool pool) {
+        AtomicLong seeds = new AtomicLong();
+        QuantileSketch total = new QuantileSketch();
+        for (QuantileSketch chunk : readChunks(filePath,
+                Collector.of(() -> new QuantileSketch(QuantileSketch.DEFAULT_K, seeds.incrementAndGet()),
+                             (QuantileSketch sketch, Game game) -> sketch.update(game.getAvgPlayers()),
+                             (a, b) -> {
+                                 a.merge(b);
+                                 return a;
+                             }),
+                false, pool)) {
+            total.merge(chunk);
+        }
+        return total;
+    }
+
+    /**
+     * Intercala trechos já ordenados em uma única lista ordenada. O(n log k) para k trechos
+     */
+    public static List<Game> mergeSortedRuns(List<List<Game>> runs, Comparator<Game> order) {
+        int total = 0;
+        for (List<Game> run : runs) {
+            total += run.size();
+        }
+        List<Game> merged = new ArrayList<>(total);
+        int[] next = new int[runs.size()];
+        // Fila com o índice de cada trecho, ordenada pelo próximo registro dele
+        PriorityQueue<Integer> heads = new PriorityQueue<>(Math.max(1, runs.size()),
+            (a, b) -> order.compare(runs.get(a).get(next[a]), runs.get(b).get(next[b])));
+        for (int i = 0; i < runs.size(); i++) {
+            if (!runs.get(i).isEmpty()) {
+                heads.add(i);
+            }
+        }
+        while (!heads.isEmpty()) {
+            int i = heads.poll();
+            List<Game> run = runs.get(i);
+            merged.add(run.get(next[i]++));
+            if (next[i] < run.size()) {
+                heads.add(i);
+            }
+        }
+        return merged;
+    }
+
+    // Lê os trechos em paralelo, juntando os registros de cada um com perChunk na
+    // própria thread que o leu. Em caso de erro, informa e devolve uma lista vazia
+    private static <A, R> List<R> readChunks(String filePath, Collector<Game, A, R> perChunk,
+                                             boolean preserveOrder, ForkJoinPool pool) {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            long size = channel.size();
+            // Alguns trechos por thread para equilibrar a carga; nenhum maior que a janela
+            int chunks = (int) Math.max(pool.getParallelism() * 4L, (size + WINDOW - 1) / WINDOW);
+            chunks = (int) Math.max(1, Math.min(chunks, size / MIN_CHUNK));
+            long[] bounds = chunkBounds(channel, size, chunks);
+
+            List<Callable<R>> tasks = new ArrayList<>();
+            for (int i = 0; i + 1 < bounds.length; i++) {
+                long start = bounds[i];
+                long end = bounds[i + 1];
+                boolean header = i == 0;
+                tasks.add(() -> {
+                    A container = perChunk.supplier().get();
+                    LineParser parser = new LineParser(game -> perChunk.accumulator().accept(container, game), header);
+                    int length = (int) (end - start);
+                    parser.parse(channel.map(FileChannel.MapMode.READ_ONLY, start, length), 0, length, true);
+                    return perChunk.finisher().apply(container);
+                });
+            }
+
+            List<R> result = new ArrayList<>(tasks.size());
+            if (preserveOrder) {
+                for (Future<R> future : pool.invokeAll(tasks)) {
+                    result.add(future.get());
+                }
+            } else {
+                ExecutorCompletionService<R> done = new ExecutorCompletionService<>(pool);
+                for (Callable<R> task : tasks) {
+                    done.submit(task);
+                }
+                for (int i = 0; i < tasks.size(); i++) {
+                    result.add(done.take().get());
+                }
+            }
+            return result;
+        } catch (IOException | ExecutionException e) {
+            Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            System.err.println("Erro ao ler arquivo CSV: " + cause.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return new ArrayList<>();
+    }
+
+    // Trechos menores que isso não compensam uma tarefa
+    private static final long MIN_CHUNK = 1L << 20; // 1 MB
+
+    /**
+     * Limites dos trechos: cada um é o primeiro início de linha a partir de k * size / chunks.
+     * Uma posição s é início de linha se o byte anterior é \n, ou é \r sem \n em s
+     * (assim um \r\n nunca fica dividido entre dois trechos).
+     */
+    private static long[] chunkBounds(FileChannel channel, long size, int chunks) throws IOException {
+        long[] bounds = new long[chunks + 1];
+        int count = 1; // bounds[0] = 0
+        ByteBuffer window = ByteBuffer.allocate(4096);
+        for (int k = 1; k < chunks; k++) {
+            long s = Math.max(k * (size / chunks), bounds[count - 1] + 1);
+            s = nextLineStart(channel, s, size, window);
+            if (s < size && s > bounds[count - 1]) {
+                bounds[count++] = s;
+            }
+        }
+        bounds[count++] = size;
+        return Arrays.copyOf(bounds, count);
+    }
+
+    private static long nextLineStart(FileChannel channel, long s, long size, ByteBuffer window) throws IOException {
+        // Lê a partir de s - 1 para enxergar o byte anterior a s
+        long position = s - 1;
+        byte previous = 0;
+        boolean first = true;
+        while (position < size) {
+            window.clear();
+            int read = channel.read(window, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                byte b = window.get(i);
+                if (!first && (previous == '\n' || (previous == '\r' && b != '\n'))) {
+                    return position + i;
+                }
+                previous = b;
+                first = false;
+            }
+            position += read;
+        }
+        // Fim do arquivo: ele mesmo é o limite
+        return size;
+    }
+
+    /**
+     * Converte as linhas de um trecho de bytes em registros Game.
+     * Reaproveita os vetores de limites de campo e o buffer de texto entre linhas.
+     */
+    static final class LineParser {
+        private static final int FIELDS = 7;
+        // Potências de 10 representadas exatamente em double
+        private static final double[] POW10 = new double[23];
+        static {
+            POW10[0] = 1;
+            for (int i = 1; i < POW10.length; i++) {
+                POW10[i] = POW10[i - 1] * 10;
+            }
+        }
+
+        private final Consumer<Game> sink;
+        private boolean skipHeader;
+        // Limites do conteúdo de cada campo (sem espaços nas pontas, ou entre as aspas)
+        private final int[] fieldStart = new int[FIELDS];
+        private final int[] fieldEnd = new int[FIELDS];
+        // Campo entre aspas com "" dentro: o texto precisa ser desescapado
+        private final boolean[] fieldEscaped = new boolean[FIELDS];
+        private byte[] text = new byte[64];
+        // Último nome lido: as linhas de um mesmo jogo vêm seguidas no CSV, então
+        // na maioria das linhas o nome é reaproveitado sem criar String nenhuma
+        private byte[] lastName = new byte[64];
+        private int lastNameLength = -1;
+        private String lastNameText;
+        private long records;
+        private final ParseStats stats = new ParseStats();
+        // Algum campo numérico da linha atual não é um número válido
+        private boolean invalid;
+
+        LineParser(Consumer<Game> sink, boolean skipHeader) {
+            this.sink = sink;
+            this.skipHeader = skipHeader;
+        }
+
+        long getRecords() {
+            return records;
+        }
+
+        ParseStats getStats() {
+            return stats;
+        }
+
+        /**
+         * Processa as linhas completas de buffer[from, to). Se eof for falso, uma linha
+         * sem terminador no fim do trecho não é processada.
+         * @return Posição logo após a última linha processada
+         */
+        int parse(ByteBuffer buffer, int from, int to, boolean eof) {
+            int i = from;
+            while (i < to) {
+                int lineStart = i;
+                while (i < to) {
+                    byte b = buffer.get(i);
+                    if (b == '\n' || b == '\r') {
+                        break;
+                    }
+                    i++;
+                }
+                if (i == to && !eof) {
+                    return lineStart;
+                }
+                int lineEnd = i;
+                // Terminador: \r\n conta como um só; um \r no fim do trecho pode ter o \n na próxima janela
+                if (i < to) {
+                    if (buffer.get(i) == '\r') {
+                        if (i + 1 < to) {
+                            if (buffer.get(i + 1) == '\n') {
+                                i++;
+                            }
+                        } else if (!eof) {
+                            return lineStart;
+                        }
+                    }
+                    i++;
+                }
+
+                if (skipHeader) {
+                    skipHeader = false;
+                } else {
+                    parseLine(buffer, lineStart, lineEnd);
+                }
+            }
+            return i;
+        }
+
+        // Separa os campos de buffer[i, end) (mesma máquina de estados de CSVReader.parseLine)
+        private void parseLine(ByteBuffer buffer, int i, int end) {
+            int field = 0;
+            int lastNonEmpty = -1;
+            while (true) {
+                int start = trimStart(buffer, i, end);
+                int contentStart;
+                int contentEnd;
+                boolean escaped = false;
+                if (start < end && buffer.get(start) == '"') {
+                    // Campo entre aspas: vai até a aspa de fechamento ("" é uma aspa literal)
+                    int j = start + 1;
+                    contentStart = j;
+                    contentEnd = -1;
+                    while (j < end) {
+                        if (buffer.get(j++) == '"') {
+                            if (j < end && buffer.get(j) == '"') {
+                                escaped = true;
+                                j++;
+                            } else {
+                                contentEnd = j - 1;
+                                break;
+                            }
+                        }
+                    }
+                    j = trimStart(buffer, j, end);
+                    if (contentEnd < 0 || (j < end && buffer.get(j) != ',')) {
+                        stats.reject(ParseStats.Reason.BAD_QUOTES);
+                        return;
+                    }
+                    lastNonEmpty = field;
+                    i = j;
+                } else {
+                    int j = i;
+                    while (j < end && buffer.get(j) != ',') {
+                        j++;
+                    }
+                    if (j > i) {
+                        lastNonEmpty = field;
+                    }
+                    contentStart = start;
+                    contentEnd = trimEnd(buffer, Math.min(start, j), j);
+                    i = j;
+                }
+                if (field < FIELDS) {
+                    fieldStart[field] = contentStart;
+                    fieldEnd[field] = contentEnd;
+                    fieldEscaped[field] = escaped;
+                }
+                field++;
+                if (i >= end) {
+                    break;
+                }
+                i++; // vírgula
+            }
+
+            if (lastNonEmpty < 0) {
+                return; // linha vazia
+            }
+            if (lastNonEmpty != FIELDS - 1) {
+                stats.reject(lastNonEmpty < FIELDS - 1 ? ParseStats.Reason.MISSING_FIELDS
+                                                       : ParseStats.Reason.EXTRA_FIELDS);
+                return;
+            }
+            Game game = toGame(buffer);
+            if (game == null) {
+                stats.reject(ParseStats.Reason.INVALID_NUMBER);
+                return;
+            }
+            stats.accept();
+            sink.accept(game);
+            records++;
+        }
+
+        // Registro da linha atual, ou null se algum campo numérico for inválido
+        private Game toGame(ByteBuffer buffer) {
+            invalid = false;
+            double avgPlayers = parseDouble(buffer, fieldStart[1], fieldEnd[1]);
+            double gain = parseDouble(buffer, fieldStart[2], fieldEnd[2]);
+            double gainPercent = parseDouble(buffer, fieldStart[3], fieldEnd[3]);
+            int peakPlayers = parseInt(buffer, fieldStart[4], fieldEnd[4]);
+            int steamAppid = parseInt(buffer, fieldStart[6], fieldEnd[6]);
+            if (invalid) {
+                return null;
+            }
+            String name = name(buffer, 5);
+            int monthKey = fieldEscaped[0] ? -1 : monthKey(buffer, fieldStart[0], fieldEnd[0]);
+            if (monthKey < 0) {
+                String month = text(buffer, 0);
+                return new Game(month, avgPlayers, gain, gainPercent, peakPlayers, name, steamAppid);
+            }
+            return new Game(monthKey, avgPlayers, gain, gainPercent, peakPlayers, name, steamAppid);
+        }
+
+        // Mês "Mmm-AA" convertido direto dos bytes (Game.packMonth), ou -1 para outro formato
+        private static int monthKey(ByteBuffer buffer, int start, int end) {
+            if (end - start != 6 || buffer.get(start + 3) != '-') {
+                return -1;
+            }
+            int month = Game.monthIndex(buffer.get(start), buffer.get(start + 1), buffer.get(start + 2));
+            return Game.packMonth(month, buffer.get(start + 4), buffer.get(start + 5));
+        }
+
+        // Nome do jogo, passando pelo dicionário compartilhado (StringPool.NAMES)
+        private String name(ByteBuffer buffer, int field) {
+            if (fieldEscaped[field]) {
+                return StringPool.NAMES.intern(text(buffer, field));
+            }
+            int start = fieldStart[field];
+            int length = fieldEnd[field] - start;
+            if (length == lastNameLength) {
+                int i = 0;
+                while (i < length && buffer.get(start + i) == lastName[i]) {
+                    i++;
+                }
+                if (i == length) {
+                    return lastNameText;
+                }
+            }
+            if (length > lastName.length) {
+                lastName = new byte[Math.max(length, lastName.length * 2)];
+            }
+            buffer.get(start, lastName, 0, length);
+            lastNameLength = length;
+            lastNameText = StringPool.NAMES.intern(new String(lastName, 0, length, StandardCharsets.UTF_8));
+            return lastNameText;
+        }
+
+        // Mesmo critério de String.trim: bytes <= ' ' (os bytes de caracteres UTF-8
+        // de mais de um byte são todos >= 0x80 e nunca são removidos)
+        private static int trimStart(ByteBuffer buffer, int start, int end) {
+            while (start < end && (buffer.get(start) & 0xFF) <= ' ') {
+                start++;
+            }
+            return start;
+        }
+
+        private static int trimEnd(ByteBuffer buffer, int start, int end) {
+            while (end > start && (buffer.get(end - 1) & 0xFF) <= ' ') {
+                end--;
+            }
+            return end;
+        }
+
+        // Texto do campo, trocando "" por " nos campos entre aspas
+        private String text(ByteBuffer buffer, int field) {
+            int start = fieldStart[field];
+            int end = fieldEnd[field];
+            if (end - start > text.length) {
+                text = new byte[Math.max(end - start, text.length * 2)];
+            }
+            int length = 0;
+            for (int i = start; i < end; i++) {
+                byte b = buffer.get(i);
+                text[length++] = b;
+                if (b == '"' && fieldEscaped[field]) {
+                    i++; // a segunda aspa do par
+                }
+            }
+            return new String(text, 0, length, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Converte o campo em double sem criar String. O caminho rápido aceita
+         * [sinal]dígitos[.dígitos] com até 15 dígitos significativos e até 22 casas:
+         * aí mantissa e 10^casas são exatas em double e uma única divisão dá o mesmo
+         * resultado (arredondado corretamente) que Double.parseDouble. As demais formas
+         * válidas (expoente, muitos dígitos...) são validadas e passadas a
+         * Double.parseDouble; as inválidas marcam invalid.
+         */
+        private double parseDouble(ByteBuffer buffer, int start, int end) {
+            if (start == end || (end - start == 1 && buffer.get(start) == '-')) {
+                return 0.0;
+            }
+            int i = start;
+            boolean negative = false;
+            byte b = buffer.get(i);
+            if (b == '-' || b == '+') {
+                negative = b == '-';
+                i++;
+            }
+            long mantissa = 0;
+            int digits = 0;
+            int decimals = 0;
+            boolean dot = false;
+            for (; i < end; i++) {
+                b = buffer.get(i);
+                if (b >= '0' && b <= '9') {
+                    if (mantissa >= 100_000_000_000_000L) { // 15 dígitos: o próximo poderia passar de 2^53
+                        return parseDoubleText(buffer, start, end);
+                    }
+                    mantissa = mantissa * 10 + (b - '0');
+                    digits++;
+                    if (dot) {
+                        decimals++;
+                    }
+                } else if (b == '.' && !dot) {
+                    dot = true;
+                } else {
+                    return parseDoubleText(buffer, start, end);
+                }
+            }
+            if (digits == 0 || decimals >= POW10.length) {
+                return parseDoubleText(buffer, start, end);
+            }
+            double value = mantissa / POW10[decimals];
+            return negative ? -value : value;
+        }
+
+        // [+-] dígitos [. dígitos] [e [+-] dígitos]: valida antes, então Double.parseDouble não lança
+        private double parseDoubleText(ByteBuffer buffer, int start, int end) {
+            int i = start;
+            if (buffer.get(i) == '+' || buffer.get(i) == '-') {
+                i++;
+            }
+            int digits = 0;
+            while (i < end && isDigit(buffer.get(i))) {
+                i++;
+                digits++;
+            }
+            if (i < end && buffer.get(i) == '.') {
+                i++;
+                while (i < end && isDigit(buffer.get(i))) {
+                    i++;
+                    digits++;
+                }
+            }
+            if (digits > 0 && i < end && (buffer.get(i) == 'e' || buffer.get(i) == 'E')) {
+                i++;
+                if (i < end && (buffer.get(i) == '+' || buffer.get(i) == '-')) {
+                    i++;
+                }
+                int exponentDigits = 0;
+                while (i < end && isDigit(buffer.get(i))) {
+                    i++;
+                    exponentDigits++;
+                }
+                if (exponentDigits == 0) {
+                    digits = 0;
+                }
+            }
+            if (digits == 0 || i != end) {
+                invalid = true;
+                return 0.0;
+            }
+            int length = end - start;
+            if (length > text.length) {
+                text = new byte[Math.max(length, text.length * 2)];
+            }
+            buffer.get(start, text, 0, length);
+            return Double.parseDouble(new String(text, 0, length, StandardCharsets.ISO_8859_1));
+        }
+
+        /**
+         * Converte o campo em int sem criar String ([sinal]dígitos ASCII);
+         * estouro ou outro caractere marcam invalid
+         */
+        private int parseInt(ByteBuffer buffer, int start, int end) {
+            if (start == end) {
+                return 0;
+            }
+            int i = start;
+            boolean negative = false;
+            byte b = buffer.get(i);
+            if (b == '-' || b == '+') {
+                negative = b == '-';
+                i++;
+                if (i == end) {
+                    if (!negative) {
+                        invalid = true; // "-" sozinho vale 0, como nos doubles
+                    }
+                    return 0;
+                }
+            }
+            long value = 0;
+            for (; i < end; i++) {
+                b = buffer.get(i);
+                if (!isDigit(b)) {
+                    invalid = true;
+                    return 0;
+                }
+                value = value * 10 + (b - '0');
+                if (value > Integer.MAX_VALUE + 1L) {
+                    invalid = true;
+                    return 0;
+                }
+            }
+            if (negative) {
+                return (int) -value;
+            }
+            if (value > Integer.MAX_VALUE) {
+                invalid = true;
+                return 0;
+            }
+            return (int) value;
+        }
+
+        private static boolean isDigit(byte b) {
+            return b >= '0' && b <= '9';
+        }
+    }
+}
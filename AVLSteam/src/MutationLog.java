@@ -0,0 +1,366 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Log das inserções e remoções feitas pelo menu (write-ahead log), gravado ao
+ * lado do CSV (steamcharts.csv.wal).
+ *
+ * Cada alteração é uma entrada binária curta (operação + campos do Game) com
+ * CRC32 próprio. As entradas ficam em memória e vão para o disco com um único
+ * write + fsync quando o lote enche ou quando a thread de sincronização passa
+ * (a cada syncIntervalMs); assim, uma queda perde no máximo esse intervalo.
+ * Na inicialização o log é reaplicado sobre os dados do CSV (ou do cache) e
+ * uma entrada incompleta no fim, de uma gravação interrompida, é descartada.
+ *
+ * O checkpoint reescreve o log só com o efeito líquido das alterações (registros
+ * inseridos que continuam presentes e remoções de registros do CSV), então o
+ * tempo de reaplicação depende do número de registros alterados, não do
+ * histórico. As entradas são lógicas: continuam válidas se o CSV ganhar linhas.
+ *
+ * Formato (big-endian): int MAGIC, int VERSION e depois as entradas
+ *   int tamanho, [byte operação, int mês compactado (-1 = texto UTF a seguir),
+ *   double avgPlayers, double gain, double gainPercent, int peakPlayers,
+ *   int steamAppid, UTF nome], int CRC32 dos bytes entre colchetes
+ */
+public class MutationLog implements Closeable {
+
+    public static final byte INSERT = 1;
+    public static final byte REMOVE = 2;
+
+    private static final int MAGIC = 0x5741_4C31; // "WAL1"
+    private static final int VERSION = 1;
+    private static final int HEADER = 8;
+    private static final String SUFFIX = ".wal";
+
+    /**
+     * Recebe as alterações durante a reaplicação do log
+     */
+    public interface Handler {
+        void insert(Game game);
+
+        void remove(Game game);
+    }
+
+    private final Path file;
+    private final int batchSize;
+    private final long syncIntervalMs;
+    private FileChannel channel;
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private int pendingEntries;
+    private long entries;          // entradas no arquivo + pendentes
+    private long syncs;
+    private final Thread syncer;
+    private volatile boolean closed;
+
+    public static Path logPath(String csvPath) {
+        return Paths.get(csvPath + SUFFIX);
+    }
+
+    /**
+     * Abre (ou cria) o log. Um arquivo com cabeçalho inválido é recusado com IOException
+     * @param batchSize Entradas acumuladas que forçam a gravação imediata
+     * @param syncIntervalMs Atraso máximo até uma entrada chegar ao disco
+     */
+    public MutationLog(Path file, int batchSize, long syncIntervalMs) throws IOException {
+        this.file = file;
+        this.batchSize = batchSize;
+        this.syncIntervalMs = syncIntervalMs;
+        this.channel = open(file);
+        this.syncer = new Thread(this::syncLoop, "wal-sync");
+        this.syncer.setDaemon(true);
+        this.syncer.start();
+    }
+
+    private static FileChannel open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() == 0) {
+            writeHeader(channel);
+        } else {
+            ByteBuffer header = ByteBuffer.allocate(HEADER);
+            channel.read(header, 0);
+            header.flip();
+            if (header.remaining() < HEADER || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                channel.close();
+                throw new IOException("arquivo " + file + " não é um log de alterações desta versão");
+            }
+        }
+        return channel;
+    }
+
+    private static void writeHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER).putInt(MAGIC).putInt(VERSION);
+        header.flip();
+        channel.write(header, 0);
+        channel.force(true);
+    }
+
+    /**
+     * Reaplica as entradas gravadas, na ordem. Descarta do arquivo uma entrada
+     * final incompleta ou com CRC diferente (e tudo depois dela)
+     * @return Número de entradas reaplicadas
+     */
+    public synchronized long replay(Handler handler) throws IOException {
+        long size = channel.size();
+        ByteBuffer data = ByteBuffer.allocate((int) (size - HEADER));
+        channel.read(data, HEADER);
+        data.flip();
+        long applied = 0;
+        int valid = 0;
+        CRC32 crc = new CRC32();
+        while (data.remaining() >= 4) {
+            int length = data.getInt(valid);
+            if (length <= 0 || data.remaining() < 4 + length + 4) {
+                break;
+            }
+            crc.reset();
+            crc.update(data.array(), valid + 4, length);
+            if ((int) crc.getValue() != data.getInt(valid + 4 + length)) {
+                break;
+            }
+            byte op = data.get(valid + 4);
+            Game game = decode(data.array(), valid + 5, length - 1);
+            if (op == INSERT) {
+                handler.insert(game);
+            } else if (op == REMOVE) {
+                handler.remove(game);
+            }
+            applied++;
+            valid += 4 + length + 4;
+            data.position(valid);
+        }
+        if (HEADER + valid < size) {
+            System.err.println("Aviso: " + (size - HEADER - valid) + " bytes incompletos descartados do fim de " + file);
+            channel.truncate(HEADER + valid);
+            channel.force(true);
+        }
+        entries = applied;
+        return applied;
+    }
+
+    public void logInsert(Game game) {
+        append(INSERT, game);
+    }
+
+    public void logRemove(Game game) {
+        append(REMOVE, game);
+    }
+
+    private synchronized void append(byte op, Game game) {
+        if (closed) {
+            throw new IllegalStateException("log fechado");
+        }
+        byte[] payload = encode(op, game);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        DataOutputStream out = new DataOutputStream(pending);
+        try {
+            out.writeInt(payload.length);
+            out.write(payload);
+            out.writeInt((int) crc.getValue());
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // ByteArrayOutputStream não lança IOException
+        }
+        pendingEntries++;
+        entries++;
+        if (pendingEntries >= batchSize) {
+            sync();
+        }
+    }
+
+    /**
+     * Grava as entradas pendentes com um único write e fsync
+     */
+    public synchronized void sync() {
+        if (pendingEntries == 0 || channel == null) {
+            return;
+        }
+        try {
+            ByteBuffer batch = ByteBuffer.wrap(pending.toByteArray());
+            long position = channel.size();
+            while (batch.hasRemaining()) {
+                position += channel.write(batch, position);
+            }
+            channel.force(false);
+            pending.reset();
+            pendingEntries = 0;
+            syncs++;
+        } catch (IOException e) {
+            // Mantém as entradas pendentes para a próxima tentativa
+            System.err.println("Erro ao gravar o log de alterações: " + e.getMessage());
+        }
+    }
+
+    private void syncLoop() {
+        while (!closed) {
+            try {
+                Thread.sleep(syncIntervalMs);
+            } catch (InterruptedException e) {
+                return;
+            }
+            sync();
+        }
+    }
+
+    /**
+     * Reescreve o log só com o efeito líquido das entradas: uma inserção e uma
+     * remoção do mesmo registro se cancelam. O novo log é gravado em um arquivo
+     * temporário e renomeado sobre o atual
+     * @return Número de entradas no log depois do checkpoint
+     */
+    public synchronized long checkpoint() throws IOException {
+        sync();
+        // Registros (campos codificados) inseridos e removidos, com multiplicidade
+        Map<ByteBuffer, int[]> inserted = new HashMap<>();
+        Map<ByteBuffer, int[]> removed = new HashMap<>();
+        List<ByteBuffer> order = new ArrayList<>();
+        replay(new Handler() {
+            public void insert(Game game) {
+                net(game, removed, inserted, order);
+            }
+
+            public void remove(Game game) {
+                net(game, inserted, removed, order);
+            }
+        });
+
+        Path temp = Paths.get(file + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeHeader(out);
+            out.position(HEADER);
+            long count = 0;
+            // Remoções primeiro: se referem a registros do CSV, anteriores a qualquer inserção
+            for (int pass = 0; pass < 2; pass++) {
+                Map<ByteBuffer, int[]> source = pass == 0 ? removed : inserted;
+                byte op = pass == 0 ? REMOVE : INSERT;
+                for (ByteBuffer key : order) {
+                    int[] times = source.get(key);
+                    for (int i = 0; times != null && i < times[0]; i++) {
+                        out.write(frame(op, key.duplicate()));
+                        count++;
+                    }
+                    if (times != null) {
+                        times[0] = 0; // a chave pode aparecer mais de uma vez em order
+                    }
+                }
+            }
+            out.force(true);
+            entries = count;
+        }
+        channel.close();
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = open(file);
+        return entries;
+    }
+
+    // Registra a operação, cancelando uma operação oposta pendente do mesmo registro
+    private static void net(Game game, Map<ByteBuffer, int[]> opposite, Map<ByteBuffer, int[]> same,
+                            List<ByteBuffer> order) {
+        byte[] fields = encode((byte) 0, game);
+        ByteBuffer key = ByteBuffer.wrap(fields, 1, fields.length - 1).slice();
+        int[] count = opposite.get(key);
+        if (count != null && count[0] > 0) {
+            count[0]--;
+            return;
+        }
+        same.computeIfAbsent(key, k -> new int[1])[0]++;
+        order.add(key);
+    }
+
+    // Entrada completa (tamanho, operação + campos, CRC) a partir dos campos já codificados
+    private static ByteBuffer frame(byte op, ByteBuffer fields) {
+        int length = 1 + fields.remaining();
+        ByteBuffer frame = ByteBuffer.allocate(4 + length + 4);
+        frame.putInt(length).put(op).put(fields);
+        CRC32 crc = new CRC32();
+        crc.update(frame.array(), 4, length);
+        frame.putInt((int) crc.getValue());
+        frame.flip();
+        return frame;
+    }
+
+    private static byte[] encode(byte op, Game game) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeByte(op);
+            out.writeInt(game.getMonthKey());
+            if (game.getMonthKey() < 0) {
+                out.writeUTF(game.getMonth() == null ? "" : game.getMonth());
+            }
+            out.writeDouble(game.getAvgPlayers());
+            out.writeDouble(game.getGain());
+            out.writeDouble(game.getGainPercent());
+            out.writeInt(game.getPeakPlayers());
+            out.writeInt(game.getSteamAppid());
+            out.writeUTF(game.getName() == null ? "" : game.getName());
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // ByteArrayOutputStream não lança IOException
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Game decode(byte[] data, int offset, int length) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, offset, length));
+        int monthKey = in.readInt();
+        String month = monthKey < 0 ? in.readUTF() : null;
+        double avgPlayers = in.readDouble();
+        double gain = in.readDouble();
+        double gainPercent = in.readDouble();
+        int peakPlayers = in.readInt();
+        int steamAppid = in.readInt();
+        String name = StringPool.NAMES.intern(in.readUTF());
+        if (monthKey < 0) {
+            return new Game(month, avgPlayers, gain, gainPercent, peakPlayers, name, steamAppid);
+        }
+        return new Game(monthKey, avgPlayers, gain, gainPercent, peakPlayers, name, steamAppid);
+    }
+
+    /**
+     * Entradas no log (gravadas e pendentes) desde o último checkpoint
+     */
+    public synchronized long size() {
+        return entries;
+    }
+
+    /**
+     * Quantas vezes o log foi sincronizado com o disco (cada vez = um fsync)
+     */
+    public synchronized long getSyncs() {
+        return syncs;
+    }
+
+    /**
+     * Grava as entradas pendentes e fecha o arquivo. Chamadas seguintes não fazem nada
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        syncer.interrupt();
+        synchronized (this) {
+            if (channel == null) {
+                return;
+            }
+            sync();
+            channel.close();
+            channel = null;
+        }
+    }
+}
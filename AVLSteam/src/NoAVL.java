@@ -1,68 +1,78 @@
-public class NoAVL {
-	private Object dado;            //Dado do nó
-	private NoAVL pai;		//Pai do nó
-	private NoAVL esq;		//Filho Esquerdo
-	private NoAVL dir;		//Filho Direito
-	private int fb;			//Fator de Balanceamento
-		
-	public NoAVL(Object x, NoAVL p, NoAVL e, NoAVL d)	{
-		dado = x;
-		pai  = p;
-		esq  = e;
-		dir  = d;
-        fb = 0;
-	}
-	
-    public String toString() {
-        return dado.toString();
-    }
-        
-	public NoAVL() {
-		this("",null,null,null);
-	}
-	
-	public NoAVL(Object _dado) {
-		this(_dado,null,null,null);
-	}
-	
-	public Object getDado() {
-		return dado;
-	}
-	
-	public void setDado(Object _dado) {
-		dado = _dado;
-	}
-	
-	public NoAVL getPai() {
-		return pai;
-	}
-	
-	public void setPai(NoAVL _pai) {
-		pai = _pai;
-	}
-	
-	public NoAVL getEsq() {
-		return esq;
-	}
-	
-	public void setEsq(NoAVL _esq) {
-		esq = _esq;
-	}
-	
-	public NoAVL getDir() {
-		return dir;
-	}
-	
-	public void setDir(NoAVL _dir) {
-		dir = _dir;
-	}
-	
-	public void setFb(int _fb) {
-		fb = _fb;
-	}
-	
-	public int getFb() {
-		return fb;
-	}
-	
+public class NoAVL<E extends Comparable<E>> {
+	private E dado;		//Dado do nó
+	private NoAVL<E> pai;		//Pai do nó
+	private NoAVL<E> esq;		//Filho Esquerdo
+	private NoAVL<E> dir;		//Filho Direito
+	private int fb;			//Fator de Balanceamento
+	private int tamanho;		//Número de nós da subárvore (o próprio nó incluído)
+		
+	public NoAVL(E x, NoAVL<E> p, NoAVL<E> e, NoAVL<E> d)	{
+		dado = x;
+		pai  = p;
+		esq  = e;
+		dir  = d;
+        fb = 0;
+        tamanho = 1 + (e != null ? e.tamanho : 0) + (d != null ? d.tamanho : 0);
+	}
+	
+    public String toString() {
+        return dado.toString();
+    }
+        
+	public NoAVL() {
+		this(null,null,null,null);
+	}
+	
+	public NoAVL(E _dado) {
+		this(_dado,null,null,null);
+	}
+	
+	public E getDado() {
+		return dado;
+	}
+	
+	public void setDado(E _dado) {
+		dado = _dado;
+	}
+	
+	public NoAVL<E> getPai() {
+		return pai;
+	}
+	
+	public void setPai(NoAVL<E> _pai) {
+		pai = _pai;
+	}
+	
+	public NoAVL<E> getEsq() {
+		return esq;
+	}
+	
+	public void setEsq(NoAVL<E> _esq) {
+		esq = _esq;
+	}
+	
+	public NoAVL<E> getDir() {
+		return dir;
+	}
+	
+	public void setDir(NoAVL<E> _dir) {
+		dir = _dir;
+	}
+	
+	public void setFb(int _fb) {
+		fb = _fb;
+	}
+	
+	public int getFb() {
+		return fb;
+	}
+	
+	public void setTamanho(int _tamanho) {
+		tamanho = _tamanho;
+	}
+	
+	public int getTamanho() {
+		return tamanho;
+	}
+	
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+public class NoAVLAgregado extends NoAVL<Game> {
+	private double somaMedia;	//Soma de avgPlayers da subárvore
+	private double somaGanho;	//Soma de gain da subárvore
+	private int maxPico;		//Maior peakPlayers da subárvore
+
+	public NoAVLAgregado(Game g) {
+		super(g);
+		somaMedia = g.getAvgPlayers();
+		somaGanho = g.getGain();
+		maxPico = g.getPeakPlayers();
+	}
+
+	public Game getGame() {
+		return getDado();
+	}
+
+	public double getSomaMedia() {
+		return somaMedia;
+	}
+
+	public void setSomaMedia(double _somaMedia) {
+		somaMedia = _somaMedia;
+	}
+
+	public double getSomaGanho() {
+		return somaGanho;
+	}
+
+	public void setSomaGanho(double _somaGanho) {
+		somaGanho = _somaGanho;
+	}
+
+	public int getMaxPico() {
+		return maxPico;
+	}
+
+	public void setMaxPico(int _maxPico) {
+		maxPico = _maxPico;
+	}
+
+}
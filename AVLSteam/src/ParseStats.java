@@ -0,0 +1,75 @@
+import java.util.Arrays;
+
+/**
+ * Contadores de uma leitura do CSV: registros aceitos e linhas recusadas por
+ * motivo. Cada leitor preenche a sua instância (não é thread-safe); leituras
+ * em paralelo somam as instâncias com add no final.
+ */
+public class ParseStats {
+
+    /** Motivos de recusa de uma linha */
+    public enum Reason {
+        MISSING_FIELDS("menos de 7 campos"),
+        EXTRA_FIELDS("campos a mais (vírgula fora de aspas)"),
+        INVALID_NUMBER("campo numérico inválido"),
+        BAD_QUOTES("aspas sem fechamento ou mal formadas");
+
+        private final String description;
+
+        Reason(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    private long accepted;
+    private final long[] rejected = new long[Reason.values().length];
+
+    public void accept() {
+        accepted++;
+    }
+
+    public void reject(Reason reason) {
+        rejected[reason.ordinal()]++;
+    }
+
+    /** Soma contagens já apuradas (ex.: lidas de um cache) */
+    public void accept(long count) {
+        accepted += count;
+    }
+
+    public void reject(Reason reason, long count) {
+        rejected[reason.ordinal()] += count;
+    }
+
+    public long getAccepted() {
+        return accepted;
+    }
+
+    public long getRejected(Reason reason) {
+        return rejected[reason.ordinal()];
+    }
+
+    public long getTotalRejected() {
+        long total = 0;
+        for (long count : rejected) {
+            total += count;
+        }
+        return total;
+    }
+
+    public void add(ParseStats other) {
+        accepted += other.accepted;
+        for (int i = 0; i < rejected.length; i++) {
+            rejected[i] += other.rejected[i];
+        }
+    }
+
+    public void clear() {
+        accepted = 0;
+        Arrays.fill(rejected, 0);
+    }
+}
@@ -1,4 +1,32 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.stream.StreamSupport;
 
 public class PerformanceAnalysis {
     
@@ -72,7 +100,7 @@ public class PerformanceAnalysis {
     // Análise de inserção em AVL
     public static Metrics analyzeAVLInsertion(List<Game> games) {
         Metrics metrics = new Metrics();
-        AVL avl = new AVL();
+        AVL<Game> avl = new AVL<>();
         
         long startTime = System.nanoTime();
         
@@ -119,16 +147,59 @@ public class PerformanceAnalysis {
     
     // Método auxiliar para buscar na ABB sem imprimir
     private static boolean searchInABB(Node<Game> node, Game target) {
-        if (node == null) return false;
-        
-        int cmp = target.compareTo(node.getValue());
-        if (cmp == 0) return true;
-        if (cmp < 0) return searchInABB(node.getFilhoEsq(), target);
-        return searchInABB(node.getFilhoDir(), target);
+        while (node != null) {
+            int cmp = target.compareTo(node.getValue());
+            if (cmp == 0) return true;
+            node = (cmp < 0) ? node.getFilhoEsq() : node.getFilhoDir();
+        }
+        return false;
     }
     
     // Análise de busca em AVL
-    public static Metrics analyzeAVLSearch(AVL avl, List<Game> searchItems) {
+    public static Metrics analyzeAVLSearch(AVL<Game> avl, List<Game> searchItems) {
+        Metrics metrics = new Metrics();
+        
+        long totalTime = 0;
+        
+        for (int i = 0; i < 3; i++) {
+            long startTime = System.nanoTime();
+            
+            for (Game game : searchItems) {
+                avl.searchAVL(game);
+            }
+            
+            long endTime = System.nanoTime();
+            totalTime += (endTime - startTime);
+        }
+        
+        metrics.setExecutionTime(totalTime / 3); // Média de 3 execuções
+        metrics.comparisons = estimateSearchComparisons(searchItems.size(), true);
+        
+        return metrics;
+    }
+    
+    // Análise de inserção na AVL compacta (vetores de primitivos)
+    public static Metrics analyzeAVLCompactaInsertion(List<Game> games) {
+        Metrics metrics = new Metrics();
+        AVLCompacta avl = new AVLCompacta(games.size());
+        
+        long startTime = System.nanoTime();
+        
+        for (Game game : games) {
+            avl.insereAVL(game);
+        }
+        
+        long endTime = System.nanoTime();
+        metrics.setExecutionTime(endTime - startTime);
+        
+        metrics.comparisons = estimateAVLComparisons(games.size());
+        metrics.rotations = estimateAVLRotations(games.size());
+        
+        return metrics;
+    }
+    
+    // Análise de busca na AVL compacta
+    public static Metrics analyzeAVLCompactaSearch(AVLCompacta avl, List<Game> searchItems) {
         Metrics metrics = new Metrics();
         
         long totalTime = 0;
@@ -150,6 +221,1188 @@ public class PerformanceAnalysis {
         return metrics;
     }
     
+    // Compara a memória da AVL de objetos (NoAVL) e da AVL compacta pelo layout dos objetos
+    // (cabeçalho + campos, vezes o número de nós), e não pela diferença de heap entre duas
+    // coletas, que com poucos registros fica abaixo do ruído do coletor e sai até negativa.
+    // Os objetos Game já estão na lista e são compartilhados, então só a estrutura entra na conta.
+    public static void compareAVLMemory(List<Game> games) {
+        System.out.println("\n========================================");
+        System.out.println("Comparação de Memória: AVL vs AVL compacta");
+        System.out.println("========================================");
+        if (games.size() < MIN_FOOTPRINT_RECORDS) {
+            System.out.printf("Poucos registros (%,d) para comparar a memória; mínimo: %,d\n",
+                            games.size(), MIN_FOOTPRINT_RECORDS);
+            System.out.println("========================================\n");
+            return;
+        }
+        
+        AVLCompacta compacta = new AVLCompacta(games.size());
+        for (Game game : games) {
+            compacta.insereAVL(game);
+        }
+        int n = games.size();
+        long avlBytes = shallowSize(AVL.class) + (long) n * shallowSize(NoAVL.class);
+        long compactaBytes = footprintWithArrays(compacta);
+        
+        System.out.printf("AVL (NoAVL):   %,d bytes (%.1f bytes/nó)\n", avlBytes, avlBytes / (double) n);
+        System.out.printf("AVL compacta:  %,d bytes (%.1f bytes/nó) - %d nós\n", 
+                        compactaBytes, compactaBytes / (double) n, compacta.tamanho());
+        System.out.printf("- AVL compacta usa %.2f%% da memória da AVL\n", compactaBytes * 100.0 / avlBytes);
+        System.out.println("- Estimativa pelo layout da JVM HotSpot de 64 bits com referências comprimidas");
+        System.out.println("========================================\n");
+    }
+    
+    // Corpo de um teste que usa um arquivo temporário
+    private interface FileTest {
+        void run(Path file) throws IOException;
+    }
+    
+    // Executa o teste com um CSV sintético temporário de n registros (writeSyntheticCSV)
+    static void withSyntheticCSV(int n, String testName, FileTest test) {
+        withTempFile("steamcharts-sintetico", ".csv", testName, file -> {
+            writeSyntheticCSV(file, n);
+            test.run(file);
+        });
+    }
+    
+    // Executa o teste com um arquivo temporário vazio e o apaga no fim, junto com os
+    // arquivos gravados ao lado dele (mesmo nome + extensão, como o cache). Um erro de
+    // E/S encerra o teste com a mensagem "Erro no teste <testName>"
+    static void withTempFile(String prefix, String suffix, String testName, FileTest test) {
+        Path file = null;
+        try {
+            file = Files.createTempFile(prefix, suffix);
+            test.run(file);
+        } catch (IOException e) {
+            System.err.println("Erro no teste " + testName + ": " + e.getMessage());
+        } finally {
+            if (file != null) {
+                deleteWithDerived(file);
+            }
+        }
+    }
+    
+    private static void deleteWithDerived(Path file) {
+        try (DirectoryStream<Path> derived = Files.newDirectoryStream(file.toAbsolutePath().getParent(),
+                                                                      file.getFileName() + ".*")) {
+            for (Path path : derived) {
+                Files.deleteIfExists(path);
+            }
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // arquivos temporários: o sistema remove depois
+        }
+    }
+    
+    // Escreve um CSV no formato do steamcharts.csv com n registros sintéticos
+    // (1 em cada 50 linhas com ganho "-", como os primeiros meses de cada jogo)
+    public static void writeSyntheticCSV(Path file, int n) throws IOException {
+        List<Game> games = generateSyntheticGames(n, false, 5);
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("month,avg_players,gain,gain_percent,peak_players,name,steam_appid\n");
+            StringBuilder line = new StringBuilder(96);
+            for (int i = 0; i < n; i++) {
+                Game g = games.get(i);
+                line.setLength(0);
+                line.append(g.getMonth()).append(',');
+                appendFixed(line, g.getAvgPlayers(), 2).append(',');
+                if (i % 50 == 0) {
+                    line.append("-,-,");
+                } else {
+                    appendFixed(line, g.getGain(), 2).append(',');
+                    appendFixed(line, g.getGainPercent(), 4).append(',');
+                }
+                line.append(g.getPeakPlayers()).append(',')
+                    .append(g.getName()).append(',')
+                    .append(g.getSteamAppid()).append('\n');
+                out.append(line);
+            }
+        }
+    }
+    
+    // Número com casas decimais fixas (Double.toString usaria notação científica)
+    private static StringBuilder appendFixed(StringBuilder sb, double value, int decimals) {
+        long scale = (long) Math.pow(10, decimals);
+        long scaled = Math.round(Math.abs(value) * scale);
+        if (value < 0 && scaled != 0) {
+            sb.append('-');
+        }
+        sb.append(scaled / scale).append('.');
+        String fraction = Long.toString(scaled % scale);
+        for (int i = fraction.length(); i < decimals; i++) {
+            sb.append('0');
+        }
+        return sb.append(fraction);
+    }
+    
+    // Leitura do CSV: BufferedReader + campos (CSVReader) vs bytes mapeados (MappedCSVReader).
+    // Mede tempo e bytes alocados pela thread em cada leitura e confere se as listas são iguais
+    public static void benchmarkCSVReaders(int n) {
+        withSyntheticCSV(n, "de leitura", file -> {
+            String path = file.toString();
+            double megabytes = Files.size(file) / (1024.0 * 1024.0);
+            
+            // Uma rodada de aquecimento de cada leitor antes da medição
+            CSVReader.readGamesFromCSV(path);
+            MappedCSVReader.readGames(path);
+            
+            long allocBefore = allocatedBytes();
+            long start = System.nanoTime();
+            List<Game> lineGames = CSVReader.readGamesFromCSV(path);
+            long lineTime = System.nanoTime() - start;
+            long lineAlloc = allocatedBytes() - allocBefore;
+            
+            allocBefore = allocatedBytes();
+            start = System.nanoTime();
+            List<Game> mappedGames = MappedCSVReader.readGames(path);
+            long mappedTime = System.nanoTime() - start;
+            long mappedAlloc = allocatedBytes() - allocBefore;
+            
+            System.out.println("\n========================================");
+            System.out.printf("Leitura do CSV (%,d registros, %.1f MB)\n", n, megabytes);
+            System.out.println("========================================");
+            System.out.printf("BufferedReader:         %7.1f ms (%6.1f MB/s) | %,d bytes alocados (%.0f/registro)\n",
+                            lineTime / 1e6, megabytes / (lineTime / 1e9), lineAlloc, lineAlloc / (double) n);
+            System.out.printf("Arquivo mapeado:        %7.1f ms (%6.1f MB/s) | %,d bytes alocados (%.0f/registro)\n",
+                            mappedTime / 1e6, megabytes / (mappedTime / 1e9), mappedAlloc, mappedAlloc / (double) n);
+            System.out.printf("- Leitura mapeada %.1fx mais rápida, %.1fx menos alocação\n",
+                            lineTime / (double) mappedTime, lineAlloc / (double) Math.max(1, mappedAlloc));
+            System.out.println("- Listas idênticas: " + (sameGames(lineGames, mappedGames) ? "sim" : "NÃO"));
+            System.out.println("========================================\n");
+        });
+    }
+    
+    // Leitura paralela do CSV em pools de 1, 2, 4... threads (até o número de núcleos), em MB/s.
+    // Também compara "ler + ordenar tudo" com "ordenar cada trecho na leitura + intercalar"
+    public static void benchmarkParallelCSV(int n) {
+        withSyntheticCSV(n, "de leitura", file -> {
+            String path = file.toString();
+            double megabytes = Files.size(file) / (1024.0 * 1024.0);
+            int cores = Runtime.getRuntime().availableProcessors();
+            
+            MappedCSVReader.readGames(path); // aquecimento
+            MappedCSVReader.readGamesParallel(path);
+            long start = System.nanoTime();
+            List<Game> sequential = MappedCSVReader.readGames(path);
+            long sequentialTime = System.nanoTime() - start;
+            
+            System.out.println("\n========================================");
+            System.out.printf("Leitura paralela do CSV (%,d registros, %.1f MB, %d núcleos)\n", n, megabytes, cores);
+            System.out.println("========================================");
+            System.out.printf("Sequencial (mapeado): %.1f ms - %.1f MB/s\n", sequentialTime / 1e6, megabytes / (sequentialTime / 1e9));
+            System.out.println("Threads | leitura em ordem  | trechos ordenados + intercalação | ler + ordenar tudo");
+            
+            for (int threads = 1; threads <= Math.max(1, cores); threads *= 2) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                try {
+                    start = System.nanoTime();
+                    List<Game> ordered = MappedCSVReader.readGamesParallel(path, true, pool);
+                    long readTime = System.nanoTime() - start;
+                    if (!sameGames(sequential, ordered)) {
+                        System.out.println("AVISO: leitura paralela diferente da sequencial!");
+                    }
+                    
+                    start = System.nanoTime();
+                    List<List<Game>> runs = MappedCSVReader.readSortedRuns(path, Game.COMPOSITE_ORDER, pool);
+                    MappedCSVReader.mergeSortedRuns(runs, Game.COMPOSITE_ORDER);
+                    long runsTime = System.nanoTime() - start;
+                    
+                    start = System.nanoTime();
+                    Game[] array = MappedCSVReader.readGamesParallel(path, false, pool).toArray(new Game[0]);
+                    pool.submit(() -> Arrays.parallelSort(array, Game.COMPOSITE_ORDER)).join();
+                    long sortAllTime = System.nanoTime() - start;
+                    
+                    System.out.printf("%7d | %6.1f ms %6.1f MB/s | %28.1f ms | %15.1f ms\n", threads,
+                                    readTime / 1e6, megabytes / (readTime / 1e9), runsTime / 1e6, sortAllTime / 1e6);
+                } finally {
+                    pool.shutdown();
+                }
+            }
+            System.out.println("========================================\n");
+        });
+    }
+    
+    // Tempo até tudo o que App.loadData monta ficar pronto (ABB, AVL agregada, lista,
+    // índices, esboço e agregados das perguntas): ler o arquivo inteiro e depois construir
+    // como a opção 1 (ordenação + bulkLoad) vs a carga em fluxo de App.ingest, com uma
+    // etapa e uma fila por estrutura
+    public static void benchmarkIngestPipeline(int n) {
+        withSyntheticCSV(n, "de carga", file -> {
+            String path = file.toString();
+            MappedCSVReader.readGames(path); // aquecimento
+            
+            int[] sizes = new int[2];
+            long twoPassTime = timeAnalyses(1, () -> {
+                List<Game> games = MappedCSVReader.readGames(path);
+                Game[] sorted = games.toArray(new Game[0]);
+                Arrays.sort(sorted, Game.COMPOSITE_ORDER);
+                ABB<Game> abb = new ABB<>(Game.COMPOSITE_ORDER);
+                abb.bulkLoad(Arrays.asList(sorted));
+                AVL<Game> avl = new AVLAgregada();
+                avl.bulkLoad(Arrays.asList(sorted));
+                new GameIndex(games);
+                QuantileSketch sketch = new QuantileSketch();
+                for (Game game : games) {
+                    sketch.update(game.getAvgPlayers());
+                }
+                sizes[0] = new LiveAnalytics(games).size();
+            })[0];
+            
+            int stages = 5;
+            long pipelineTime = timeAnalyses(1, () -> {
+                ABB<Game> abb = new ABB<>(Game.COMPOSITE_ORDER);
+                AVL<Game> avl = new AVLAgregada();
+                List<Game> list = new ArrayList<>();
+                QuantileSketch sketch = new QuantileSketch();
+                GameIndex index = new GameIndex();
+                LiveAnalytics analytics = new LiveAnalytics();
+                new IngestPipeline(4096, 16)
+                    .addStage("ABB", abb::inserir)
+                    .addStage("AVL", avl::insereAVL)
+                    .addStage("lista", game -> {
+                        list.add(game);
+                        sketch.update(game.getAvgPlayers());
+                    })
+                    .addStage("índices", index::add)
+                    .addStage("agregados", analytics::add)
+                    .run(path, 1_000);
+                sizes[1] = analytics.size();
+            })[0];
+            
+            int cores = Runtime.getRuntime().availableProcessors();
+            double ratio = twoPassTime / (double) pipelineTime;
+            System.out.println("\n========================================");
+            System.out.printf("Carga em fluxo (%,d registros, %d núcleos disponíveis)\n", n, cores);
+            System.out.println("========================================");
+            System.out.printf("Ler tudo e depois construir (opção 1): %8.1f ms\n", twoPassTime / 1e6);
+            System.out.printf("Carga em fluxo (%d etapas):             %8.1f ms\n", stages, pipelineTime / 1e6);
+            System.out.println("Mesmos registros nas duas cargas: " + (sizes[0] == n && sizes[1] == n ? "sim" : "NÃO"));
+            System.out.printf("- Carga em fluxo %.2fx %s\n", ratio >= 1 ? ratio : 1 / ratio,
+                            ratio >= 1 ? "mais rápida" : "mais lenta");
+            if (cores <= stages) {
+                System.out.printf("- Leitura e %d etapas dividiram %d núcleo(s): cada etapa insere registro a\n"
+                                + "  registro, e só há sobreposição com núcleos livres para as etapas\n", stages, cores);
+            }
+            System.out.println("========================================\n");
+        });
+    }
+    
+    // Inicialização: ler o CSV vs carregar o cache binário em colunas (SnapshotCache)
+    public static void benchmarkSnapshotCache(int n) {
+        withSyntheticCSV(n, "de cache", file -> {
+            String path = file.toString();
+            
+            MappedCSVReader.readGames(path); // aquecimento
+            long start = System.nanoTime();
+            List<Game> parsed = MappedCSVReader.readGames(path);
+            long parseTime = System.nanoTime() - start;
+            
+            start = System.nanoTime();
+            SnapshotCache.write(path, parsed);
+            long writeTime = System.nanoTime() - start;
+            
+            SnapshotCache.load(path); // aquecimento
+            start = System.nanoTime();
+            List<Game> cached = SnapshotCache.load(path);
+            long loadTime = System.nanoTime() - start;
+            
+            System.out.println("\n========================================");
+            System.out.printf("Cache binário (%,d registros)\n", n);
+            System.out.println("========================================");
+            System.out.printf("CSV: %.1f MB | cache: %.1f MB\n", Files.size(file) / (1024.0 * 1024.0),
+                            Files.size(SnapshotCache.snapshotPath(path)) / (1024.0 * 1024.0));
+            System.out.printf("Leitura do CSV (mapeado): %.1f ms\n", parseTime / 1e6);
+            System.out.printf("Gravação do cache:        %.1f ms (uma vez)\n", writeTime / 1e6);
+            System.out.printf("Carga do cache:           %.1f ms (%.1fx)\n", loadTime / 1e6, parseTime / (double) loadTime);
+            System.out.println("- Listas idênticas: " + (cached != null && sameGames(parsed, cached) ? "sim" : "NÃO"));
+            System.out.println("========================================\n");
+        });
+    }
+    
+    // Reinício: reconstruir a AVL inserindo os registros vs reabrir a AVL gravada (AVLMapeada).
+    // Confere buscas, select e intervalos do arquivo mapeado contra a árvore em memória
+    public static void benchmarkMappedTree(int n) {
+        withSyntheticCSV(n, "da árvore mapeada", file -> {
+            Path tree = Paths.get(file + ".avl"); // apagado junto com o CSV
+            String path = file.toString();
+            List<Game> games = MappedCSVReader.readGames(path);
+            
+            long start = System.nanoTime();
+            AVLAgregada avl = new AVLAgregada();
+            for (Game g : games) {
+                avl.insereAVL(g);
+            }
+            long buildTime = System.nanoTime() - start;
+            
+            start = System.nanoTime();
+            AVLMapeada.grava(avl, tree, path);
+            long writeTime = System.nanoTime() - start;
+            
+            start = System.nanoTime();
+            AVLMapeada mapped = AVLMapeada.abre(tree, path, Game.COMPOSITE_ORDER);
+            long openTime = System.nanoTime() - start;
+            
+            boolean same = mapped != null && mapped.tamanho() == avl.tamanho();
+            Random random = new Random(11);
+            int queries = 10_000;
+            long avlSearch = 0;
+            long mappedSearch = 0;
+            for (int i = 0; same && i < queries; i++) {
+                Game key = games.get(random.nextInt(games.size()));
+                long t = System.nanoTime();
+                Object fromAVL = avl.searchAVL(key);
+                avlSearch += System.nanoTime() - t;
+                t = System.nanoTime();
+                Game fromMapped = mapped.busca(key);
+                mappedSearch += System.nanoTime() - t;
+                int k = random.nextInt(games.size());
+                same = fromAVL != null && fromMapped != null
+                    && Game.COMPOSITE_ORDER.compare(fromMapped, key) == 0
+                    && sameGames(Arrays.asList(avl.select(k)), Arrays.asList(mapped.select(k)));
+            }
+            for (int i = 0; same && i < 20; i++) {
+                double lo = random.nextDouble() * 50_000;
+                List<Game> expected = new ArrayList<>();
+                List<Game> actual = new ArrayList<>();
+                avl.range(Game.lowerBound(lo), Game.upperBound(lo + 500)).forEachRemaining(expected::add);
+                mapped.range(Game.lowerBound(lo), Game.upperBound(lo + 500)).forEachRemaining(actual::add);
+                same = sameGames(expected, actual);
+            }
+            
+            System.out.println("\n========================================");
+            System.out.printf("AVL gravada e mapeada (%,d registros)\n", n);
+            System.out.println("========================================");
+            System.out.printf("Arquivo: %.1f MB\n", Files.size(tree) / (1024.0 * 1024.0));
+            System.out.printf("Construção por inserções: %.1f ms\n", buildTime / 1e6);
+            System.out.printf("Gravação da árvore:       %.1f ms (uma vez)\n", writeTime / 1e6);
+            System.out.printf("Abertura mapeada (+CRC):  %.1f ms\n", openTime / 1e6);
+            System.out.printf("Busca média: AVL %.0f ns | mapeada %.0f ns\n",
+                            avlSearch / (double) queries, mappedSearch / (double) queries);
+            System.out.println("- Buscas, select e intervalos iguais: " + (same ? "sim" : "NÃO"));
+            System.out.println("========================================\n");
+        });
+    }
+    
+    // Amostras do CSV sem carregar o arquivo inteiro: prefixo (para de ler), reservatório
+    // (uniforme, uma leitura) e estratificada por mês. Depois usa amostras de tamanhos
+    // crescentes do mesmo arquivo para um experimento rápido de escala da ABB e da AVL
+    public static void benchmarkSampling(int n) {
+        withSyntheticCSV(n, "de amostragem", file -> {
+            String path = file.toString();
+            int sampleSize = 10_000;
+            
+            long start = System.nanoTime();
+            List<Game> all = CSVReader.readGamesFromCSV(path);
+            long fullTime = System.nanoTime() - start;
+            
+            start = System.nanoTime();
+            List<Game> prefix = CSVReader.readSample(path, sampleSize);
+            long prefixTime = System.nanoTime() - start;
+            
+            start = System.nanoTime();
+            List<Game> reservoir = CSVReader.reservoirSample(path, sampleSize, 7);
+            long reservoirTime = System.nanoTime() - start;
+            
+            start = System.nanoTime();
+            List<Game> stratified = CSVReader.stratifiedSample(path, 20, Game::getMonth, 7);
+            long stratifiedTime = System.nanoTime() - start;
+            
+            System.out.println("\n========================================");
+            System.out.printf("Amostragem do CSV (%,d registros, amostra de %,d)\n", n, sampleSize);
+            System.out.println("========================================");
+            System.out.printf("Arquivo inteiro:          %8.1f ms | média de jogadores %.1f\n",
+                            fullTime / 1e6, meanAvgPlayers(all));
+            System.out.printf("Prefixo (para de ler):    %8.1f ms | média de jogadores %.1f\n",
+                            prefixTime / 1e6, meanAvgPlayers(prefix));
+            System.out.printf("Reservatório (uniforme):  %8.1f ms | média de jogadores %.1f\n",
+                            reservoirTime / 1e6, meanAvgPlayers(reservoir));
+            System.out.printf("Estratificada (20/mês):   %8.1f ms | %,d registros\n",
+                            stratifiedTime / 1e6, stratified.size());
+            all = null; // só as amostras continuam na memória
+            
+            System.out.println("\nEscala com amostras do reservatório (ns por inserção):");
+            System.out.println("   amostra |     ABB |     AVL");
+            for (int size = 25_000; size <= Math.min(n, 400_000); size *= 4) {
+                List<Game> sample = CSVReader.reservoirSample(path, size, size);
+                Metrics abb = analyzeABBInsertion(sample);
+                Metrics avl = analyzeAVLInsertion(sample);
+                System.out.printf("%,10d | %7.0f | %7.0f\n", sample.size(),
+                                abb.getExecutionTimeNs() / (double) sample.size(),
+                                avl.getExecutionTimeNs() / (double) sample.size());
+            }
+            System.out.println("========================================\n");
+        });
+    }
+    
+    private static double meanAvgPlayers(List<Game> games) {
+        double sum = 0;
+        for (Game g : games) {
+            sum += g.getAvgPlayers();
+        }
+        return games.isEmpty() ? 0 : sum / games.size();
+    }
+    
+    // Custo do log de alterações (MutationLog) por inserção na AVL: sem log, com fsync a cada
+    // entrada e com fsync em lotes. Depois mede a reaplicação e o checkpoint do log
+    public static void benchmarkMutationLog(int n) {
+        withTempFile("alteracoes", ".wal", "do log de alterações", file -> {
+            Files.delete(file);
+            List<Game> games = generateSyntheticGames(n, false, 19);
+            
+            long start = System.nanoTime();
+            AVL<Game> avl = new AVL<>(Game.COMPOSITE_ORDER);
+            for (Game g : games) {
+                avl.insereAVL(g);
+            }
+            long plain = System.nanoTime() - start;
+            
+            // fsync por entrada: só uma parte dos registros, senão o teste demora demais
+            int unbatchedRows = Math.min(n, 2_000);
+            long unbatched;
+            try (MutationLog log = new MutationLog(file, 1, 60_000)) {
+                start = System.nanoTime();
+                for (int i = 0; i < unbatchedRows; i++) {
+                    log.logInsert(games.get(i));
+                }
+                unbatched = System.nanoTime() - start;
+            }
+            Files.delete(file);
+            
+            long batched;
+            long syncs;
+            start = System.nanoTime();
+            avl = new AVL<>(Game.COMPOSITE_ORDER);
+            try (MutationLog log = new MutationLog(file, 256, 200)) {
+                for (Game g : games) {
+                    avl.insereAVL(g);
+                    log.logInsert(g);
+                }
+                log.sync();
+                batched = System.nanoTime() - start;
+                syncs = log.getSyncs();
+                // Remove metade: o checkpoint deve deixar só a metade que continua inserida
+                for (int i = 0; i < n; i += 2) {
+                    log.logRemove(games.get(i));
+                }
+            }
+            
+            long logBytes = Files.size(file);
+            long replayTime;
+            long replayed;
+            long checkpointTime;
+            long afterCheckpoint;
+            try (MutationLog log = new MutationLog(file, 256, 200)) {
+                AVL<Game> replayedTree = new AVL<>(Game.COMPOSITE_ORDER);
+                start = System.nanoTime();
+                replayed = log.replay(new MutationLog.Handler() {
+                    public void insert(Game game) {
+                        replayedTree.insereAVL(game);
+                    }
+                    
+                    public void remove(Game game) {
+                        replayedTree.removeAVL(game);
+                    }
+                });
+                replayTime = System.nanoTime() - start;
+                start = System.nanoTime();
+                afterCheckpoint = log.checkpoint();
+                checkpointTime = System.nanoTime() - start;
+            }
+            
+            System.out.println("\n========================================");
+            System.out.printf("Log de alterações (%,d inserções + %,d remoções)\n", n, (n + 1) / 2);
+            System.out.println("========================================");
+            System.out.printf("AVL sem log:              %.0f ns/inserção\n", plain / (double) n);
+            System.out.printf("AVL + log (lotes de 256): %.0f ns/inserção (+%.0f ns, %,d fsyncs)\n",
+                            batched / (double) n, (batched - plain) / (double) n, syncs);
+            System.out.printf("Log com fsync por entrada: %.0f ns/entrada (%,d entradas)\n",
+                            unbatched / (double) unbatchedRows, unbatchedRows);
+            System.out.printf("Tamanho do log: %.1f bytes/entrada\n", logBytes / (double) (n + (n + 1) / 2));
+            System.out.printf("Reaplicação: %,d entradas em %.1f ms\n", replayed, replayTime / 1e6);
+            System.out.printf("Checkpoint:  %.1f ms, %,d entradas restantes\n", checkpointTime / 1e6, afterCheckpoint);
+            System.out.println("========================================\n");
+        });
+    }
+    
+    // Leitura de um CSV com linhas problemáticas: nomes entre aspas com vírgula, números
+    // inválidos e aspas sem fechamento. Compara a leitura antiga (split + exceções) com a
+    // máquina de estados de CSVReader e MappedCSVReader e mostra os contadores de recusa
+    public static void benchmarkDirtyCSV(int n) {
+        withTempFile("steamcharts-sujo", ".csv", "do CSV com linhas problemáticas", file -> {
+            List<Game> games = generateSyntheticGames(n, false, 20);
+            int quoted = 0;
+            try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                out.write("month,avg_players,gain,gain_percent,peak_players,name,steam_appid\n");
+                StringBuilder line = new StringBuilder(96);
+                for (int i = 0; i < n; i++) {
+                    Game g = games.get(i);
+                    line.setLength(0);
+                    line.append(g.getMonth()).append(',');
+                    appendFixed(line, g.getAvgPlayers(), 2).append(',');
+                    if (i % 50 == 0) {
+                        line.append("-,,");
+                    } else if (i % 97 == 0) {
+                        line.append("n/a,").append(g.getGainPercent()).append(',');
+                    } else {
+                        appendFixed(line, g.getGain(), 2).append(',');
+                        appendFixed(line, g.getGainPercent(), 4).append(',');
+                    }
+                    line.append(g.getPeakPlayers()).append(',');
+                    if (i % 10 == 0) {
+                        line.append('"').append(g.getName()).append(", \"\"Deluxe\"\"\"");
+                        quoted++;
+                    } else if (i % 499 == 0) {
+                        line.append('"').append(g.getName());
+                    } else {
+                        line.append(g.getName());
+                    }
+                    line.append(',').append(g.getSteamAppid()).append('\n');
+                    out.append(line);
+                }
+            }
+            String path = file.toString();
+            
+            // Uma rodada de aquecimento de cada leitor antes da medição
+            long[] legacy = legacyRead(path);
+            CSVReader.readGamesFromCSV(path);
+            MappedCSVReader.readGames(path, g -> { }, null);
+            
+            long start = System.nanoTime();
+            legacy = legacyRead(path);
+            long legacyTime = System.nanoTime() - start;
+            
+            ParseStats lineStats = new ParseStats();
+            start = System.nanoTime();
+            List<Game> lineGames = CSVReader.readGamesFromCSV(path, lineStats);
+            long lineTime = System.nanoTime() - start;
+            
+            ParseStats mappedStats = new ParseStats();
+            List<Game> mappedGames = new ArrayList<>(n);
+            start = System.nanoTime();
+            MappedCSVReader.readGames(path, mappedGames::add, mappedStats);
+            long mappedTime = System.nanoTime() - start;
+            
+            int withComma = 0;
+            for (Game g : lineGames) {
+                if (g.getName().indexOf(',') >= 0) {
+                    withComma++;
+                }
+            }
+            
+            System.out.println("\n========================================");
+            System.out.printf("CSV com linhas problemáticas (%,d linhas)\n", n);
+            System.out.println("========================================");
+            System.out.printf("split + exceções:  %7.1f ms | %,d aceitas (%,d desalinhadas), %,d exceções lançadas\n",
+                            legacyTime / 1e6, legacy[0], legacy[2], legacy[1]);
+            System.out.printf("CSVReader:         %7.1f ms | %,d aceitas, %,d recusadas\n",
+                            lineTime / 1e6, lineStats.getAccepted(), lineStats.getTotalRejected());
+            System.out.printf("MappedCSVReader:   %7.1f ms | %,d aceitas, %,d recusadas\n",
+                            mappedTime / 1e6, mappedStats.getAccepted(), mappedStats.getTotalRejected());
+            for (ParseStats.Reason reason : ParseStats.Reason.values()) {
+                System.out.printf("  %-40s %,d\n", reason.getDescription() + ":", lineStats.getRejected(reason));
+            }
+            System.out.printf("- Nomes com vírgula lidos inteiros: %,d de %,d (antes: desalinhados, appid 0)\n",
+                            withComma, quoted);
+            boolean sameStats = lineStats.getAccepted() == mappedStats.getAccepted();
+            for (ParseStats.Reason reason : ParseStats.Reason.values()) {
+                sameStats &= lineStats.getRejected(reason) == mappedStats.getRejected(reason);
+            }
+            System.out.println("- Listas e contadores idênticos: "
+                            + (sameGames(lineGames, mappedGames) && sameStats ? "sim" : "NÃO"));
+            System.out.println("========================================\n");
+        });
+    }
+    
+    // Leitura como era antes da máquina de estados: split(",") e NumberFormatException
+    // para "-", vazios e valores inválidos. Devolve {linhas aceitas, exceções lançadas,
+    // linhas aceitas com campos desalinhados (vírgula dentro do nome)}
+    private static long[] legacyRead(String path) throws IOException {
+        List<Game> games = new ArrayList<>();
+        long exceptions = 0;
+        long misaligned = 0;
+        try (BufferedReader br = Files.newBufferedReader(Paths.get(path), StandardCharsets.UTF_8)) {
+            br.readLine(); // cabeçalho
+            String line;
+            while ((line = br.readLine()) != null) {
+                String[] values = line.split(",");
+                if (values.length < 7) {
+                    continue;
+                }
+                double[] doubles = new double[3];
+                int[] ints = new int[2];
+                for (int i = 0; i < 3; i++) {
+                    try {
+                        doubles[i] = Double.parseDouble(values[i + 1].trim());
+                    } catch (NumberFormatException e) {
+                        exceptions++;
+                    }
+                }
+                for (int i = 0; i < 2; i++) {
+                    try {
+                        ints[i] = Integer.parseInt(values[i == 0 ? 4 : 6].trim());
+                    } catch (NumberFormatException e) {
+                        exceptions++;
+                    }
+                }
+                games.add(new Game(values[0], doubles[0], doubles[1], doubles[2], ints[0],
+                                   StringPool.NAMES.intern(values[5].trim()), ints[1]));
+                if (values.length > 7) {
+                    misaligned++;
+                }
+            }
+        }
+        return new long[] {games.size(), exceptions, misaligned};
+    }
+    
+    // As cinco perguntas do DataAnalyzer: uma a uma (cada uma com seu percurso) vs o
+    // motor de percurso único. A saída das análises é descartada durante a medição
+    public static void benchmarkFusedAnalyses(int n) {
+        List<Game> games = generateSyntheticGames(n, false, 21);
+        AVL<Game> avl = new AVL<>(Game.COMPOSITE_ORDER);
+        ABB<Game> abb = new ABB<>(Game.COMPOSITE_ORDER);
+        AVLAgregada aggregated = new AVLAgregada();
+        for (Game g : games) {
+            avl.insereAVL(g);
+            abb.inserir(g);
+            aggregated.insereAVL(g);
+        }
+        
+        // Só ABB e AVL simples: cada pergunta percorre os registros
+        DataAnalyzer plain = new DataAnalyzer(games);
+        plain.setABBTree(abb);
+        plain.setAVLTree(avl);
+        // Configuração do App: AVL agregada (respostas em O(log n)) e índice por nome
+        DataAnalyzer indexed = new DataAnalyzer(games);
+        indexed.setABBTree(abb);
+        indexed.setAVLTree(aggregated);
+        indexed.setIndex(new GameIndex(games));
+        
+        int rounds = 5;
+        long[] sequential = timeAnalyses(rounds, () -> runQuestions(plain));
+        long[] shortcuts = timeAnalyses(rounds, () -> runQuestions(indexed));
+        long[] fused = timeAnalyses(rounds, () -> {
+            AnalysisEngine engine = DataAnalyzer.allAnalyses(5000.0, 10000);
+            engine.run(avl);
+            engine.report();
+        });
+        
+        System.out.println("\n========================================");
+        System.out.printf("Cinco perguntas exploratórias (%,d registros, melhor de %d)\n", n, rounds);
+        System.out.println("========================================");
+        System.out.printf("Uma a uma (ABB/AVL simples):        %7.1f ms | %,d bytes alocados\n",
+                        sequential[0] / 1e6, sequential[1]);
+        System.out.printf("Uma a uma (AVL agregada + índice):  %7.1f ms | %,d bytes alocados\n",
+                        shortcuts[0] / 1e6, shortcuts[1]);
+        System.out.printf("Percurso único (AnalysisEngine):    %7.1f ms | %,d bytes alocados\n",
+                        fused[0] / 1e6, fused[1]);
+        System.out.printf("- Percurso único %.1fx mais rápido que as perguntas uma a uma\n",
+                        sequential[0] / (double) fused[0]);
+        System.out.println("========================================\n");
+    }
+    
+    // Percurso dividido entre 1, 2, 4 e 8 threads: as cinco perguntas pelo AnalysisEngine
+    // na AVL e uma contagem em stream paralelo sobre cada árvore (ABB aleatória e ABB
+    // degenerada em lista, que só pode ser dividida copiando lotes). Cada configuração é
+    // aquecida antes e o resultado é a mediana de rodadas em ordem embaralhada
+    public static void benchmarkParallelTraversal(int n) {
+        List<Game> games = generateSyntheticGames(n, false, 22);
+        AVL<Game> avl = new AVL<>(Game.COMPOSITE_ORDER);
+        ABB<Game> abb = new ABB<>(Game.COMPOSITE_ORDER);
+        for (Game g : games) {
+            avl.insereAVL(g);
+            abb.inserir(g);
+        }
+        List<Game> sorted = new ArrayList<>(games);
+        sorted.sort(Game.COMPOSITE_ORDER);
+        ABB<Game> chain = degenerateChain(sorted);
+        
+        long expected = sorted.stream().filter(g -> g.getPeakPlayers() > 10000).count();
+        int cores = Runtime.getRuntime().availableProcessors();
+        int[] threadCounts = {1, 2, 4, 8};
+        int warmup = 3;
+        int rounds = 7;
+        ForkJoinPool[] pools = new ForkJoinPool[threadCounts.length];
+        long[][][] samples = new long[threadCounts.length][4][rounds];
+        boolean correct = true;
+        try {
+            for (int t = 0; t < threadCounts.length; t++) {
+                pools[t] = new ForkJoinPool(threadCounts[t]);
+            }
+            // Aquecimento de cada número de threads separado: o JIT e as threads do pool
+            // já estão prontos antes da primeira medição de qualquer configuração
+            for (int t = 0; t < threadCounts.length; t++) {
+                for (int w = 0; w < warmup; w++) {
+                    correct &= traversalRound(avl, abb, chain, pools[t], n, expected, null);
+                }
+            }
+            // Cada rodada mede as configurações em ordem embaralhada; a mediana das
+            // rodadas não depende de quem veio primeiro
+            List<Integer> order = new ArrayList<>();
+            for (int t = 0; t < threadCounts.length; t++) {
+                order.add(t);
+            }
+            Random random = new Random(22);
+            long[] times = new long[4];
+            for (int r = 0; r < rounds; r++) {
+                Collections.shuffle(order, random);
+                for (int t : order) {
+                    correct &= traversalRound(avl, abb, chain, pools[t], n, expected, times);
+                    for (int k = 0; k < 4; k++) {
+                        samples[t][k][r] = times[k];
+                    }
+                }
+            }
+        } finally {
+            for (ForkJoinPool pool : pools) {
+                if (pool != null) {
+                    pool.shutdown();
+                }
+            }
+        }
+        
+        System.out.println("\n========================================");
+        System.out.printf("Percurso paralelo (%,d registros, %d núcleos disponíveis, mediana de %d rodadas)\n",
+                        n, cores, rounds);
+        System.out.println("========================================");
+        System.out.println("Threads | 5 perguntas AVL | stream AVL    | stream ABB    | ABB degenerada");
+        long[] base = new long[4];
+        for (int k = 0; k < 4; k++) {
+            base[k] = median(samples[0][k]);
+        }
+        for (int t = 0; t < threadCounts.length; t++) {
+            StringBuilder row = new StringBuilder(String.format("%7d", threadCounts[t]));
+            for (int k = 0; k < 4; k++) {
+                long time = median(samples[t][k]);
+                // Mais threads que núcleos: a diferença para 1 thread é ruído, não aceleração
+                String speedup = threadCounts[t] <= cores ? String.format("%4.1fx", base[k] / (double) time) : "    -";
+                row.append(String.format(k == 0 ? " | %7.1f ms %s" : " | %5.1f ms %s", time / 1e6, speedup));
+            }
+            System.out.println(row);
+        }
+        System.out.println("Resultados iguais ao percurso sequencial: " + (correct ? "sim" : "NÃO"));
+        if (cores < threadCounts[threadCounts.length - 1]) {
+            System.out.printf("- Com %d núcleo(s), as linhas com mais threads não mostram aceleração: elas só disputam a mesma CPU\n", cores);
+        }
+        System.out.println("========================================\n");
+    }
+    
+    // Uma medição de cada percurso no pool; times == null só executa (aquecimento)
+    private static boolean traversalRound(AVL<Game> avl, ABB<Game> abb, ABB<Game> chain, ForkJoinPool pool,
+                                          int n, long expected, long[] times) {
+        long start = System.nanoTime();
+        int visited = DataAnalyzer.allAnalyses(5000.0, 10000).runParallel(avl, pool);
+        long afterAnalyses = System.nanoTime();
+        long avlCount = countParallel(avl.spliterator(), pool);
+        long afterAVL = System.nanoTime();
+        long abbCount = countParallel(abb.spliterator(), pool);
+        long afterABB = System.nanoTime();
+        long chainCount = countParallel(chain.spliterator(), pool);
+        long end = System.nanoTime();
+        if (times != null) {
+            times[0] = afterAnalyses - start;
+            times[1] = afterAVL - afterAnalyses;
+            times[2] = afterABB - afterAVL;
+            times[3] = end - afterABB;
+        }
+        return visited == n && avlCount == expected && abbCount == expected && chainCount == expected;
+    }
+    
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+    
+    // Custo das cinco perguntas conforme o dataset cresce: percurso único da AVL contra os
+    // agregados mantidos pelo LiveAnalytics, e o custo que estes cobram em cada alteração
+    public static void benchmarkLiveAnalytics(int maxN) {
+        int rounds = 5;
+        System.out.println("\n========================================");
+        System.out.printf("Análises materializadas (melhor de %d)\n", rounds);
+        System.out.println("========================================");
+        System.out.println("Registros | percurso único | agregados | montagem | por alteração | memória dos agregados");
+        
+        int firstN = Math.max(1, maxN / 4);
+        int lastN = firstN;
+        long[] firstTimes = null; // {percurso único, agregados} no menor n
+        long[] lastTimes = null;
+        for (int n = firstN; n <= maxN; n *= 2) {
+            List<Game> games = generateSyntheticGames(n, false, 23);
+            AVLAgregada avl = new AVLAgregada();
+            ABB<Game> abb = new ABB<>(Game.COMPOSITE_ORDER);
+            List<Game> sorted = new ArrayList<>(games);
+            sorted.sort(Game.COMPOSITE_ORDER);
+            avl.bulkLoad(sorted);
+            abb.bulkLoad(sorted);
+            
+            GameIndex index = new GameIndex(games); // estatísticas por appid da pergunta 5
+            long base = usedMemory();
+            long start = System.nanoTime();
+            LiveAnalytics live = new LiveAnalytics(games);
+            long build = System.nanoTime() - start;
+            long liveBytes = usedMemory() - base;
+            
+            // Cada alteração: insere um registro novo e remove um antigo (árvore, índice e agregados)
+            List<Game> extra = generateSyntheticGames(10_000, false, 24);
+            start = System.nanoTime();
+            for (int i = 0; i < extra.size(); i++) {
+                avl.insereAVL(extra.get(i));
+                index.add(extra.get(i));
+                live.add(extra.get(i));
+                Game old = games.get(i);
+                avl.removeAVL(old);
+                index.remove(old);
+                live.remove(old);
+            }
+            long perChange = (System.nanoTime() - start) / (2L * extra.size());
+            
+            DataAnalyzer materialized = new DataAnalyzer(games);
+            materialized.setABBTree(abb);
+            materialized.setAVLTree(avl);
+            materialized.setIndex(index);
+            materialized.setLiveAnalytics(live);
+            long fused = timeAnalyses(rounds, () -> {
+                AnalysisEngine engine = DataAnalyzer.allAnalyses(5000.0, 10000);
+                engine.run(avl);
+                engine.report();
+            })[0];
+            long answered = timeAnalyses(rounds, materialized::performAllAnalyses)[0];
+            
+            System.out.printf("%,9d | %11.1f ms | %6.3f ms | %5.0f ms | %10.2f µs | %,.1f MB\n", n,
+                            fused / 1e6, answered / 1e6, build / 1e6, perChange / 1e3, liveBytes / 1e6);
+            lastN = n;
+            lastTimes = new long[] {fused, answered};
+            if (firstTimes == null) {
+                firstTimes = lastTimes;
+            }
+        }
+        if (lastN > firstN) {
+            double fusedGrowth = lastTimes[0] / (double) firstTimes[0];
+            double answeredGrowth = lastTimes[1] / (double) firstTimes[1];
+            System.out.printf("- De %,d para %,d registros (%dx): percurso único %.1fx o tempo, agregados %.1fx\n",
+                            firstN, lastN, lastN / firstN, fusedGrowth, answeredGrowth);
+            System.out.println(answeredGrowth < fusedGrowth
+                ? "- Os agregados cresceram menos que o percurso, que visita todos os registros"
+                : "- Nesta medição os agregados não cresceram menos que o percurso");
+        }
+        System.out.println("========================================\n");
+    }
+    
+    // Distribuição de mercado exata (lista carregada e ordenada) contra o QuantileSketch,
+    // alimentado na leitura sequencial ou por trechos em paralelo e juntado no final
+    public static void benchmarkMarketSketch(int n) {
+        withSyntheticCSV(n, "do esboço de quantis", file -> {
+            String path = file.toString();
+            double[] fractions = {0.1, 0.25, 0.5};
+            
+            PrintStream console = System.out;
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            long base = usedMemory();
+            long start = System.nanoTime();
+            List<Game> games;
+            try {
+                games = MappedCSVReader.readGames(path);
+            } finally {
+                System.setOut(console);
+            }
+            double[] values = new double[games.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = games.get(i).getAvgPlayers();
+            }
+            Arrays.sort(values);
+            double total = 0;
+            for (double v : values) {
+                total += v;
+            }
+            double[] exact = new double[fractions.length];
+            for (int f = 0; f < fractions.length; f++) {
+                int top = (int) (values.length * fractions[f]);
+                for (int i = values.length - top; i < values.length; i++) {
+                    exact[f] += values[i];
+                }
+            }
+            long exactTime = System.nanoTime() - start;
+            long exactBytes = usedMemory() - base;
+            int loaded = games.size(); // a lista continua em uso até a medição acima
+            games = null;
+            values = null;
+            
+            QuantileSketch sequential = new QuantileSketch(QuantileSketch.DEFAULT_K, 1);
+            start = System.nanoTime();
+            MappedCSVReader.readGames(path, g -> sequential.update(g.getAvgPlayers()));
+            long sequentialTime = System.nanoTime() - start;
+            
+            int cores = Runtime.getRuntime().availableProcessors();
+            ForkJoinPool pool = new ForkJoinPool(Math.max(4, cores));
+            QuantileSketch merged;
+            long parallelTime;
+            try {
+                start = System.nanoTime();
+                merged = MappedCSVReader.sketchAvgPlayers(path, pool);
+                parallelTime = System.nanoTime() - start;
+            } finally {
+                pool.shutdown();
+            }
+            
+            System.out.println("\n========================================");
+            System.out.printf("Distribuição de mercado: exata x esboço (%,d registros, %d núcleos disponíveis)\n",
+                            n, cores);
+            System.out.println("========================================");
+            System.out.printf("Exata (lista + ordenação): %7.1f ms | %,.1f MB\n", exactTime / 1e6, exactBytes / 1e6);
+            System.out.printf("Esboço sequencial:         %7.1f ms | %,.1f KB | erro de posição ±%d\n",
+                            sequentialTime / 1e6, sequential.memoryBytes() / 1024.0, sequential.getRankError());
+            System.out.printf("Esboço por trechos (%d):   %7.1f ms | %,.1f KB | erro de posição ±%d\n",
+                            pool.getParallelism(), parallelTime / 1e6, merged.memoryBytes() / 1024.0,
+                            merged.getRankError());
+            boolean contained = sequential.getCount() == loaded && merged.getCount() == loaded;
+            for (int f = 0; f < fractions.length; f++) {
+                long top = (long) (n * fractions[f]);
+                double[] seq = sequential.topSum(top);
+                double[] par = merged.topSum(top);
+                contained &= seq[1] <= exact[f] + 1e-6 * total && exact[f] <= seq[2] + 1e-6 * total
+                             && par[1] <= exact[f] + 1e-6 * total && exact[f] <= par[2] + 1e-6 * total;
+                System.out.printf("Top %2.0f%%: exato %.2f%% | esboço %.2f%% [%.2f%%, %.2f%%] | juntado %.2f%% [%.2f%%, %.2f%%]\n",
+                                fractions[f] * 100, exact[f] / total * 100,
+                                seq[0] / total * 100, seq[1] / total * 100, seq[2] / total * 100,
+                                par[0] / total * 100, par[1] / total * 100, par[2] / total * 100);
+            }
+            System.out.println("Valores exatos dentro dos intervalos: " + (contained ? "sim" : "NÃO"));
+            if (cores < pool.getParallelism()) {
+                System.out.printf("- Com %d núcleo(s), os trechos são lidos um de cada vez\n", cores);
+            }
+            
+            // Memória constante: o mesmo esboço para 10x mais registros, sem arquivo
+            long many = 10L * n;
+            QuantileSketch large = new QuantileSketch(QuantileSketch.DEFAULT_K, 2);
+            Random random = new Random(24);
+            start = System.nanoTime();
+            for (long i = 0; i < many; i++) {
+                large.update(random.nextDouble() * 500000);
+            }
+            System.out.printf("%,d valores direto no esboço: %.1f ms | %,.1f KB | %d guardados\n",
+                            many, (System.nanoTime() - start) / 1e6, large.memoryBytes() / 1024.0,
+                            large.getRetained());
+            System.out.println("========================================\n");
+        });
+    }
+    
+    // Stream paralelo executado dentro do pool usa as threads dele
+    private static long countParallel(Spliterator<Game> records, ForkJoinPool pool) {
+        try {
+            return pool.submit(() -> StreamSupport.stream(records, true)
+                                                  .filter(g -> g.getPeakPlayers() > 10000)
+                                                  .count()).get();
+        } catch (InterruptedException | ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private static void runQuestions(DataAnalyzer analyzer) {
+        analyzer.analyzeHighPerformanceGames(5000.0);
+        analyzer.analyzeGrowthTrends();
+        analyzer.analyzePeakPerformance(10000);
+        analyzer.analyzeMarketDistribution();
+        analyzer.analyzePlayerStability();
+    }
+    
+    // Melhor tempo e bytes alocados dessa rodada, com System.out descartado
+    private static long[] timeAnalyses(int rounds, Runnable analyses) {
+        PrintStream console = System.out;
+        long best = Long.MAX_VALUE;
+        long bestAlloc = 0;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            analyses.run(); // aquecimento
+            for (int i = 0; i < rounds; i++) {
+                long allocBefore = allocatedBytes();
+                long start = System.nanoTime();
+                analyses.run();
+                long elapsed = System.nanoTime() - start;
+                if (elapsed < best) {
+                    best = elapsed;
+                    bestAlloc = allocatedBytes() - allocBefore;
+                }
+            }
+        } finally {
+            System.setOut(console);
+        }
+        return new long[] {best, bestAlloc};
+    }
+    
+    // Campos do formato antigo de Game (cada linha com suas próprias Strings de mês e
+    // nome); só o layout importa, para compareGameFootprint
+    @SuppressWarnings("unused")
+    private static final class LegacyGame {
+        String month;
+        double avgPlayers;
+        double gain;
+        double gainPercent;
+        int peakPlayers;
+        String name;
+        int steamAppid;
+    }
+    
+    // Memória ocupada pelos registros do dataset: Strings de mês e nome por linha (como
+    // antes) vs mês compactado em int e nomes compartilhados pelo StringPool. Calculada pelo
+    // layout dos objetos, como em compareAVLMemory
+    public static void compareGameFootprint(List<Game> games) {
+        System.out.println("\n========================================");
+        System.out.printf("Memória dos registros (%,d jogos)\n", games.size());
+        System.out.println("========================================");
+        if (games.size() < MIN_FOOTPRINT_RECORDS) {
+            System.out.printf("Poucos registros para comparar a memória; mínimo: %,d\n", MIN_FOOTPRINT_RECORDS);
+            System.out.println("========================================\n");
+            return;
+        }
+        
+        long legacyBytes = 0;
+        for (Game g : games) {
+            legacyBytes += shallowSize(LegacyGame.class) + stringSize(g.getMonth()) + stringSize(g.getName());
+        }
+        
+        // Por registro: o Game e o texto do mês quando ele não cabe no formato compactado.
+        // Por nome distinto: a String guardada no pool e a entrada do mapa
+        StringPool pool = new StringPool();
+        long packedBytes = 0;
+        for (Game g : games) {
+            packedBytes += shallowSize(Game.class);
+            if (Game.packMonth(g.getMonth()) < 0) {
+                packedBytes += stringSize(g.getMonth());
+            }
+            int names = pool.size();
+            pool.intern(g.getName());
+            if (pool.size() > names) {
+                packedBytes += stringSize(g.getName()) + POOL_ENTRY_BYTES;
+            }
+        }
+        
+        int n = games.size();
+        System.out.printf("Strings por registro:          %,d bytes (%.1f bytes/registro)\n",
+                        legacyBytes, legacyBytes / (double) n);
+        System.out.printf("Mês compactado + nomes únicos: %,d bytes (%.1f bytes/registro, %,d nomes)\n",
+                        packedBytes, packedBytes / (double) n, pool.size());
+        System.out.printf("- Economia: %,d bytes (%.1f%%)\n", legacyBytes - packedBytes,
+                        (legacyBytes - packedBytes) * 100.0 / legacyBytes);
+        System.out.println("- Estimativa pelo layout da JVM HotSpot de 64 bits com referências comprimidas");
+        System.out.println("========================================\n");
+    }
+    
+    // Abaixo disso os custos fixos (vetores iniciais, cabeçalhos das árvores) dominam a conta
+    private static final int MIN_FOOTPRINT_RECORDS = 1_000;
+    
+    // Layout da HotSpot de 64 bits com referências comprimidas (padrão com heap até 32 GB):
+    // cabeçalho de 12 bytes (16 em vetores), referências de 4 bytes, objetos alinhados em 8
+    private static final int OBJECT_HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE_BYTES = 4;
+    // Entrada do ConcurrentHashMap do pool (cabeçalho, hash, chave, valor e próximo) + posição na tabela
+    private static final int POOL_ENTRY_BYTES = 32 + REFERENCE_BYTES;
+    
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+    
+    private static int fieldBytes(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        if (type == byte.class || type == boolean.class) {
+            return 1;
+        }
+        return REFERENCE_BYTES;
+    }
+    
+    // Cabeçalho + campos de instância da classe e das superclasses
+    static long shallowSize(Class<?> type) {
+        long bytes = OBJECT_HEADER;
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    bytes += fieldBytes(field.getType());
+                }
+            }
+        }
+        return align(bytes);
+    }
+    
+    static long arraySize(Class<?> componentType, int length) {
+        return align(ARRAY_HEADER + (long) length * fieldBytes(componentType));
+    }
+    
+    // String compacta (Latin-1, 1 byte por caractere) ou UTF-16 (2 bytes)
+    static long stringSize(String value) {
+        if (value == null) {
+            return 0;
+        }
+        boolean latin1 = value.chars().allMatch(c -> c <= 0xFF);
+        return shallowSize(String.class) + arraySize(byte.class, latin1 ? value.length() : 2 * value.length());
+    }
+    
+    // Objeto mais os vetores referenciados pelos seus campos (sem seguir os elementos dos vetores)
+    private static long footprintWithArrays(Object object) {
+        long bytes = shallowSize(object.getClass());
+        for (Class<?> c = object.getClass(); c != null; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || !field.getType().isArray()) {
+                    continue;
+                }
+                try {
+                    field.setAccessible(true);
+                    Object array = field.get(object);
+                    if (array != null) {
+                        bytes += arraySize(field.getType().getComponentType(), Array.getLength(array));
+                    }
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+        return bytes;
+    }
+    
+    // Compara campo a campo (doubles pelo valor exato)
+    static boolean sameGames(List<Game> a, List<Game> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            Game x = a.get(i);
+            Game y = b.get(i);
+            if (!Objects.equals(x.getMonth(), y.getMonth()) || !Objects.equals(x.getName(), y.getName())
+                || Double.compare(x.getAvgPlayers(), y.getAvgPlayers()) != 0
+                || Double.compare(x.getGain(), y.getGain()) != 0
+                || Double.compare(x.getGainPercent(), y.getGainPercent()) != 0
+                || x.getPeakPlayers() != y.getPeakPlayers() || x.getSteamAppid() != y.getSteamAppid()) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    // Bytes alocados pela thread atual até agora (-1 se a JVM não informar)
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+    
+    // Memória em uso após forçar coletas (estimativa, depende do coletor da JVM)
+    private static long usedMemory() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+    
     // Análise de remoção em ABB
     public static Metrics analyzeABBRemoval(ABB<Game> abb, List<Game> removeItems) {
         Metrics metrics = new Metrics();
@@ -169,7 +1422,7 @@ public class PerformanceAnalysis {
     }
     
     // Análise de remoção em AVL
-    public static Metrics analyzeAVLRemoval(AVL avl, List<Game> removeItems) {
+    public static Metrics analyzeAVLRemoval(AVL<Game> avl, List<Game> removeItems) {
         Metrics metrics = new Metrics();
         
         long startTime = System.nanoTime();
@@ -187,6 +1440,442 @@ public class PerformanceAnalysis {
         return metrics;
     }
     
+    // Gera registros sintéticos no formato do steamcharts.csv para testes de escala.
+    // Com sorted = true as médias saem em ordem crescente (pior caso da ABB).
+    public static List<Game> generateSyntheticGames(int n, boolean sorted, long seed) {
+        Random random = new Random(seed);
+        String[] months = {"Jan", "Feb", "Mar", "Apr", "May", "Jun", 
+                           "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
+        List<Game> games = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            double avgPlayers = sorted ? i * 0.5 : random.nextDouble() * 500_000;
+            double gainPercent = random.nextGaussian() * 0.1;
+            int appid = 10 + random.nextInt(5_000) * 10;
+            String month = months[random.nextInt(12)] + "-" + (12 + random.nextInt(14));
+            games.add(new Game(month, avgPlayers, avgPlayers * gainPercent, gainPercent,
+                               (int) (avgPlayers * (1.2 + random.nextDouble())), "Game " + appid, appid));
+        }
+        return games;
+    }
+    
+    // Vazão de inserção, busca e remoção com dados aleatórios (ABB e AVL iterativas)
+    public static void benchmarkRandomInput(int n) {
+        List<Game> games = generateSyntheticGames(n, false, 42);
+        List<Game> sample = games.subList(0, Math.min(n, 100_000));
+        
+        System.out.println("\n========================================");
+        System.out.printf("Vazão com entrada aleatória (%,d registros)\n", n);
+        System.out.println("========================================");
+        
+        ABB<Game> abb = new ABB<>();
+        long start = System.nanoTime();
+        for (Game game : games) {
+            abb.inserir(game);
+        }
+        long abbInsert = System.nanoTime() - start;
+        
+        AVL<Game> avl = new AVL<>();
+        start = System.nanoTime();
+        for (Game game : games) {
+            avl.insereAVL(game);
+        }
+        long avlInsert = System.nanoTime() - start;
+        
+        Metrics abbSearch = analyzeABBSearch(abb, sample);
+        Metrics avlSearch = analyzeAVLSearch(avl, sample);
+        Metrics abbRemove = analyzeABBRemoval(abb, sample);
+        Metrics avlRemove = analyzeAVLRemoval(avl, sample);
+        
+        System.out.printf("Inserção - ABB: %.0f ops/ms | AVL: %.0f ops/ms\n", 
+                        n / (abbInsert / 1e6), n / (avlInsert / 1e6));
+        System.out.printf("Busca    - ABB: %.0f ops/ms | AVL: %.0f ops/ms\n", 
+                        sample.size() / abbSearch.getExecutionTimeMs(), sample.size() / avlSearch.getExecutionTimeMs());
+        System.out.printf("Remoção  - ABB: %.0f ops/ms | AVL: %.0f ops/ms\n", 
+                        sample.size() / abbRemove.getExecutionTimeMs(), sample.size() / avlRemove.getExecutionTimeMs());
+        System.out.println("========================================\n");
+    }
+    
+    // Entrada já ordenada: a ABB vira uma lista com profundidade igual ao número de registros.
+    // As operações iterativas não dependem do tamanho da pilha da JVM (-Xss).
+    // A ABB usa menos registros porque cada inserção nela custa O(n) nesse caso.
+    public static void stressTestSortedInput(int avlRows, int abbRows) {
+        System.out.println("\n========================================");
+        System.out.println("Teste de estresse com entrada ordenada");
+        System.out.println("========================================");
+        
+        List<Game> games = generateSyntheticGames(Math.max(avlRows, abbRows), true, 7);
+        List<Game> sorted = games.subList(0, avlRows);
+        // Chaves procuradas e removidas: as mais profundas da lista (pior caso da ABB)
+        List<Game> deepest = new ArrayList<>(sorted.subList(Math.max(0, avlRows - 100), avlRows));
+        Collections.reverse(deepest);
+        
+        AVL<Game> avl = new AVL<>();
+        long start = System.nanoTime();
+        for (Game g : sorted) {
+            avl.insereAVL(g);
+        }
+        long avlInsert = System.nanoTime() - start;
+        int visited = 0;
+        start = System.nanoTime();
+        for (NoAVL<Game> no = AVL.menor(avl.getRaiz()); no != null; no = AVL.sucessor(no)) {
+            visited++;
+        }
+        long avlWalk = System.nanoTime() - start;
+        // Buscas de poucos ns: uma passada de aquecimento e a média de várias
+        int passes = 100;
+        long avlSearch = 0;
+        for (int pass = 0; pass <= passes; pass++) {
+            start = System.nanoTime();
+            for (Game g : deepest) {
+                avl.searchAVL(g);
+            }
+            if (pass > 0) {
+                avlSearch += System.nanoTime() - start;
+            }
+        }
+        System.out.printf("AVL: %,d inserções em %.1f ms, percurso em ordem de %,d nós em %.1f ms, busca %.0f ns\n", 
+                        avlRows, avlInsert / 1e6, visited, avlWalk / 1e6, avlSearch / (double) (passes * deepest.size()));
+        avl = null;
+        
+        // Inserir em ordem na ABB custa O(n²): só uma amostra passa por inserir
+        ABB<Game> abb = new ABB<>();
+        start = System.nanoTime();
+        for (int i = 0; i < abbRows; i++) {
+            abb.inserir(games.get(i));
+        }
+        long abbInsert = System.nanoTime() - start;
+        System.out.printf("ABB: %,d inserções em ordem em %.1f ms (%.1f µs cada, crescendo com n)\n", 
+                        abbRows, abbInsert / 1e6, abbInsert / 1e3 / abbRows);
+        abb = null;
+        
+        // A mesma forma que as inserções em ordem dariam, com os avlRows registros
+        ABB<Game> chain = degenerateChain(sorted);
+        start = System.nanoTime();
+        int height = chain.altura();
+        long chainHeight = System.nanoTime() - start;
+        long[] walked = new long[1];
+        start = System.nanoTime();
+        chain.spliterator().forEachRemaining(g -> walked[0]++);
+        long chainWalk = System.nanoTime() - start;
+        int found = 0;
+        start = System.nanoTime();
+        for (Game g : deepest) {
+            if (searchInABB(chain.getRaiz(), g)) {
+                found++;
+            }
+        }
+        long chainSearch = System.nanoTime() - start;
+        int removed = 0;
+        start = System.nanoTime();
+        for (Game g : deepest) {
+            if (chain.eliminar(g)) {
+                removed++;
+            }
+        }
+        long chainRemove = System.nanoTime() - start;
+        System.out.printf("ABB degenerada com %,d nós: altura %,d (%.1f ms), percurso em ordem de %,d nós em %.1f ms\n",
+                        avlRows, height, chainHeight / 1e6, walked[0], chainWalk / 1e6);
+        System.out.printf("  %d buscas pelos nós mais fundos: %.2f ms cada (%d encontrados)\n",
+                        deepest.size(), chainSearch / 1e6 / deepest.size(), found);
+        System.out.printf("  %d remoções dos nós mais fundos: %.2f ms cada (%d removidos, %,d restantes)\n",
+                        deepest.size(), chainRemove / 1e6 / deepest.size(), removed, chain.tamanho());
+        System.out.println("- Nenhum StackOverflowError: altura, percursos, buscas e remoções não usam recursão");
+        System.out.println("========================================\n");
+    }
+    
+    // ABB degenerada montada direto a partir de registros ordenados: cada nó é filho
+    // direito do anterior, a forma que as inserções em ordem dariam (sem o custo O(n²))
+    private static ABB<Game> degenerateChain(List<Game> sorted) {
+        ABB<Game> chain = new ABB<>(Game.COMPOSITE_ORDER);
+        Node<Game> last = null;
+        for (Game g : sorted) {
+            Node<Game> node = new Node<>(g);
+            if (last == null) {
+                chain.setRaiz(node);
+            } else {
+                last.setFilhoDir(node);
+            }
+            last = node;
+        }
+        return chain;
+    }
+    
+    // Busca por intervalo de média: varredura linear da lista (como era em
+    // DataAnalyzer.searchGamesInRange) contra os iteradores range() das árvores
+    public static void benchmarkRangeScan(int n, int queries) {
+        List<Game> games = generateSyntheticGames(n, false, 11);
+        ABB<Game> abb = new ABB<>();
+        AVL<Game> avl = new AVL<>();
+        for (Game game : games) {
+            abb.inserir(game);
+            avl.insereAVL(game);
+        }
+        
+        // Intervalos estreitos (0,1% da faixa de médias) em posições aleatórias
+        Random random = new Random(5);
+        double[] lows = new double[queries];
+        for (int i = 0; i < queries; i++) {
+            lows[i] = random.nextDouble() * 500_000;
+        }
+        double width = 500.0;
+        
+        long found = 0;
+        long start = System.nanoTime();
+        for (double lo : lows) {
+            for (Game game : games) {
+                if (game.getAvgPlayers() >= lo && game.getAvgPlayers() <= lo + width) {
+                    found++;
+                }
+            }
+        }
+        long linearTime = System.nanoTime() - start;
+        
+        long foundABB = 0;
+        start = System.nanoTime();
+        for (double lo : lows) {
+            Iterator<Game> it = abb.range(Game.lowerBound(lo), Game.upperBound(lo + width));
+            while (it.hasNext()) {
+                it.next();
+                foundABB++;
+            }
+        }
+        long abbTime = System.nanoTime() - start;
+        
+        long foundAVL = 0;
+        start = System.nanoTime();
+        for (double lo : lows) {
+            Iterator<Game> it = avl.range(Game.lowerBound(lo), Game.upperBound(lo + width));
+            while (it.hasNext()) {
+                it.next();
+                foundAVL++;
+            }
+        }
+        long avlTime = System.nanoTime() - start;
+        
+        System.out.println("\n========================================");
+        System.out.printf("Busca por intervalo (%,d registros, %d consultas)\n", n, queries);
+        System.out.println("========================================");
+        System.out.printf("Lista (linear): %.3f ms/consulta - %,d resultados\n", linearTime / 1e6 / queries, found);
+        System.out.printf("ABB range():    %.3f ms/consulta - %,d resultados\n", abbTime / 1e6 / queries, foundABB);
+        System.out.printf("AVL range():    %.3f ms/consulta - %,d resultados\n", avlTime / 1e6 / queries, foundAVL);
+        System.out.printf("- AVL %.0fx mais rápida que a varredura linear\n", linearTime / (double) Math.max(1, avlTime));
+        System.out.println("========================================\n");
+    }
+    
+    // Construção inserindo um registro por vez vs ordenar uma vez + bulkLoad (O(n), sem rotações).
+    // As duas árvores usam a ordem composta de Game, como em App.buildTrees.
+    public static void benchmarkBulkLoad(int n) {
+        List<Game> games = generateSyntheticGames(n, false, 11);
+        
+        long start = System.nanoTime();
+        AVL<Game> incremental = new AVLAgregada();
+        for (Game game : games) {
+            incremental.insereAVL(game);
+        }
+        long avlInsert = System.nanoTime() - start;
+        incremental = null;
+        
+        start = System.nanoTime();
+        ABB<Game> abbIncremental = new ABB<>(Game.COMPOSITE_ORDER);
+        for (Game game : games) {
+            abbIncremental.inserir(game);
+        }
+        long abbInsert = System.nanoTime() - start;
+        abbIncremental = null;
+        
+        start = System.nanoTime();
+        List<Game> sorted = new ArrayList<>(games);
+        sorted.sort(Game.COMPOSITE_ORDER);
+        long sortTime = System.nanoTime() - start;
+        
+        start = System.nanoTime();
+        AVL<Game> bulk = new AVLAgregada();
+        bulk.bulkLoad(sorted);
+        long avlBulk = System.nanoTime() - start;
+        
+        start = System.nanoTime();
+        ABB<Game> abbBulk = new ABB<>(Game.COMPOSITE_ORDER);
+        abbBulk.bulkLoad(sorted);
+        long abbBulkTime = System.nanoTime() - start;
+        
+        System.out.println("\n========================================");
+        System.out.printf("Construção das árvores (%,d registros)\n", n);
+        System.out.println("========================================");
+        System.out.printf("Ordenação da lista:        %.1f ms\n", sortTime / 1e6);
+        System.out.printf("AVL - inserção 1 a 1: %.1f ms | bulkLoad: %.1f ms (%.1fx, %.1fx com a ordenação)\n",
+                        avlInsert / 1e6, avlBulk / 1e6, avlInsert / (double) avlBulk,
+                        avlInsert / (double) (avlBulk + sortTime));
+        System.out.printf("ABB - inserção 1 a 1: %.1f ms | bulkLoad: %.1f ms (%.1fx, %.1fx com a ordenação)\n",
+                        abbInsert / 1e6, abbBulkTime / 1e6, abbInsert / (double) abbBulkTime,
+                        abbInsert / (double) (abbBulkTime + sortTime));
+        System.out.println("========================================\n");
+    }
+    
+    // Construção das árvores com ordenação paralela + bulkLoadParalelo, em pools de 1, 2, 4...
+    // threads (até o número de núcleos), ao lado da inserção sequencial registro a registro
+    public static void benchmarkParallelBuild(int n) {
+        List<Game> games = generateSyntheticGames(n, false, 31);
+        int cores = Runtime.getRuntime().availableProcessors();
+        
+        System.out.println("\n========================================");
+        System.out.printf("Construção paralela (%,d registros, %d núcleos)\n", n, cores);
+        System.out.println("========================================");
+        
+        long start = System.nanoTime();
+        AVL<Game> incremental = new AVLAgregada();
+        for (Game game : games) {
+            incremental.insereAVL(game);
+        }
+        long avlInsert = System.nanoTime() - start;
+        incremental = null;
+        
+        start = System.nanoTime();
+        ABB<Game> abbIncremental = new ABB<>(Game.COMPOSITE_ORDER);
+        for (Game game : games) {
+            abbIncremental.inserir(game);
+        }
+        long abbInsert = System.nanoTime() - start;
+        abbIncremental = null;
+        
+        System.out.printf("Inserção sequencial 1 a 1 - ABB: %.1f ms | AVL: %.1f ms\n", 
+                        abbInsert / 1e6, avlInsert / 1e6);
+        System.out.println("Threads | ordenação |   ABB    |   AVL    | total AVL | vs inserção AVL");
+        
+        for (int threads = 1; threads <= Math.max(1, cores); threads *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                Game[] array = games.toArray(new Game[0]);
+                start = System.nanoTime();
+                // parallelSort executado dentro do pool usa as threads dele
+                pool.submit(() -> Arrays.parallelSort(array, Game.COMPOSITE_ORDER)).join();
+                long sortTime = System.nanoTime() - start;
+                List<Game> sorted = Arrays.asList(array);
+                
+                start = System.nanoTime();
+                new ABB<Game>(Game.COMPOSITE_ORDER).bulkLoadParalelo(sorted, pool);
+                long abbTime = System.nanoTime() - start;
+                
+                start = System.nanoTime();
+                new AVLAgregada().bulkLoadParalelo(sorted, pool);
+                long avlTime = System.nanoTime() - start;
+                
+                System.out.printf("%7d | %7.1f ms | %5.1f ms | %5.1f ms | %6.1f ms | %.1fx\n", threads,
+                                sortTime / 1e6, abbTime / 1e6, avlTime / 1e6, (sortTime + avlTime) / 1e6,
+                                avlInsert / (double) (sortTime + avlTime));
+            } finally {
+                pool.shutdown();
+            }
+        }
+        System.out.println("========================================\n");
+    }
+    
+    // Carga mista: 1 escritor (insere um registro e remove um antigo) e N leitores fazendo
+    // buscas por intervalo (~50 resultados). Compara a AVL comum protegida por uma trava
+    // (tudo serializado) com a AVL persistente, em que leitores usam snapshots sem travas.
+    public static void benchmarkConcurrentSnapshots(int n, int durationMs) {
+        List<Game> games = generateSyntheticGames(n, false, 21);
+        List<Game> extra = generateSyntheticGames(n, false, 22); // registros que o escritor insere
+        List<Game> sorted = new ArrayList<>(games);
+        sorted.sort(Game.COMPOSITE_ORDER);
+        double width = 50 * 500_000.0 / n;
+        int window = 1_000; // o escritor remove o registro que inseriu 1000 passos antes
+        
+        System.out.println("\n========================================");
+        System.out.printf("Leitura e escrita concorrentes (%,d registros, %d ms por rodada, %d núcleos)\n",
+                        n, durationMs, Runtime.getRuntime().availableProcessors());
+        System.out.println("========================================");
+        System.out.println("Leitores | AVL com trava: leituras/s  escritas/s | AVL persistente: leituras/s  escritas/s");
+        
+        for (int readers : new int[] {1, 2, 4, 8}) {
+            AVL<Game> locked = new AVL<>(Game.COMPOSITE_ORDER);
+            locked.bulkLoad(sorted);
+            Object lock = new Object();
+            long[] lockedOps = runMixedWorkload(readers, durationMs,
+                random -> {
+                    double lo = random.nextDouble() * 500_000;
+                    synchronized (lock) {
+                        Iterator<Game> it = locked.range(Game.lowerBound(lo), Game.upperBound(lo + width));
+                        while (it.hasNext()) {
+                            it.next();
+                        }
+                    }
+                },
+                step -> {
+                    synchronized (lock) {
+                        locked.insereAVL(extra.get(step % n));
+                        if (step >= window) {
+                            locked.removeAVL(extra.get((step - window) % n));
+                        }
+                    }
+                });
+            
+            AVLPersistente<Game> persistent = new AVLPersistente<>(Game.COMPOSITE_ORDER);
+            persistent.bulkLoad(sorted);
+            long[] persistentOps = runMixedWorkload(readers, durationMs,
+                random -> {
+                    double lo = random.nextDouble() * 500_000;
+                    Iterator<Game> it = persistent.snapshot().range(Game.lowerBound(lo), Game.upperBound(lo + width));
+                    while (it.hasNext()) {
+                        it.next();
+                    }
+                },
+                step -> {
+                    persistent.insere(extra.get(step % n));
+                    if (step >= window) {
+                        persistent.remove(extra.get((step - window) % n));
+                    }
+                });
+            
+            double seconds = durationMs / 1000.0;
+            System.out.printf("%8d | %24.0f %11.0f | %26.0f %11.0f\n", readers,
+                            lockedOps[0] / seconds, lockedOps[1] / seconds,
+                            persistentOps[0] / seconds, persistentOps[1] / seconds);
+        }
+        System.out.println("========================================\n");
+    }
+    
+    // Roda 'readers' threads de leitura e 1 de escrita por durationMs e devolve {leituras, escritas}
+    private static long[] runMixedWorkload(int readers, int durationMs, 
+                                           Consumer<Random> readOp, IntConsumer writeOp) {
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder reads = new LongAdder();
+        LongAdder writes = new LongAdder();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < readers; i++) {
+            long seed = i;
+            threads.add(new Thread(() -> {
+                Random random = new Random(seed);
+                long count = 0;
+                while (running.get()) {
+                    readOp.accept(random);
+                    count++;
+                }
+                reads.add(count);
+            }));
+        }
+        threads.add(new Thread(() -> {
+            int step = 0;
+            while (running.get()) {
+                writeOp.accept(step++);
+            }
+            writes.add(step);
+        }));
+        
+        for (Thread t : threads) {
+            t.start();
+        }
+        try {
+            Thread.sleep(durationMs);
+            running.set(false);
+            for (Thread t : threads) {
+                t.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return new long[] {reads.sum(), writes.sum()};
+    }
+    
     // Métodos auxiliares de estimativa
     private static long estimateABBComparisons(int n) {
         // Para ABB não balanceada, pior caso é O(n)
@@ -226,25 +1915,31 @@ public class PerformanceAnalysis {
     
     // Método para comparar desempenho geral
     public static void comparePerformance(Metrics abbMetrics, Metrics avlMetrics, String operation) {
+        comparePerformance(abbMetrics, avlMetrics, operation, "ABB", "AVL");
+    }
+    
+    // Mesma comparação, com os nomes das duas estruturas comparadas
+    public static void comparePerformance(Metrics metricsA, Metrics metricsB, String operation,
+                                          String nameA, String nameB) {
         System.out.println("\n========================================");
         System.out.println("Comparação de Desempenho: " + operation);
         System.out.println("========================================");
-        System.out.println("ABB: " + abbMetrics);
-        System.out.println("AVL: " + avlMetrics);
+        System.out.println(nameA + ": " + metricsA);
+        System.out.println(nameB + ": " + metricsB);
         
-        double timeImprovement = ((double)(abbMetrics.getExecutionTimeNs() - avlMetrics.getExecutionTimeNs()) 
-                                 / abbMetrics.getExecutionTimeNs()) * 100;
+        double timeImprovement = ((double)(metricsA.getExecutionTimeNs() - metricsB.getExecutionTimeNs()) 
+                                 / metricsA.getExecutionTimeNs()) * 100;
         
         System.out.println("\nAnálise:");
         if (timeImprovement > 0) {
-            System.out.printf("- AVL foi %.2f%% mais rápida\n", timeImprovement);
+            System.out.printf("- %s foi %.2f%% mais rápida\n", nameB, timeImprovement);
         } else {
-            System.out.printf("- ABB foi %.2f%% mais rápida\n", -timeImprovement);
+            System.out.printf("- %s foi %.2f%% mais rápida\n", nameA, -timeImprovement);
         }
         
-        if (avlMetrics.getRotations() > 0) {
-            System.out.printf("- AVL realizou %d rotações para manter balanceamento\n", 
-                            avlMetrics.getRotations());
+        if (metricsB.getRotations() > 0) {
+            System.out.printf("- %s realizou %d rotações para manter balanceamento\n", 
+                            nameB, metricsB.getRotations());
         }
         System.out.println("========================================\n");
     }
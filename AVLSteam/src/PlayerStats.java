@@ -0,0 +1,140 @@
+import java.util.List;
+
+/**
+ * Estatísticas correntes da média de jogadores de um jogo (steamAppid):
+ * quantidade, média, M2 (soma dos quadrados dos desvios, método de Welford),
+ * mínimo e máximo. Cada registro inserido ou removido atualiza em O(1), sem
+ * reagrupar nem percorrer o histórico do jogo.
+ *
+ * A estabilidade do jogo é o maior desvio de um mês em relação à média,
+ * relativo à média, tirado do mínimo e do máximo. Estatísticas acumuladas em
+ * partes diferentes (percurso paralelo) são juntadas com merge.
+ *
+ * A remoção desfaz o passo de Welford. Se o valor removido era o mínimo ou o
+ * máximo, o novo extremo não pode ser deduzido dos números correntes:
+ * remove informa isso e quem mantém o histórico chama refreshExtremes.
+ */
+public class PlayerStats {
+
+    private final int steamAppid;
+    private String name;
+    private long count;
+    private double mean;
+    private double m2;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public PlayerStats(int steamAppid, String name) {
+        this.steamAppid = steamAppid;
+        this.name = name;
+    }
+
+    public void add(double players) {
+        count++;
+        double delta = players - mean;
+        mean += delta / count;
+        m2 += delta * (players - mean);
+        min = Math.min(min, players);
+        max = Math.max(max, players);
+    }
+
+    /**
+     * Desfaz add(players)
+     * @return true se o valor era um dos extremos e refreshExtremes deve ser chamado
+     */
+    public boolean remove(double players) {
+        if (count <= 1) {
+            count = 0;
+            mean = 0;
+            m2 = 0;
+            min = Double.POSITIVE_INFINITY;
+            max = Double.NEGATIVE_INFINITY;
+            return false;
+        }
+        double previous = mean;
+        count--;
+        mean = (previous * (count + 1) - players) / count;
+        // Mesmo termo que add somou; arredondamentos podem deixar M2 levemente negativo
+        m2 = Math.max(0, m2 - (players - previous) * (players - mean));
+        return players <= min || players >= max;
+    }
+
+    /**
+     * Junta as estatísticas de outra parte dos registros do mesmo jogo
+     * (fórmula de Chan para médias e M2)
+     */
+    public void merge(PlayerStats other) {
+        if (other.count == 0) {
+            return;
+        }
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        m2 += other.m2 + delta * delta * count * other.count / total;
+        count = total;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Recalcula mínimo e máximo a partir dos registros atuais do jogo
+     */
+    public void refreshExtremes(List<Game> history) {
+        min = Double.POSITIVE_INFINITY;
+        max = Double.NEGATIVE_INFINITY;
+        for (Game game : history) {
+            min = Math.min(min, game.getAvgPlayers());
+            max = Math.max(max, game.getAvgPlayers());
+        }
+        if (!history.isEmpty()) {
+            name = history.get(0).getName();
+        }
+    }
+
+    public int getSteamAppid() {
+        return steamAppid;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * Variância amostral (M2 / (n - 1)); 0 com menos de 2 registros
+     */
+    public double getVariance() {
+        return count > 1 ? m2 / (count - 1) : 0;
+    }
+
+    public double getStdDev() {
+        return Math.sqrt(getVariance());
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * Maior desvio relativo à média: max(|mín - média|, |máx - média|) / |média|
+     * (a medida de estabilidade da pergunta 5). Sem registros ou com média 0 a
+     * variação relativa não é definida: devolve NaN
+     */
+    public double getMaxRelativeDeviation() {
+        if (count == 0 || mean == 0) {
+            return Double.NaN;
+        }
+        return Math.max(Math.abs(min - mean), Math.abs(max - mean)) / Math.abs(mean);
+    }
+}
@@ -0,0 +1,413 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Esboço de quantis mesclável (KLL) de um valor por registro (ex.: avgPlayers),
+ * com contagem e soma exatas.
+ *
+ * Os valores ficam em níveis: um valor no nível h representa 2^h registros. O
+ * nível de cima guarda até k valores e cada nível abaixo, 2/3 do seguinte.
+ * Quando o total passa da capacidade, o nível mais baixo que está cheio é
+ * ordenado e, por sorteio, os valores de posição par ou os de posição ímpar
+ * sobem para o nível seguinte. O esboço guarda poucas centenas de valores
+ * (alguns KB) para qualquer quantidade de registros.
+ *
+ * Os maiores valores (até 4k) também ficam guardados exatamente, em um heap:
+ * com dados de cauda longa, como jogadores por jogo, poucos registros somam
+ * boa parte do total e a soma deles não depende do erro dos níveis.
+ *
+ * Erro: cada compactação no nível h muda em +2^h ou -2^h (sorteio justo) a
+ * contagem acima de um valor, ou não muda. getRankError soma o desvio de
+ * Hoeffding dessas mudanças (99% de confiança, para todos os valores ao mesmo
+ * tempo), o peso do valor mais pesado (registros entre dois valores guardados)
+ * e as remoções.
+ *
+ * Cada leitor preenche o seu esboço (não é thread-safe); leituras em paralelo
+ * juntam os esboços com merge no final. Remoções não podem ser desfeitas nos
+ * níveis: ajustam contagem e soma e aumentam o erro de posição em 1 cada.
+ */
+public class QuantileSketch {
+
+    public static final int DEFAULT_K = 200;
+    private static final double DECAY = 2.0 / 3.0;
+    private static final int MIN_CAPACITY = 2;
+    private static final double CONFIDENCE_DELTA = 0.01;
+
+    private final int k;
+    private final SplittableRandom random;
+    // Maiores valores, exatos (heap de mínimo): todo valor atual acima de cutoff está aqui
+    private double[] tail;
+    private int tailSize;
+    private double cutoff = Double.NEGATIVE_INFINITY; // maior valor já descartado do heap
+    private double[][] levels = {new double[8]};
+    private int[] sizes = new int[1];
+    private int retained;
+    private int totalCapacity;
+    private long inserted; // registros já vistos pelos níveis (inclusive os removidos depois)
+    private long count;
+    private long removed;
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private double variance; // soma de 4^h das compactações (limite da variância do erro)
+
+    // Valores guardados em ordem crescente e o peso de cada um (refeito após alterações)
+    private double[] sortedValues;
+    private long[] sortedWeights;
+
+    public QuantileSketch() {
+        this(DEFAULT_K);
+    }
+
+    /**
+     * @param k Valores no nível de cima; o erro cai aproximadamente com 1/k
+     */
+    public QuantileSketch(int k) {
+        this(k, new SplittableRandom());
+    }
+
+    /**
+     * Com semente fixa, para resultados reproduzíveis (esboços que serão juntados
+     * precisam de sementes diferentes)
+     */
+    public QuantileSketch(int k, long seed) {
+        this(k, new SplittableRandom(seed));
+    }
+
+    private QuantileSketch(int k, SplittableRandom random) {
+        if (k < MIN_CAPACITY) {
+            throw new IllegalArgumentException("k deve ser pelo menos " + MIN_CAPACITY);
+        }
+        this.k = k;
+        this.random = random;
+        this.tail = new double[4 * k];
+        this.totalCapacity = capacity(0);
+    }
+
+    public void update(double value) {
+        count++;
+        inserted++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        offerTail(value);
+        append(0, value);
+        retained++;
+        sortedValues = null;
+        if (retained >= totalCapacity) {
+            compress();
+        }
+    }
+
+    /**
+     * Registra a remoção de um valor inserido antes
+     */
+    public void remove(double value) {
+        count--;
+        removed++;
+        sum -= value;
+        if (value > cutoff) {
+            removeTail(value);
+        }
+    }
+
+    /**
+     * Soma a este esboço os registros de outro (ex.: de outro leitor paralelo)
+     */
+    public void merge(QuantileSketch other) {
+        while (levels.length < other.levels.length) {
+            addLevel();
+        }
+        for (int h = 0; h < other.levels.length; h++) {
+            for (int i = 0; i < other.sizes[h]; i++) {
+                append(h, other.levels[h][i]);
+            }
+            retained += other.sizes[h];
+        }
+        count += other.count;
+        inserted += other.inserted;
+        removed += other.removed;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        variance += other.variance;
+        cutoff = Math.max(cutoff, other.cutoff);
+        for (int i = 0; i < other.tailSize; i++) {
+            offerTail(other.tail[i]);
+        }
+        // O heap deste esboço pode ter valores que o outro descartou
+        while (tailSize > 0 && tail[0] <= cutoff) {
+            pollTail();
+        }
+        sortedValues = null;
+        compress();
+    }
+
+    private void offerTail(double value) {
+        if (value <= cutoff) {
+            return;
+        }
+        if (tailSize == tail.length) {
+            if (value <= tail[0]) {
+                cutoff = value;
+                return;
+            }
+            cutoff = Math.max(cutoff, pollTail());
+        }
+        int i = tailSize++;
+        while (i > 0 && tail[(i - 1) / 2] > value) {
+            tail[i] = tail[(i - 1) / 2];
+            i = (i - 1) / 2;
+        }
+        tail[i] = value;
+    }
+
+    private double pollTail() {
+        double smallest = tail[0];
+        removeTailAt(0);
+        return smallest;
+    }
+
+    private void removeTail(double value) {
+        for (int i = 0; i < tailSize; i++) {
+            if (tail[i] == value) {
+                removeTailAt(i);
+                return;
+            }
+        }
+    }
+
+    // Troca a posição i pelo último e o reposiciona (para cima ou para baixo)
+    private void removeTailAt(int i) {
+        double last = tail[--tailSize];
+        if (i == tailSize) {
+            return;
+        }
+        while (i > 0 && tail[(i - 1) / 2] > last) {
+            tail[i] = tail[(i - 1) / 2];
+            i = (i - 1) / 2;
+        }
+        while (2 * i + 1 < tailSize) {
+            int child = 2 * i + 1;
+            if (child + 1 < tailSize && tail[child + 1] < tail[child]) {
+                child++;
+            }
+            if (tail[child] >= last) {
+                break;
+            }
+            tail[i] = tail[child];
+            i = child;
+        }
+        tail[i] = last;
+    }
+
+    // Capacidade do nível: k no de cima, 2/3 a cada nível abaixo
+    private int capacity(int level) {
+        int depth = levels.length - 1 - level;
+        return Math.max(MIN_CAPACITY, (int) Math.ceil(k * Math.pow(DECAY, depth)));
+    }
+
+    private void append(int level, double value) {
+        if (sizes[level] == levels[level].length) {
+            levels[level] = Arrays.copyOf(levels[level], levels[level].length * 2);
+        }
+        levels[level][sizes[level]++] = value;
+    }
+
+    private void addLevel() {
+        levels = Arrays.copyOf(levels, levels.length + 1);
+        levels[levels.length - 1] = new double[8];
+        sizes = Arrays.copyOf(sizes, sizes.length + 1);
+        totalCapacity = 0;
+        for (int h = 0; h < levels.length; h++) {
+            totalCapacity += capacity(h);
+        }
+    }
+
+    // Compacta o nível cheio mais baixo até o total caber na capacidade
+    private void compress() {
+        while (retained >= totalCapacity) {
+            int h = 0;
+            while (sizes[h] < capacity(h)) {
+                h++;
+            }
+            compact(h);
+        }
+    }
+
+    private void compact(int level) {
+        if (level == levels.length - 1) {
+            addLevel();
+        }
+        double[] items = levels[level];
+        int n = sizes[level];
+        Arrays.sort(items, 0, n);
+        int start = n & 1; // com quantidade ímpar, o menor fica neste nível
+        for (int i = start + (random.nextBoolean() ? 1 : 0); i < n; i += 2) {
+            append(level + 1, items[i]);
+        }
+        retained -= (n - start) / 2;
+        sizes[level] = start;
+        // Níveis de baixo perdem capacidade quando a árvore de níveis cresce
+        if (items.length > 2 * capacity(level) + 8) {
+            levels[level] = Arrays.copyOf(items, capacity(level) + 1);
+        }
+        double weight = (double) (1L << level);
+        variance += weight * weight;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /** Soma exata dos valores atuais */
+    public double getSum() {
+        return sum;
+    }
+
+    /** Menor valor inserido (não considera remoções) */
+    public double getMin() {
+        return min;
+    }
+
+    /** Maior valor inserido (não considera remoções) */
+    public double getMax() {
+        return max;
+    }
+
+    /** Valores guardados nos níveis */
+    public int getRetained() {
+        return retained;
+    }
+
+    /** Memória ocupada pelos níveis, em bytes */
+    public long memoryBytes() {
+        long bytes = 0;
+        for (double[] level : levels) {
+            bytes += 16 + 8L * level.length;
+        }
+        return bytes + 4L * sizes.length + 8L * tail.length;
+    }
+
+    /**
+     * Maior diferença, em registros, entre a contagem estimada acima de um valor
+     * e a real (99% de confiança). 0 enquanto nenhuma compactação ocorreu
+     */
+    public long getRankError() {
+        if (variance == 0) {
+            return removed;
+        }
+        double hoeffding = Math.sqrt(2 * variance * Math.log(2.0 * inserted / CONFIDENCE_DELTA));
+        int heaviest = levels.length - 1;
+        while (heaviest > 0 && sizes[heaviest] == 0) {
+            heaviest--;
+        }
+        return (long) Math.ceil(hoeffding) + (1L << heaviest) + removed;
+    }
+
+    /**
+     * Valor na posição top contando do maior (top = 1 é o maior), ex.: o corte do
+     * top 10% é valueAtTop(count / 10). A posição real do valor difere em até getRankError
+     */
+    public double valueAtTop(long top) {
+        if (top > 0 && top <= tailSize) { // o heap tem os maiores valores atuais
+            return sortedTail()[tailSize - (int) top];
+        }
+        sortView();
+        long above = 0;
+        for (int i = sortedValues.length - 1; i >= 0; i--) {
+            above += sortedWeights[i];
+            if (above >= top) {
+                return sortedValues[i];
+            }
+        }
+        return sortedValues.length > 0 ? sortedValues[0] : Double.NaN;
+    }
+
+    /**
+     * Soma dos top maiores valores: {estimativa, limite inferior, limite superior}.
+     * Os limites valem enquanto a contagem acima de cada valor errar no máximo
+     * getRankError (99% de confiança) e os valores estiverem entre getMin e getMax
+     */
+    public double[] topSum(long top) {
+        long error = getRankError();
+        // Limites que valem sempre: os top maiores têm média >= a média geral, e os
+        // demais valem pelo menos o mínimo
+        double lower = count > 0 ? sum * Math.min(top, count) / count : 0;
+        double upper = sum - Math.max(0, count - top) * min;
+        double estimate = Math.max(lower, Math.min(upper, topSum(top, 0)));
+        return new double[] {estimate, Math.max(lower, topSum(top, -error)), Math.min(upper, topSum(top, error))};
+    }
+
+    // Soma dos top maiores pelas camadas: x = min + ∫ [x >= t] dt para t de min a x,
+    // então a soma dos top maiores é top * min + ∫ min(top, acima(t)) dt, com acima(t)
+    // = registros >= t. Acima de cutoff, acima(t) sai exata do heap; até cutoff, da
+    // estimativa dos níveis (constante entre dois valores guardados), deslocada por
+    // shift para os limites e nunca menor que o tamanho do heap
+    private double topSum(long top, long shift) {
+        if (count == 0 || top <= 0) {
+            return 0;
+        }
+        sortView();
+        double exactFrom = cutoff == Double.NEGATIVE_INFINITY ? min : Math.max(min, cutoff);
+        double total = top * min;
+        long above = 0;
+        for (long weight : sortedWeights) {
+            above += weight;
+        }
+        double previous = min;
+        for (int i = 0; i < sortedValues.length && previous < exactFrom; i++) {
+            // Para t em (anterior, valor i], os guardados >= t são os de i em diante
+            double end = Math.min(sortedValues[i], exactFrom);
+            total += (end - previous) * clamp(Math.max(above + shift, tailSize), top);
+            above -= sortedWeights[i];
+            previous = end;
+        }
+        if (previous < exactFrom) {
+            total += (exactFrom - previous) * clamp(Math.max(shift, tailSize), top);
+        }
+        double[] exact = sortedTail();
+        previous = exactFrom;
+        for (int i = 0; i < exact.length; i++) {
+            total += (exact[i] - previous) * clamp(exact.length - i, top);
+            previous = exact[i];
+        }
+        return total;
+    }
+
+    private double[] sortedTail() {
+        double[] values = Arrays.copyOf(tail, tailSize);
+        Arrays.sort(values);
+        return values;
+    }
+
+    private static long clamp(long above, long top) {
+        return Math.max(0, Math.min(above, top));
+    }
+
+    private void sortView() {
+        if (sortedValues != null) {
+            return;
+        }
+        double[] values = new double[retained];
+        long[] weights = new long[retained];
+        int n = 0;
+        for (int h = 0; h < levels.length; h++) {
+            for (int i = 0; i < sizes[h]; i++) {
+                values[n] = levels[h][i];
+                weights[n++] = 1L << h;
+            }
+        }
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+        sortedValues = new double[n];
+        sortedWeights = new long[n];
+        for (int i = 0; i < n; i++) {
+            sortedValues[i] = values[order[i]];
+            sortedWeights[i] = weights[order[i]];
+        }
+    }
+}
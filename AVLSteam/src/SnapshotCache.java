@@ -0,0 +1,284 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache binário do CSV, gravado ao lado dele (steamcharts.csv.snapshot).
+ *
+ * Cada coluna é guardada separadamente: nomes e meses como índices em um
+ * dicionário de valores distintos e os campos numéricos como vetores de
+ * primitivos. Enquanto tamanho e data de modificação do CSV não mudarem, o
+ * cache é mapeado em memória e lido com cópias em bloco, sem converter texto.
+ *
+ * Formato (big-endian):
+ *   int MAGIC, int VERSION, long tamanho do CSV, long mtime do CSV, int n,
+ *   long aceitos, long recusados por motivo (ParseStats.Reason, na ordem do enum)
+ *   dicionário de nomes, dicionário de meses (int qtd; para cada um: int bytes, UTF-8)
+ *   int[n] mês, int[n] nome, double[n] avgPlayers, double[n] gain,
+ *   double[n] gainPercent, int[n] peakPlayers, int[n] steamAppid
+ */
+public class SnapshotCache {
+
+    private static final int MAGIC = 0x47534E50; // "GSNP"
+    private static final int VERSION = 2;
+    private static final String SUFFIX = ".snapshot";
+
+    public static Path snapshotPath(String csvPath) {
+        return Paths.get(csvPath + SUFFIX);
+    }
+
+    /**
+     * Carrega os registros do cache do CSV, se ele existir e corresponder ao CSV atual
+     * @return Lista de jogos na ordem do CSV, ou null se não houver cache válido
+     */
+    public static List<Game> load(String csvPath) {
+        return load(csvPath, null);
+    }
+
+    /**
+     * Como load(csvPath), recuperando em stats os contadores da leitura original do CSV
+     * @param stats Contadores a preencher (pode ser null)
+     */
+    public static List<Game> load(String csvPath, ParseStats stats) {
+        Path snapshot = snapshotPath(csvPath);
+        if (!Files.isRegularFile(snapshot)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            Path csv = Paths.get(csvPath);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < 28 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION
+                || buffer.getLong() != Files.size(csv)
+                || buffer.getLong() != Files.getLastModifiedTime(csv).toMillis()) {
+                return null; // cache de outra versão ou de um CSV diferente
+            }
+            int n = buffer.getInt();
+            ParseStats counters = new ParseStats();
+            readStats(buffer, counters);
+            String[] names = readDictionary(buffer);
+            for (int i = 0; i < names.length; i++) {
+                names[i] = StringPool.NAMES.intern(names[i]);
+            }
+            String[] months = readDictionary(buffer);
+            int[] monthKeys = new int[months.length];
+            for (int i = 0; i < months.length; i++) {
+                monthKeys[i] = Game.packMonth(months[i]);
+            }
+            if (buffer.remaining() != (long) n * (4 * 4 + 8 * 3)) {
+                return null; // arquivo truncado
+            }
+
+            int[] monthIds = new int[n];
+            int[] nameIds = new int[n];
+            double[] avgPlayers = new double[n];
+            double[] gain = new double[n];
+            double[] gainPercent = new double[n];
+            int[] peakPlayers = new int[n];
+            int[] steamAppid = new int[n];
+            readInts(buffer, monthIds);
+            readInts(buffer, nameIds);
+            readDoubles(buffer, avgPlayers);
+            readDoubles(buffer, gain);
+            readDoubles(buffer, gainPercent);
+            readInts(buffer, peakPlayers);
+            readInts(buffer, steamAppid);
+
+            List<Game> games = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                int month = monthIds[i];
+                String name = decode(names, nameIds[i]);
+                if (month >= 0 && monthKeys[month] >= 0) {
+                    games.add(new Game(monthKeys[month], avgPlayers[i], gain[i], gainPercent[i],
+                                       peakPlayers[i], name, steamAppid[i]));
+                } else {
+                    games.add(new Game(decode(months, month), avgPlayers[i], gain[i], gainPercent[i],
+                                       peakPlayers[i], name, steamAppid[i]));
+                }
+            }
+            if (stats != null) {
+                stats.clear();
+                stats.add(counters);
+            }
+            return games;
+        } catch (IOException | RuntimeException e) {
+            // Cache ilegível ou corrompido: o CSV é lido normalmente
+            System.err.println("Aviso: cache " + snapshot + " ignorado (" + e.getMessage() + ")");
+            return null;
+        }
+    }
+
+    /**
+     * Bytes do CSV cobertos pelo cache (os registros de load são exatamente os dessa
+     * parte do arquivo), ou -1 se não houver cache
+     */
+    public static long csvSize(String csvPath) {
+        try (FileChannel channel = FileChannel.open(snapshotPath(csvPath), StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(16);
+            if (channel.read(header, 0) < 16 || header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                return -1;
+            }
+            return header.getLong(8);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Grava o cache dos registros lidos do CSV. Escreve em um arquivo temporário
+     * e o renomeia, para que um cache pela metade nunca seja lido
+     * @return true se o cache foi gravado
+     */
+    public static boolean write(String csvPath, List<Game> games) {
+        return write(csvPath, games, null, -1);
+    }
+
+    /**
+     * Como write(csvPath, games), guardando também os contadores da leitura
+     * @param stats Contadores da leitura do CSV (null grava zeros)
+     * @param csvSize Bytes do CSV de onde games foram lidos (-1 = o arquivo inteiro).
+     *        Se o CSV cresceu depois da leitura, o cache já nasce inválido
+     */
+    public static boolean write(String csvPath, List<Game> games, ParseStats stats, long csvSize) {
+        Path snapshot = snapshotPath(csvPath);
+        Path temp = Paths.get(snapshot + ".tmp");
+        try {
+            Path csv = Paths.get(csvPath);
+            Map<String, Integer> nameIds = new HashMap<>();
+            Map<String, Integer> monthIds = new HashMap<>();
+            List<String> names = new ArrayList<>();
+            List<String> months = new ArrayList<>();
+            int n = games.size();
+            int[] nameColumn = new int[n];
+            int[] monthColumn = new int[n];
+            for (int i = 0; i < n; i++) {
+                Game g = games.get(i);
+                nameColumn[i] = encode(g.getName(), nameIds, names);
+                monthColumn[i] = encode(g.getMonth(), monthIds, months);
+            }
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(temp), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(csvSize >= 0 ? csvSize : Files.size(csv));
+                out.writeLong(Files.getLastModifiedTime(csv).toMillis());
+                out.writeInt(n);
+                writeStats(out, stats != null ? stats : new ParseStats());
+                writeDictionary(out, names);
+                writeDictionary(out, months);
+                for (int id : monthColumn) {
+                    out.writeInt(id);
+                }
+                for (int id : nameColumn) {
+                    out.writeInt(id);
+                }
+                for (Game g : games) {
+                    out.writeDouble(g.getAvgPlayers());
+                }
+                for (Game g : games) {
+                    out.writeDouble(g.getGain());
+                }
+                for (Game g : games) {
+                    out.writeDouble(g.getGainPercent());
+                }
+                for (Game g : games) {
+                    out.writeInt(g.getPeakPlayers());
+                }
+                for (Game g : games) {
+                    out.writeInt(g.getSteamAppid());
+                }
+            }
+            Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Aviso: não foi possível gravar o cache " + snapshot + " (" + e.getMessage() + ")");
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // nada a limpar
+            }
+            return false;
+        }
+    }
+
+    // Dicionários de Strings (também usados pela AVLMapeada): posição do valor no
+    // dicionário, acrescentando-o se for novo (null é guardado como o índice -1,
+    // lido de volta como null)
+    static int encode(String value, Map<String, Integer> ids, List<String> values) {
+        if (value == null) {
+            return -1;
+        }
+        Integer id = ids.get(value);
+        if (id == null) {
+            id = values.size();
+            ids.put(value, id);
+            values.add(value);
+        }
+        return id;
+    }
+
+    static String decode(String[] values, int id) {
+        return id < 0 ? null : values[id];
+    }
+
+    static void writeDictionary(DataOutputStream out, List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static void writeStats(DataOutputStream out, ParseStats stats) throws IOException {
+        out.writeLong(stats.getAccepted());
+        for (ParseStats.Reason reason : ParseStats.Reason.values()) {
+            out.writeLong(stats.getRejected(reason));
+        }
+    }
+
+    private static void readStats(ByteBuffer buffer, ParseStats stats) {
+        stats.accept(buffer.getLong());
+        for (ParseStats.Reason reason : ParseStats.Reason.values()) {
+            stats.reject(reason, buffer.getLong());
+        }
+    }
+
+    static String[] readDictionary(ByteBuffer buffer) {
+        int size = buffer.getInt();
+        String[] values = new String[size];
+        byte[] bytes = new byte[64];
+        for (int i = 0; i < size; i++) {
+            int length = buffer.getInt();
+            if (length > bytes.length) {
+                bytes = new byte[Math.max(length, bytes.length * 2)];
+            }
+            buffer.get(bytes, 0, length);
+            values[i] = new String(bytes, 0, length, StandardCharsets.UTF_8);
+        }
+        return values;
+    }
+
+    private static void readInts(ByteBuffer buffer, int[] column) {
+        buffer.asIntBuffer().get(column);
+        buffer.position(buffer.position() + column.length * 4);
+    }
+
+    private static void readDoubles(ByteBuffer buffer, double[] column) {
+        buffer.asDoubleBuffer().get(column);
+        buffer.position(buffer.position() + column.length * 8);
+    }
+}
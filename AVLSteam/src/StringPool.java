@@ -0,0 +1,36 @@
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dicionário de Strings compartilhado pelos leitores do CSV.
+ *
+ * O dataset tem poucos milhares de nomes distintos repetidos em dezenas de
+ * milhares de linhas; passando cada nome lido pelo dicionário, todos os
+ * registros do mesmo jogo apontam para a mesma String. Pode ser usado por
+ * várias threads ao mesmo tempo (leitura paralela do CSV).
+ */
+public class StringPool {
+
+    /** Nomes dos jogos (cresce só com o número de nomes distintos) */
+    public static final StringPool NAMES = new StringPool();
+
+    private final ConcurrentHashMap<String, String> pool = new ConcurrentHashMap<>();
+
+    /**
+     * Devolve a instância já guardada igual a value, ou guarda value
+     */
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String existing = pool.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+
+    public int size() {
+        return pool.size();
+    }
+
+    public void clear() {
+        pool.clear();
+    }
+}